@@ -0,0 +1,161 @@
+package com.leadqualification.config;
+
+import com.leadqualification.service.AICallGovernor;
+import com.leadqualification.service.AICircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// The governor and circuit-breaker settings of one AI provider, bound from under its prefix (gemini, openai)
+public class AIProviderProperties {
+
+    private Governor governor = new Governor();
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    public Governor getGovernor() {
+        return governor;
+    }
+
+    public void setGovernor(Governor governor) {
+        this.governor = governor;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public void setCircuitBreaker(CircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    public static class Governor {
+        private int requestsPerMinute = 300;
+        private int burst = 20;
+        private int maxAttempts = 4;
+        private long initialBackoffMs = 500;
+        private long maxBackoffMs = 30000;
+        private int minConcurrency = 2;
+        private int maxConcurrency = 100;
+        private int initialConcurrency = 10;
+
+        public AICallGovernor create(String name, MeterRegistry meterRegistry) {
+            return new AICallGovernor(name, requestsPerMinute, burst, maxAttempts, initialBackoffMs, maxBackoffMs,
+                                      minConcurrency, maxConcurrency, initialConcurrency, meterRegistry);
+        }
+
+        public int getRequestsPerMinute() {
+            return requestsPerMinute;
+        }
+
+        public void setRequestsPerMinute(int requestsPerMinute) {
+            this.requestsPerMinute = requestsPerMinute;
+        }
+
+        public int getBurst() {
+            return burst;
+        }
+
+        public void setBurst(int burst) {
+            this.burst = burst;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public long getInitialBackoffMs() {
+            return initialBackoffMs;
+        }
+
+        public void setInitialBackoffMs(long initialBackoffMs) {
+            this.initialBackoffMs = initialBackoffMs;
+        }
+
+        public long getMaxBackoffMs() {
+            return maxBackoffMs;
+        }
+
+        public void setMaxBackoffMs(long maxBackoffMs) {
+            this.maxBackoffMs = maxBackoffMs;
+        }
+
+        public int getMinConcurrency() {
+            return minConcurrency;
+        }
+
+        public void setMinConcurrency(int minConcurrency) {
+            this.minConcurrency = minConcurrency;
+        }
+
+        public int getMaxConcurrency() {
+            return maxConcurrency;
+        }
+
+        public void setMaxConcurrency(int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+        }
+
+        public int getInitialConcurrency() {
+            return initialConcurrency;
+        }
+
+        public void setInitialConcurrency(int initialConcurrency) {
+            this.initialConcurrency = initialConcurrency;
+        }
+    }
+
+    public static class CircuitBreaker {
+        private int windowSize = 20;
+        private int minimumCalls = 10;
+        private int failureRateThreshold = 50;
+        private long openDurationMs = 30000;
+        private int halfOpenCalls = 3;
+
+        public AICircuitBreaker create(String name, MeterRegistry meterRegistry) {
+            return new AICircuitBreaker(name, windowSize, minimumCalls, failureRateThreshold, openDurationMs,
+                                        halfOpenCalls, meterRegistry);
+        }
+
+        public int getWindowSize() {
+            return windowSize;
+        }
+
+        public void setWindowSize(int windowSize) {
+            this.windowSize = windowSize;
+        }
+
+        public int getMinimumCalls() {
+            return minimumCalls;
+        }
+
+        public void setMinimumCalls(int minimumCalls) {
+            this.minimumCalls = minimumCalls;
+        }
+
+        public int getFailureRateThreshold() {
+            return failureRateThreshold;
+        }
+
+        public void setFailureRateThreshold(int failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+        }
+
+        public long getOpenDurationMs() {
+            return openDurationMs;
+        }
+
+        public void setOpenDurationMs(long openDurationMs) {
+            this.openDurationMs = openDurationMs;
+        }
+
+        public int getHalfOpenCalls() {
+            return halfOpenCalls;
+        }
+
+        public void setHalfOpenCalls(int halfOpenCalls) {
+            this.halfOpenCalls = halfOpenCalls;
+        }
+    }
+}
@@ -1,8 +1,29 @@
 package com.leadqualification.config;
 
+import com.leadqualification.service.AICallGovernor;
+import com.leadqualification.service.AICircuitBreaker;
+import com.leadqualification.service.AIScoringProvider;
+import com.leadqualification.service.GeminiService;
+import com.leadqualification.service.HedgedAIScoringProvider;
+import com.leadqualification.service.LocalAIScoringProvider;
+import com.leadqualification.service.OpenAIService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 @Configuration
 public class AppConfig {
@@ -11,5 +32,108 @@ public class AppConfig {
     public RestTemplate restTemplate() {
         return new RestTemplate();
     }
-}
 
+    @Bean
+    public WebClient geminiWebClient(@Value("${gemini.http.max-connections:200}") int maxConnections,
+                                     @Value("${gemini.http.pending-acquire-max-count:10000}") int pendingAcquireMaxCount,
+                                     @Value("${gemini.http.connect-timeout-ms:5000}") int connectTimeoutMs,
+                                     @Value("${gemini.http.response-timeout-ms:30000}") long responseTimeoutMs) {
+        return aiWebClient("gemini", maxConnections, pendingAcquireMaxCount, connectTimeoutMs, responseTimeoutMs);
+    }
+
+    @Bean
+    public WebClient openaiWebClient(@Value("${openai.http.max-connections:200}") int maxConnections,
+                                     @Value("${openai.http.pending-acquire-max-count:10000}") int pendingAcquireMaxCount,
+                                     @Value("${openai.http.connect-timeout-ms:5000}") int connectTimeoutMs,
+                                     @Value("${openai.http.response-timeout-ms:30000}") long responseTimeoutMs) {
+        return aiWebClient("openai", maxConnections, pendingAcquireMaxCount, connectTimeoutMs, responseTimeoutMs);
+    }
+
+    private static WebClient aiWebClient(String name, int maxConnections, int pendingAcquireMaxCount,
+                                         int connectTimeoutMs, long responseTimeoutMs) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder(name)
+            .maxConnections(maxConnections)
+            .pendingAcquireMaxCount(pendingAcquireMaxCount)
+            .pendingAcquireTimeout(Duration.ofMillis(responseTimeoutMs))
+            .maxIdleTime(Duration.ofSeconds(30))
+            .build();
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+            .responseTimeout(Duration.ofMillis(responseTimeoutMs));
+
+        return WebClient.builder()
+            .clientConnector(new ReactorClientHttpConnector(httpClient))
+            .build();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "gemini")
+    public AIProviderProperties geminiProperties() {
+        return new AIProviderProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "openai")
+    public AIProviderProperties openaiProperties() {
+        return new AIProviderProperties();
+    }
+
+    @Bean
+    public AICallGovernor geminiCallGovernor(MeterRegistry meterRegistry) {
+        return geminiProperties().getGovernor().create("gemini", meterRegistry);
+    }
+
+    @Bean
+    public AICircuitBreaker geminiCircuitBreaker(MeterRegistry meterRegistry) {
+        return geminiProperties().getCircuitBreaker().create("gemini", meterRegistry);
+    }
+
+    @Bean
+    public AICallGovernor openaiCallGovernor(MeterRegistry meterRegistry) {
+        return openaiProperties().getGovernor().create("openai", meterRegistry);
+    }
+
+    @Bean
+    public AICircuitBreaker openaiCircuitBreaker(MeterRegistry meterRegistry) {
+        return openaiProperties().getCircuitBreaker().create("openai", meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public AIScoringProvider aiScoringProvider(GeminiService geminiService,
+                                               OpenAIService openAIService,
+                                               LocalAIScoringProvider localProvider,
+                                               @Value("${scoring.ai.provider:gemini}") String provider,
+                                               @Value("${scoring.ai.hedge.provider:}") String hedgeProvider,
+                                               @Value("${scoring.ai.hedge.percentile:95}") double percentile,
+                                               @Value("${scoring.ai.hedge.min-delay-ms:100}") long minDelayMs,
+                                               @Value("${scoring.ai.hedge.initial-delay-ms:5000}") long initialDelayMs,
+                                               @Value("${scoring.ai.hedge.window-size:500}") int windowSize,
+                                               MeterRegistry meterRegistry) {
+        Map<String, AIScoringProvider> providers = new LinkedHashMap<>();
+        for (AIScoringProvider candidate : List.of(geminiService, openAIService, localProvider)) {
+            providers.put(candidate.getName(), candidate);
+        }
+
+        AIScoringProvider primary = selectProvider(providers, provider);
+        if (hedgeProvider.isBlank()) {
+            return primary;
+        }
+        AIScoringProvider secondary = selectProvider(providers, hedgeProvider);
+        if (secondary == primary) {
+            throw new IllegalArgumentException("scoring.ai.hedge.provider must differ from scoring.ai.provider");
+        }
+        return new HedgedAIScoringProvider(primary, secondary, percentile, minDelayMs, initialDelayMs, windowSize,
+                                           meterRegistry);
+    }
+
+    private static AIScoringProvider selectProvider(Map<String, AIScoringProvider> providers, String name) {
+        AIScoringProvider provider = providers.get(name.trim().toLowerCase());
+        if (provider == null) {
+            throw new IllegalArgumentException("Unknown AI scoring provider: " + name
+                                               + " (expected one of " + providers.keySet() + ")");
+        }
+        return provider;
+    }
+}
@@ -1,8 +1,11 @@
 package com.leadqualification.controller;
 
+import com.leadqualification.dto.LeadPage;
 import com.leadqualification.dto.LeadResponse;
+import com.leadqualification.dto.LeadSummaryResponse;
 import com.leadqualification.dto.LeadUploadResponse;
 import com.leadqualification.service.LeadService;
+import com.leadqualification.service.LeadSummaryService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,6 +15,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -23,10 +27,12 @@ public class LeadController {
     private static final Logger logger = LoggerFactory.getLogger(LeadController.class);
 
     private final LeadService leadService;
+    private final LeadSummaryService leadSummaryService;
 
     @Autowired
-    public LeadController(LeadService leadService) {
+    public LeadController(LeadService leadService, LeadSummaryService leadSummaryService) {
         this.leadService = leadService;
+        this.leadSummaryService = leadSummaryService;
     }
 
     @PostMapping("/leads/upload")
@@ -76,6 +82,48 @@ public class LeadController {
         return ResponseEntity.ok(leads);
     }
 
+    @GetMapping("/leads/page")
+    public ResponseEntity<LeadPage> getLeadsPage(@RequestParam(required = false) String cursor,
+                                                 @RequestParam(required = false) Integer size) {
+        logger.info("Received request to get a page of leads");
+
+        return ResponseEntity.ok(leadService.getLeadsPage(cursor, size));
+    }
+
+    @GetMapping("/leads/scored/page")
+    public ResponseEntity<LeadPage> getScoredLeadsPage(@RequestParam(required = false) String cursor,
+                                                       @RequestParam(required = false) Integer size) {
+        logger.info("Received request to get a page of scored leads");
+
+        return ResponseEntity.ok(leadService.getScoredLeadsPage(cursor, size));
+    }
+
+    @GetMapping("/leads/unscored/page")
+    public ResponseEntity<LeadPage> getUnscoredLeadsPage(@RequestParam(required = false) String cursor,
+                                                         @RequestParam(required = false) Integer size) {
+        logger.info("Received request to get a page of unscored leads");
+
+        return ResponseEntity.ok(leadService.getUnscoredLeadsPage(cursor, size));
+    }
+
+    @GetMapping("/leads/intent/{level}/page")
+    public ResponseEntity<LeadPage> getLeadsByIntentPage(@PathVariable String level,
+                                                         @RequestParam(required = false) String cursor,
+                                                         @RequestParam(required = false) Integer size) {
+        logger.info("Received request to get a page of leads with intent level: {}", level);
+
+        return ResponseEntity.ok(leadService.getLeadsByIntentPage(level, cursor, size));
+    }
+
+    @GetMapping("/leads/stream")
+    public ResponseEntity<StreamingResponseBody> streamLeads() {
+        logger.info("Received request to stream all leads");
+
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(outputStream -> leadService.streamLeadsAsNdjson(false, outputStream));
+    }
+
     @GetMapping("/leads/{id}")
     public ResponseEntity<LeadResponse> getLead(@PathVariable Long id) {
         logger.info("Received request to get lead with ID: {}", id);
@@ -93,33 +141,35 @@ public class LeadController {
     }
 
     @GetMapping("/leads/export")
-    public ResponseEntity<String> exportLeads() {
+    public ResponseEntity<StreamingResponseBody> exportLeads(@RequestParam(defaultValue = "false") boolean gzip) {
         logger.info("Received request to export all leads as CSV");
 
-        String csvContent = leadService.exportLeadsAsCsv();
-        
         HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType("text/csv"));
+        headers.setContentType(MediaType.parseMediaType("text/csv;charset=UTF-8"));
         headers.setContentDispositionFormData("attachment", "leads.csv");
-        
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
         return ResponseEntity.ok()
             .headers(headers)
-            .body(csvContent);
+            .body(outputStream -> leadService.streamLeadsAsCsv(false, gzip, outputStream));
     }
 
     @GetMapping("/leads/export/scored")
-    public ResponseEntity<String> exportScoredLeads() {
+    public ResponseEntity<StreamingResponseBody> exportScoredLeads(@RequestParam(defaultValue = "false") boolean gzip) {
         logger.info("Received request to export scored leads as CSV");
 
-        String csvContent = leadService.exportScoredLeadsAsCsv();
-        
         HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType("text/csv"));
+        headers.setContentType(MediaType.parseMediaType("text/csv;charset=UTF-8"));
         headers.setContentDispositionFormData("attachment", "scored_leads.csv");
-        
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
         return ResponseEntity.ok()
             .headers(headers)
-            .body(csvContent);
+            .body(outputStream -> leadService.streamLeadsAsCsv(true, gzip, outputStream));
     }
 
     @DeleteMapping("/leads")
@@ -142,11 +192,13 @@ public class LeadController {
     public ResponseEntity<Object> getLeadStats() {
         logger.info("Received request to get lead statistics");
 
+        LeadSummaryResponse summary = leadSummaryService.getSummary();
+
         return ResponseEntity.ok(new Object() {
-            public final long totalLeads = leadService.getTotalLeadsCount();
-            public final long scoredLeads = leadService.getScoredLeadsCount();
-            public final long highIntentLeads = leadService.getHighIntentLeadsCount();
-            public final long unscoredLeads = totalLeads - scoredLeads;
+            public final long totalLeads = summary.getTotal();
+            public final long scoredLeads = summary.getScored();
+            public final long highIntentLeads = summary.getHighIntent();
+            public final long unscoredLeads = summary.getUnscored();
         });
     }
 }
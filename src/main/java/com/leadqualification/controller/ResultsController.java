@@ -1,7 +1,10 @@
 package com.leadqualification.controller;
 
+import com.leadqualification.dto.LeadPage;
 import com.leadqualification.dto.LeadResponse;
+import com.leadqualification.dto.LeadSummaryResponse;
 import com.leadqualification.service.LeadService;
+import com.leadqualification.service.LeadSummaryService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,6 +12,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -20,10 +24,12 @@ public class ResultsController {
     private static final Logger logger = LoggerFactory.getLogger(ResultsController.class);
 
     private final LeadService leadService;
+    private final LeadSummaryService leadSummaryService;
 
     @Autowired
-    public ResultsController(LeadService leadService) {
+    public ResultsController(LeadService leadService, LeadSummaryService leadSummaryService) {
         this.leadService = leadService;
+        this.leadSummaryService = leadSummaryService;
     }
 
     @GetMapping("/results")
@@ -36,6 +42,26 @@ public class ResultsController {
         return ResponseEntity.ok(results);
     }
 
+    @GetMapping("/results/page")
+    public ResponseEntity<LeadPage> getResultsPage(@RequestParam(required = false) String cursor,
+                                                   @RequestParam(required = false) Integer size) {
+        logger.info("Received request to get a page of scoring results");
+
+        LeadPage page = leadService.getScoredLeadsPage(cursor, size);
+        logger.info("Returning {} scored leads", page.getSize());
+
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/results/stream")
+    public ResponseEntity<StreamingResponseBody> streamResults() {
+        logger.info("Received request to stream scoring results");
+
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(outputStream -> leadService.streamLeadsAsNdjson(true, outputStream));
+    }
+
     @GetMapping("/results/all")
     public ResponseEntity<List<LeadResponse>> getAllResults() {
         logger.info("Received request to get all leads (scored and unscored)");
@@ -77,36 +103,26 @@ public class ResultsController {
     }
 
     @GetMapping("/results/export")
-    public ResponseEntity<String> exportResults() {
+    public ResponseEntity<StreamingResponseBody> exportResults(@RequestParam(defaultValue = "false") boolean gzip) {
         logger.info("Received request to export results as CSV");
 
-        String csvContent = leadService.exportScoredLeadsAsCsv();
-        
         HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType("text/csv"));
+        headers.setContentType(MediaType.parseMediaType("text/csv;charset=UTF-8"));
         headers.setContentDispositionFormData("attachment", "lead_qualification_results.csv");
-        
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
         return ResponseEntity.ok()
             .headers(headers)
-            .body(csvContent);
+            .body(outputStream -> leadService.streamLeadsAsCsv(true, gzip, outputStream));
     }
 
     @GetMapping("/results/summary")
-    public ResponseEntity<Object> getResultsSummary() {
+    public ResponseEntity<LeadSummaryResponse> getResultsSummary(@RequestParam(defaultValue = "false") boolean refresh) {
         logger.info("Received request to get results summary");
 
-        long totalLeads = leadService.getTotalLeadsCount();
-        long scoredLeads = leadService.getScoredLeadsCount();
-        long highIntentLeads = leadService.getHighIntentLeadsCount();
-        long unscoredLeads = totalLeads - scoredLeads;
-
-        return ResponseEntity.ok(new Object() {
-            public final long total = totalLeads;
-            public final long scored = scoredLeads;
-            public final long unscored = unscoredLeads;
-            public final long highIntent = highIntentLeads;
-            public final double scoringProgress = totalLeads > 0 ? (double) scoredLeads / totalLeads * 100 : 0;
-        });
+        return ResponseEntity.ok(leadSummaryService.getSummary(refresh));
     }
 }
 
@@ -1,10 +1,16 @@
 package com.leadqualification.controller;
 
+import com.leadqualification.dto.ScoringJobResponse;
 import com.leadqualification.dto.ScoringResponse;
+import com.leadqualification.entity.IntentLevel;
+import com.leadqualification.exception.ScoringJobConflictException;
+import com.leadqualification.service.ScoringJob;
+import com.leadqualification.service.ScoringJobService;
 import com.leadqualification.service.ScoringService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -16,10 +22,12 @@ public class ScoringController {
     private static final Logger logger = LoggerFactory.getLogger(ScoringController.class);
 
     private final ScoringService scoringService;
+    private final ScoringJobService scoringJobService;
 
     @Autowired
-    public ScoringController(ScoringService scoringService) {
+    public ScoringController(ScoringService scoringService, ScoringJobService scoringJobService) {
         this.scoringService = scoringService;
+        this.scoringJobService = scoringJobService;
     }
 
     @PostMapping("/score")
@@ -27,8 +35,11 @@ public class ScoringController {
         logger.info("Received request to score all unscored leads");
 
         try {
-            ScoringResponse response = scoringService.scoreAllLeads();
+            ScoringResponse response = scoringJobService.runNow(ScoringJob.Type.SCORE_ALL,
+                                                                scoringService::scoreAllLeads);
             return ResponseEntity.ok(response);
+        } catch (ScoringJobConflictException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Failed to score leads", e);
             ScoringResponse errorResponse = new ScoringResponse(
@@ -38,6 +49,43 @@ public class ScoringController {
         }
     }
 
+    @PostMapping("/score/jobs")
+    public ResponseEntity<ScoringJobResponse> submitScoringJob() {
+        logger.info("Received request to submit a background scoring job");
+
+        ScoringJob job = scoringJobService.submitScoreAllLeads();
+        return new ResponseEntity<>(new ScoringJobResponse(job), HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/score/jobs/{jobId}")
+    public ResponseEntity<ScoringJobResponse> getScoringJob(@PathVariable String jobId) {
+        logger.debug("Received request to get scoring job {}", jobId);
+
+        return ResponseEntity.ok(new ScoringJobResponse(scoringJobService.getJob(jobId)));
+    }
+
+    @GetMapping("/score/jobs/{jobId}/result")
+    public ResponseEntity<ScoringResponse> getScoringJobResult(@PathVariable String jobId) {
+        logger.info("Received request to get result of scoring job {}", jobId);
+
+        return ResponseEntity.ok(scoringJobService.getJobResult(jobId));
+    }
+
+    @DeleteMapping("/score/jobs/{jobId}")
+    public ResponseEntity<ScoringJobResponse> cancelScoringJob(@PathVariable String jobId) {
+        logger.info("Received request to cancel scoring job {}", jobId);
+
+        return ResponseEntity.ok(new ScoringJobResponse(scoringJobService.cancelJob(jobId)));
+    }
+
+    @PostMapping("/score/jobs/{jobId}/resume")
+    public ResponseEntity<ScoringJobResponse> resumeScoringJob(@PathVariable String jobId) {
+        logger.info("Received request to resume scoring job {}", jobId);
+
+        ScoringJob job = scoringJobService.resumeJob(jobId);
+        return new ResponseEntity<>(new ScoringJobResponse(job), HttpStatus.ACCEPTED);
+    }
+
     @PostMapping("/score/{leadId}")
     public ResponseEntity<ScoringResponse> scoreSpecificLead(@PathVariable Long leadId) {
         logger.info("Received request to score lead with ID: {}", leadId);
@@ -54,13 +102,24 @@ public class ScoringController {
         }
     }
 
+    // mode=incremental rescores only the leads whose inputs, offer or rules changed since they were scored
     @PostMapping("/rescore")
-    public ResponseEntity<ScoringResponse> rescoreAllLeads() {
-        logger.info("Received request to rescore all leads");
+    public ResponseEntity<ScoringResponse> rescoreAllLeads(@RequestParam(defaultValue = "full") String mode) {
+        logger.info("Received request to rescore all leads ({})", mode);
+
+        boolean incremental = "incremental".equalsIgnoreCase(mode);
+        if (!incremental && !"full".equalsIgnoreCase(mode)) {
+            return ResponseEntity.badRequest().body(new ScoringResponse(
+                "Unknown rescore mode: " + mode + ". Use full or incremental.", 0, 0, 0));
+        }
 
         try {
-            ScoringResponse response = scoringService.rescoreAllLeads();
+            ScoringResponse response = scoringJobService.runNow(ScoringJob.Type.RESCORE, incremental
+                ? scoringService::rescoreChangedLeads
+                : scoringService::rescoreAllLeads);
             return ResponseEntity.ok(response);
+        } catch (ScoringJobConflictException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Failed to rescore leads", e);
             ScoringResponse errorResponse = new ScoringResponse(
@@ -75,8 +134,12 @@ public class ScoringController {
         logger.info("Received request to rescore leads with intent level: {}", level);
 
         try {
-            ScoringResponse response = scoringService.rescoreLeadsByIntent(level);
+            IntentLevel intent = IntentLevel.fromString(level);
+            ScoringResponse response = scoringJobService.runNow(
+                ScoringJob.Type.RESCORE, job -> scoringService.rescoreLeadsByIntent(job, intent));
             return ResponseEntity.ok(response);
+        } catch (ScoringJobConflictException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Failed to rescore leads with intent level: {}", level, e);
             ScoringResponse errorResponse = new ScoringResponse(
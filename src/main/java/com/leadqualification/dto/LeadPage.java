@@ -0,0 +1,52 @@
+package com.leadqualification.dto;
+
+import java.util.List;
+
+public class LeadPage {
+
+    private List<LeadResponse> items;
+    private int size;
+    private boolean hasMore;
+    private String nextCursor;
+
+    public LeadPage() {}
+
+    public LeadPage(List<LeadResponse> items, boolean hasMore, String nextCursor) {
+        this.items = items;
+        this.size = items.size();
+        this.hasMore = hasMore;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<LeadResponse> getItems() {
+        return items;
+    }
+
+    public void setItems(List<LeadResponse> items) {
+        this.items = items;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -2,6 +2,7 @@ package com.leadqualification.dto;
 
 import com.leadqualification.entity.IntentLevel;
 import com.leadqualification.entity.Lead;
+import com.leadqualification.entity.ScoringStatus;
 
 public class LeadResponse {
 
@@ -18,6 +19,8 @@ public class LeadResponse {
     private String intent;
     private String reasoning;
     private Boolean isScored;
+    private String scoringStatus;
+    private String scoringError;
 
     public LeadResponse() {}
 
@@ -35,6 +38,30 @@ public class LeadResponse {
         this.intent = lead.getIntent() != null ? lead.getIntent().getDisplayName() : null;
         this.reasoning = lead.getReasoning();
         this.isScored = lead.getIsScored();
+        this.scoringStatus = lead.getScoringStatus() != null ? lead.getScoringStatus().name() : null;
+        this.scoringError = lead.getScoringError();
+    }
+
+    // Used by constructor-expression queries so listings skip loading managed entities
+    public LeadResponse(Long id, String name, String role, String company, String industry, String location,
+                        String linkedinBio, Integer ruleScore, Integer aiScore, Integer totalScore,
+                        IntentLevel intent, String reasoning, Boolean isScored, ScoringStatus scoringStatus,
+                        String scoringError) {
+        this.id = id;
+        this.name = name;
+        this.role = role;
+        this.company = company;
+        this.industry = industry;
+        this.location = location;
+        this.linkedinBio = linkedinBio;
+        this.ruleScore = ruleScore;
+        this.aiScore = aiScore;
+        this.score = totalScore;
+        this.intent = intent != null ? intent.getDisplayName() : null;
+        this.reasoning = reasoning;
+        this.isScored = isScored;
+        this.scoringStatus = scoringStatus != null ? scoringStatus.name() : null;
+        this.scoringError = scoringError;
     }
 
     public Long getId() {
@@ -140,5 +167,21 @@ public class LeadResponse {
     public void setIsScored(Boolean isScored) {
         this.isScored = isScored;
     }
+
+    public String getScoringStatus() {
+        return scoringStatus;
+    }
+
+    public void setScoringStatus(String scoringStatus) {
+        this.scoringStatus = scoringStatus;
+    }
+
+    public String getScoringError() {
+        return scoringError;
+    }
+
+    public void setScoringError(String scoringError) {
+        this.scoringError = scoringError;
+    }
 }
 
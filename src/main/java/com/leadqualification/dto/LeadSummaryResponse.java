@@ -0,0 +1,152 @@
+package com.leadqualification.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class LeadSummaryResponse {
+
+    private long total;
+    private long scored;
+    private long unscored;
+    private long highIntent;
+    private long mediumIntent;
+    private long lowIntent;
+    private double scoringProgress;
+    private Double averageScore;
+    private List<ScoreBucket> scoreHistogram;
+    private LocalDateTime generatedAt;
+
+    public LeadSummaryResponse() {}
+
+    public LeadSummaryResponse(long total, long scored, long highIntent, long mediumIntent, long lowIntent,
+                               Double averageScore, List<ScoreBucket> scoreHistogram) {
+        this.total = total;
+        this.scored = scored;
+        this.unscored = total - scored;
+        this.highIntent = highIntent;
+        this.mediumIntent = mediumIntent;
+        this.lowIntent = lowIntent;
+        this.scoringProgress = total > 0 ? (double) scored / total * 100 : 0;
+        this.averageScore = averageScore;
+        this.scoreHistogram = scoreHistogram;
+        this.generatedAt = LocalDateTime.now();
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public long getScored() {
+        return scored;
+    }
+
+    public void setScored(long scored) {
+        this.scored = scored;
+    }
+
+    public long getUnscored() {
+        return unscored;
+    }
+
+    public void setUnscored(long unscored) {
+        this.unscored = unscored;
+    }
+
+    public long getHighIntent() {
+        return highIntent;
+    }
+
+    public void setHighIntent(long highIntent) {
+        this.highIntent = highIntent;
+    }
+
+    public long getMediumIntent() {
+        return mediumIntent;
+    }
+
+    public void setMediumIntent(long mediumIntent) {
+        this.mediumIntent = mediumIntent;
+    }
+
+    public long getLowIntent() {
+        return lowIntent;
+    }
+
+    public void setLowIntent(long lowIntent) {
+        this.lowIntent = lowIntent;
+    }
+
+    public double getScoringProgress() {
+        return scoringProgress;
+    }
+
+    public void setScoringProgress(double scoringProgress) {
+        this.scoringProgress = scoringProgress;
+    }
+
+    public Double getAverageScore() {
+        return averageScore;
+    }
+
+    public void setAverageScore(Double averageScore) {
+        this.averageScore = averageScore;
+    }
+
+    public List<ScoreBucket> getScoreHistogram() {
+        return scoreHistogram;
+    }
+
+    public void setScoreHistogram(List<ScoreBucket> scoreHistogram) {
+        this.scoreHistogram = scoreHistogram;
+    }
+
+    public LocalDateTime getGeneratedAt() {
+        return generatedAt;
+    }
+
+    public void setGeneratedAt(LocalDateTime generatedAt) {
+        this.generatedAt = generatedAt;
+    }
+
+    public static class ScoreBucket {
+        private int from;
+        private int to;
+        private long count;
+
+        public ScoreBucket() {}
+
+        public ScoreBucket(int from, int to, long count) {
+            this.from = from;
+            this.to = to;
+            this.count = count;
+        }
+
+        public int getFrom() {
+            return from;
+        }
+
+        public void setFrom(int from) {
+            this.from = from;
+        }
+
+        public int getTo() {
+            return to;
+        }
+
+        public void setTo(int to) {
+            this.to = to;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public void setCount(long count) {
+            this.count = count;
+        }
+    }
+}
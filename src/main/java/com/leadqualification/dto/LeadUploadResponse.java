@@ -9,6 +9,11 @@ public class LeadUploadResponse {
     private int totalLeads;
     private int successfulUploads;
     private int failedUploads;
+    // Rows repeating a stored lead or an earlier row, by what the deduplication policy did with them
+    private int duplicateLeads;
+    private int skippedDuplicates;
+    private int mergedLeads;
+    private int updatedLeads;
     private List<String> errors;
     private LocalDateTime uploadedAt;
 
@@ -56,6 +61,38 @@ public class LeadUploadResponse {
         this.failedUploads = failedUploads;
     }
 
+    public int getDuplicateLeads() {
+        return duplicateLeads;
+    }
+
+    public void setDuplicateLeads(int duplicateLeads) {
+        this.duplicateLeads = duplicateLeads;
+    }
+
+    public int getSkippedDuplicates() {
+        return skippedDuplicates;
+    }
+
+    public void setSkippedDuplicates(int skippedDuplicates) {
+        this.skippedDuplicates = skippedDuplicates;
+    }
+
+    public int getMergedLeads() {
+        return mergedLeads;
+    }
+
+    public void setMergedLeads(int mergedLeads) {
+        this.mergedLeads = mergedLeads;
+    }
+
+    public int getUpdatedLeads() {
+        return updatedLeads;
+    }
+
+    public void setUpdatedLeads(int updatedLeads) {
+        this.updatedLeads = updatedLeads;
+    }
+
     public List<String> getErrors() {
         return errors;
     }
@@ -0,0 +1,184 @@
+package com.leadqualification.dto;
+
+import com.leadqualification.service.ScoringJob;
+
+import java.time.LocalDateTime;
+
+public class ScoringJobResponse {
+
+    private String jobId;
+    private String type;
+    private String status;
+    private String resumedFromJobId;
+    private long checkpointLeadId;
+    private int totalLeads;
+    private int scoredLeads;
+    private int failedLeads;
+    private int aiPendingLeads;
+    private int skippedLeads;
+    private int remainingLeads;
+    private double throughputPerSecond;
+    private Long estimatedSecondsRemaining;
+    private String errorMessage;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    public ScoringJobResponse() {}
+
+    public ScoringJobResponse(ScoringJob job) {
+        this.jobId = job.getId();
+        this.type = job.getType().name();
+        this.status = job.getStatus().name();
+        this.resumedFromJobId = job.getResumedFromJobId();
+        this.checkpointLeadId = job.getCheckpointLeadId();
+        this.totalLeads = job.getTotalLeads();
+        this.scoredLeads = job.getScoredLeads();
+        this.failedLeads = job.getFailedLeads();
+        this.aiPendingLeads = job.getAiPendingLeads();
+        this.skippedLeads = job.getSkippedLeads();
+        this.remainingLeads = job.getRemainingLeads();
+        this.throughputPerSecond = job.getThroughputPerSecond();
+        this.estimatedSecondsRemaining = job.getEstimatedSecondsRemaining();
+        this.errorMessage = job.getErrorMessage();
+        this.submittedAt = job.getSubmittedAt();
+        this.startedAt = job.getStartedAt();
+        this.finishedAt = job.getFinishedAt();
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getResumedFromJobId() {
+        return resumedFromJobId;
+    }
+
+    public void setResumedFromJobId(String resumedFromJobId) {
+        this.resumedFromJobId = resumedFromJobId;
+    }
+
+    public long getCheckpointLeadId() {
+        return checkpointLeadId;
+    }
+
+    public void setCheckpointLeadId(long checkpointLeadId) {
+        this.checkpointLeadId = checkpointLeadId;
+    }
+
+    public int getTotalLeads() {
+        return totalLeads;
+    }
+
+    public void setTotalLeads(int totalLeads) {
+        this.totalLeads = totalLeads;
+    }
+
+    public int getScoredLeads() {
+        return scoredLeads;
+    }
+
+    public void setScoredLeads(int scoredLeads) {
+        this.scoredLeads = scoredLeads;
+    }
+
+    public int getFailedLeads() {
+        return failedLeads;
+    }
+
+    public void setFailedLeads(int failedLeads) {
+        this.failedLeads = failedLeads;
+    }
+
+    public int getAiPendingLeads() {
+        return aiPendingLeads;
+    }
+
+    public void setAiPendingLeads(int aiPendingLeads) {
+        this.aiPendingLeads = aiPendingLeads;
+    }
+
+    public int getSkippedLeads() {
+        return skippedLeads;
+    }
+
+    public void setSkippedLeads(int skippedLeads) {
+        this.skippedLeads = skippedLeads;
+    }
+
+    public int getRemainingLeads() {
+        return remainingLeads;
+    }
+
+    public void setRemainingLeads(int remainingLeads) {
+        this.remainingLeads = remainingLeads;
+    }
+
+    public double getThroughputPerSecond() {
+        return throughputPerSecond;
+    }
+
+    public void setThroughputPerSecond(double throughputPerSecond) {
+        this.throughputPerSecond = throughputPerSecond;
+    }
+
+    public Long getEstimatedSecondsRemaining() {
+        return estimatedSecondsRemaining;
+    }
+
+    public void setEstimatedSecondsRemaining(Long estimatedSecondsRemaining) {
+        this.estimatedSecondsRemaining = estimatedSecondsRemaining;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public void setSubmittedAt(LocalDateTime submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+}
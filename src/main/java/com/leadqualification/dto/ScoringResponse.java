@@ -8,6 +8,7 @@ public class ScoringResponse {
     private int totalLeads;
     private int successfulScores;
     private int failedScores;
+    private int skippedLeads;
     private LocalDateTime scoredAt;
 
     public ScoringResponse() {}
@@ -52,6 +53,14 @@ public class ScoringResponse {
         this.failedScores = failedScores;
     }
 
+    public int getSkippedLeads() {
+        return skippedLeads;
+    }
+
+    public void setSkippedLeads(int skippedLeads) {
+        this.skippedLeads = skippedLeads;
+    }
+
     public LocalDateTime getScoredAt() {
         return scoredAt;
     }
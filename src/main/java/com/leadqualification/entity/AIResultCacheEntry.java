@@ -0,0 +1,65 @@
+package com.leadqualification.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "ai_result_cache")
+public class AIResultCacheEntry {
+
+    @Id
+    @Column(name = "fingerprint", length = 64)
+    private String fingerprint;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "intent", nullable = false)
+    private IntentLevel intent;
+
+    @Column(name = "reasoning", columnDefinition = "TEXT")
+    private String reasoning;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public AIResultCacheEntry() {}
+
+    public AIResultCacheEntry(String fingerprint, IntentLevel intent, String reasoning, LocalDateTime createdAt) {
+        this.fingerprint = fingerprint;
+        this.intent = intent;
+        this.reasoning = reasoning;
+        this.createdAt = createdAt;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public void setFingerprint(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    public IntentLevel getIntent() {
+        return intent;
+    }
+
+    public void setIntent(IntentLevel intent) {
+        this.intent = intent;
+    }
+
+    public String getReasoning() {
+        return reasoning;
+    }
+
+    public void setReasoning(String reasoning) {
+        this.reasoning = reasoning;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
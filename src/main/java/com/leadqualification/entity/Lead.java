@@ -1,5 +1,6 @@
 package com.leadqualification.entity;
 
+import com.leadqualification.util.ContentHash;
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -7,11 +8,21 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "leads")
+@Table(name = "leads", indexes = {
+    // Scored listings and pages (highest score first, id as tie-breaker) and the scored count
+    @Index(name = "idx_leads_scored_score", columnList = "is_scored, total_score DESC, id DESC"),
+    // Intent listings and pages (same order) and the intent counts
+    @Index(name = "idx_leads_intent_score", columnList = "intent, total_score DESC, id DESC"),
+    // The periodic check for leads awaiting an AI back-fill
+    @Index(name = "idx_leads_scoring_status", columnList = "scoring_status"),
+    // Upload deduplication; leads added without a key are not deduplicated
+    @Index(name = "uk_leads_dedup_key", columnList = "dedup_key", unique = true)
+})
 public class Lead {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lead_seq")
+    @SequenceGenerator(name = "lead_seq", sequenceName = "lead_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "name", nullable = false)
@@ -32,6 +43,9 @@ public class Lead {
     @Column(name = "linkedin_bio", columnDefinition = "TEXT")
     private String linkedinBio;
 
+    @Column(name = "dedup_key", length = 64)
+    private String dedupKey;
+
     @Column(name = "rule_score")
     private Integer ruleScore;
 
@@ -51,6 +65,28 @@ public class Lead {
     @Column(name = "is_scored")
     private Boolean isScored = false;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "scoring_status", length = 16)
+    private ScoringStatus scoringStatus = ScoringStatus.PENDING;
+
+    @Column(name = "scoring_error", columnDefinition = "TEXT")
+    private String scoringError;
+
+    // What the scores were computed from, so an incremental rescore can skip leads for which nothing changed:
+    // the lead's own inputs, the offer and the rule settings. The AI's reasoning is kept apart from the combined
+    // reasoning so the rules can be re-run without asking the AI again.
+    @Column(name = "input_hash")
+    private Long inputHash;
+
+    @Column(name = "offer_version")
+    private Long offerVersion;
+
+    @Column(name = "rules_version")
+    private Long rulesVersion;
+
+    @Column(name = "ai_reasoning", columnDefinition = "TEXT")
+    private String aiReasoning;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -126,6 +162,14 @@ public class Lead {
         this.linkedinBio = linkedinBio;
     }
 
+    public String getDedupKey() {
+        return dedupKey;
+    }
+
+    public void setDedupKey(String dedupKey) {
+        this.dedupKey = dedupKey;
+    }
+
     public Integer getRuleScore() {
         return ruleScore;
     }
@@ -158,6 +202,50 @@ public class Lead {
         this.intent = intent;
     }
 
+    public Long getInputHash() {
+        return inputHash;
+    }
+
+    public void setInputHash(Long inputHash) {
+        this.inputHash = inputHash;
+    }
+
+    public Long getOfferVersion() {
+        return offerVersion;
+    }
+
+    public void setOfferVersion(Long offerVersion) {
+        this.offerVersion = offerVersion;
+    }
+
+    public Long getRulesVersion() {
+        return rulesVersion;
+    }
+
+    public void setRulesVersion(Long rulesVersion) {
+        this.rulesVersion = rulesVersion;
+    }
+
+    public String getAiReasoning() {
+        return aiReasoning;
+    }
+
+    public void setAiReasoning(String aiReasoning) {
+        this.aiReasoning = aiReasoning;
+    }
+
+    // The fields both the rules and the AI prompt read
+    public long computeInputHash() {
+        return ContentHash.create()
+            .add(name)
+            .add(role)
+            .add(company)
+            .add(industry)
+            .add(location)
+            .add(linkedinBio)
+            .toLong();
+    }
+
     public String getReasoning() {
         return reasoning;
     }
@@ -174,6 +262,22 @@ public class Lead {
         this.isScored = isScored;
     }
 
+    public ScoringStatus getScoringStatus() {
+        return scoringStatus;
+    }
+
+    public void setScoringStatus(ScoringStatus scoringStatus) {
+        this.scoringStatus = scoringStatus;
+    }
+
+    public String getScoringError() {
+        return scoringError;
+    }
+
+    public void setScoringError(String scoringError) {
+        this.scoringError = scoringError;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -0,0 +1,14 @@
+package com.leadqualification.entity;
+
+public enum ScoringStatus {
+    PENDING,
+    SCORED,
+    // The last attempt could not get an AI result; the lead keeps any earlier scores and is picked up again
+    // by the next scoring run while it is unscored
+    FAILED,
+    // Scored by the rules alone while the AI provider was unavailable; the AI part is back-filled once it recovers
+    AI_PENDING,
+    // Reset by a rescore of one intent level and waiting for it; like any unscored lead, also picked up by the next
+    // scoring run
+    RESCORE_PENDING
+}
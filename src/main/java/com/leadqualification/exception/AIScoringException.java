@@ -0,0 +1,12 @@
+package com.leadqualification.exception;
+
+public class AIScoringException extends RuntimeException {
+
+    public AIScoringException(String message) {
+        super(message);
+    }
+
+    public AIScoringException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
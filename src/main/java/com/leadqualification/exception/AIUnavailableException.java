@@ -0,0 +1,9 @@
+package com.leadqualification.exception;
+
+// The AI provider is not being called at all, e.g. while its circuit breaker is open
+public class AIUnavailableException extends AIScoringException {
+
+    public AIUnavailableException(String message) {
+        super(message);
+    }
+}
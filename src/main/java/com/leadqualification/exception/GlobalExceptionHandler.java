@@ -47,6 +47,20 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(ScoringJobConflictException.class)
+    public ResponseEntity<ErrorResponse> handleScoringJobConflictException(ScoringJobConflictException ex) {
+        logger.error("Conflicting request: {}", ex.getMessage());
+        
+        ErrorResponse error = new ErrorResponse(
+            "CONFLICT",
+            ex.getMessage(),
+            HttpStatus.CONFLICT.value(),
+            LocalDateTime.now()
+        );
+        
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationExceptions(MethodArgumentNotValidException ex) {
         logger.error("Validation failed: {}", ex.getMessage());
@@ -0,0 +1,9 @@
+package com.leadqualification.exception;
+
+// The request conflicts with the state of a scoring job, e.g. another run is already in progress
+public class ScoringJobConflictException extends RuntimeException {
+
+    public ScoringJobConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,20 @@
+package com.leadqualification.repository;
+
+import com.leadqualification.entity.AIResultCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface AIResultCacheRepository extends JpaRepository<AIResultCacheEntry, String> {
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM AIResultCacheEntry e WHERE e.createdAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
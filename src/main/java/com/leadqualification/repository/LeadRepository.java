@@ -1,20 +1,33 @@
 package com.leadqualification.repository;
 
+import com.leadqualification.dto.LeadResponse;
 import com.leadqualification.entity.IntentLevel;
 import com.leadqualification.entity.Lead;
+import com.leadqualification.entity.ScoringStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface LeadRepository extends JpaRepository<Lead, Long> {
 
     List<Lead> findByIsScored(Boolean isScored);
 
-    List<Lead> findByIntent(IntentLevel intent);
+    boolean existsByScoringStatus(ScoringStatus scoringStatus);
+
+    long countByIsScoredAndIdGreaterThan(Boolean isScored, Long afterId);
+
+    long countByScoringStatusAndIdGreaterThan(ScoringStatus scoringStatus, Long afterId);
 
     List<Lead> findByIsScoredOrderByTotalScoreDesc(Boolean isScored);
 
@@ -24,12 +37,123 @@ public interface LeadRepository extends JpaRepository<Lead, Long> {
     @Query("SELECT l FROM Lead l WHERE l.totalScore BETWEEN :minScore AND :maxScore ORDER BY l.totalScore DESC")
     List<Lead> findByScoreRange(@Param("minScore") Integer minScore, @Param("maxScore") Integer maxScore);
 
-    @Query("SELECT COUNT(l) FROM Lead l WHERE l.isScored = true")
+    // Written as a conditional count so H2 reads idx_leads_scored_score end to end as a covering index. With
+    // "WHERE is_scored = true" it seeks the index and looks up every matching row, which is slower than a full
+    // scan once most leads are scored.
+    @Query("SELECT COUNT(CASE WHEN l.isScored = true THEN 1 END) FROM Lead l")
     long countScoredLeads();
 
     @Query("SELECT COUNT(l) FROM Lead l WHERE l.intent = :intent")
     long countByIntent(@Param("intent") IntentLevel intent);
 
+    // Every aggregate behind the results summary in one pass: one row per (scored, intent, score decile)
+    @Query("SELECT l.isScored AS isScored, l.intent AS intent, l.totalScore / 10 AS bucket, " +
+           "COUNT(l) AS leads, SUM(l.totalScore) AS scoreSum " +
+           "FROM Lead l GROUP BY l.isScored, l.intent, l.totalScore / 10")
+    List<SummaryRow> summarize();
+
     void deleteAllByIsScored(Boolean isScored);
-}
 
+    // Upload deduplication
+
+    List<Lead> findByDedupKeyIn(Collection<String> dedupKeys);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT l.dedupKey FROM Lead l WHERE l.dedupKey IS NOT NULL")
+    Stream<String> streamDedupKeys();
+
+    // Scoring resets: one set-based UPDATE each instead of loading and dirty-checking every lead. The persistence
+    // context is cleared afterwards, as any leads it holds no longer match their rows.
+
+    String RESET_SCORING = "UPDATE Lead l SET l.isScored = false, l.ruleScore = null, l.aiScore = null, " +
+        "l.totalScore = null, l.intent = null, l.reasoning = null, l.aiReasoning = null, l.scoringError = null, " +
+        "l.scoringStatus = :scoringStatus, l.updatedAt = CURRENT_TIMESTAMP";
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(RESET_SCORING)
+    int resetAllScoring(@Param("scoringStatus") ScoringStatus scoringStatus);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(RESET_SCORING + " WHERE l.intent = :intent")
+    int resetScoringByIntent(@Param("intent") IntentLevel intent, @Param("scoringStatus") ScoringStatus scoringStatus);
+
+    // Listing projections: LeadResponse rows built straight from the selected columns, without managed entities
+
+    String LEAD_RESPONSE = "new com.leadqualification.dto.LeadResponse(l.id, l.name, l.role, l.company, " +
+        "l.industry, l.location, l.linkedinBio, l.ruleScore, l.aiScore, l.totalScore, l.intent, l.reasoning, " +
+        "l.isScored, l.scoringStatus, l.scoringError)";
+
+    @Query("SELECT " + LEAD_RESPONSE + " FROM Lead l ORDER BY l.id")
+    List<LeadResponse> findAllResponses();
+
+    @Query("SELECT " + LEAD_RESPONSE + " FROM Lead l WHERE l.isScored = :isScored ORDER BY l.id")
+    List<LeadResponse> findResponsesByIsScored(@Param("isScored") Boolean isScored);
+
+    @Query("SELECT " + LEAD_RESPONSE + " FROM Lead l WHERE l.isScored = true ORDER BY l.totalScore DESC, l.id DESC")
+    List<LeadResponse> findScoredResponses();
+
+    @Query("SELECT " + LEAD_RESPONSE + " FROM Lead l WHERE l.intent = :intent ORDER BY l.totalScore DESC, l.id DESC")
+    List<LeadResponse> findResponsesByIntent(@Param("intent") IntentLevel intent);
+
+    // Keyset pages: callers pass the last id (and score) they saw, and the page size through the Pageable.
+    // Score pages bound total_score with <= so the seek can use the (..., total_score DESC, id DESC) indexes,
+    // and repeat the equality column in ORDER BY: H2 only reads in index order when the sort starts with the
+    // index's leading column, otherwise it fetches every matching row and sorts them.
+
+    @Query("SELECT " + LEAD_RESPONSE + " FROM Lead l WHERE l.id > :afterId ORDER BY l.id")
+    List<LeadResponse> findPageAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT " + LEAD_RESPONSE + " FROM Lead l WHERE l.isScored = :isScored AND l.id > :afterId ORDER BY l.id")
+    List<LeadResponse> findPageByIsScoredAfterId(@Param("isScored") Boolean isScored,
+                                                 @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT " + LEAD_RESPONSE + " FROM Lead l WHERE l.intent = :intent AND l.totalScore <= :afterScore AND " +
+           "(l.totalScore < :afterScore OR l.id < :afterId) ORDER BY l.intent, l.totalScore DESC, l.id DESC")
+    List<LeadResponse> findPageByIntentAfter(@Param("intent") IntentLevel intent,
+                                             @Param("afterScore") Integer afterScore,
+                                             @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT " + LEAD_RESPONSE + " FROM Lead l WHERE l.isScored = true AND l.totalScore <= :afterScore AND " +
+           "(l.totalScore < :afterScore OR l.id < :afterId) ORDER BY l.isScored, l.totalScore DESC, l.id DESC")
+    List<LeadResponse> findScoredPageAfter(@Param("afterScore") Integer afterScore, @Param("afterId") Long afterId,
+                                           Pageable pageable);
+
+    // Scoring chunks, read after the last lead of the previous chunk. Unscored leads are found walking the primary
+    // key, so a whole run reads the id range once; leads by status walk idx_leads_scoring_status.
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT l FROM Lead l WHERE l.isScored = false AND l.id > :afterId ORDER BY l.id")
+    List<Lead> findUnscoredChunkAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT l FROM Lead l WHERE l.scoringStatus = :scoringStatus AND l.id > :afterId " +
+           "ORDER BY l.scoringStatus, l.id")
+    List<Lead> findChunkByScoringStatusAfterId(@Param("scoringStatus") ScoringStatus scoringStatus,
+                                               @Param("afterId") Long afterId, Pageable pageable);
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT l FROM Lead l ORDER BY l.id")
+    Stream<Lead> streamAll();
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT l FROM Lead l WHERE l.isScored = true ORDER BY l.totalScore DESC, l.id DESC")
+    Stream<Lead> streamScored();
+
+    interface SummaryRow {
+        Boolean getIsScored();
+
+        IntentLevel getIntent();
+
+        Integer getBucket();
+
+        Long getLeads();
+
+        Long getScoreSum();
+    }
+}
@@ -0,0 +1,293 @@
+package com.leadqualification.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+// Paces calls to an AI provider: a token bucket keeps the request rate within quota, failed calls are retried
+// with jittered exponential backoff (waiting at least as long as a Retry-After header asks), and the number of
+// concurrent calls adapts AIMD-style, growing by one per window of successes and halving on throttling or errors.
+public class AICallGovernor {
+
+    private static final Logger logger = LoggerFactory.getLogger(AICallGovernor.class);
+
+    private final String name;
+    private final double tokensPerNano;
+    private final double burst;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private final int minConcurrency;
+    private final int maxConcurrency;
+
+    private final Counter retries;
+    private final Counter throttled;
+
+    // Token bucket; may go negative, in which case callers wait for the tokens reserved ahead of them
+    private double tokens;
+    private long refilledAt;
+    private long pausedUntil;
+
+    // AIMD concurrency limit
+    private double limit;
+    private int inFlight;
+    private long decreasedAt;
+    private final Deque<Permit> waiters = new ArrayDeque<>();
+
+    public AICallGovernor(String name, int requestsPerMinute, int burst, int maxAttempts, long initialBackoffMs,
+                          long maxBackoffMs, int minConcurrency, int maxConcurrency, int initialConcurrency,
+                          MeterRegistry meterRegistry) {
+        if (requestsPerMinute < 1 || burst < 1 || maxAttempts < 1 || minConcurrency < 1
+                || maxConcurrency < minConcurrency) {
+            throw new IllegalArgumentException("Invalid " + name + " governor settings");
+        }
+        this.name = name;
+        this.tokensPerNano = requestsPerMinute / (double) Duration.ofMinutes(1).toNanos();
+        this.burst = burst;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.minConcurrency = minConcurrency;
+        this.maxConcurrency = maxConcurrency;
+
+        this.tokens = burst;
+        this.refilledAt = System.nanoTime();
+        this.pausedUntil = refilledAt;
+        this.limit = Math.max(minConcurrency, Math.min(initialConcurrency, maxConcurrency));
+        this.decreasedAt = refilledAt - Duration.ofMillis(initialBackoffMs).toNanos();
+
+        this.retries = Counter.builder(name + ".governor.retries").register(meterRegistry);
+        this.throttled = Counter.builder(name + ".governor.throttled")
+            .description("Calls rejected with 429 or 503")
+            .register(meterRegistry);
+        Gauge.builder(name + ".governor.concurrency-limit", this, AICallGovernor::getConcurrencyLimit)
+            .register(meterRegistry);
+        Gauge.builder(name + ".governor.in-flight", this, AICallGovernor::getInFlight).register(meterRegistry);
+    }
+
+    public <T> Mono<T> execute(Supplier<Mono<T>> call) {
+        return attempt(call, 1);
+    }
+
+    private <T> Mono<T> attempt(Supplier<Mono<T>> call, int attempt) {
+        return Mono.usingWhen(acquire(),
+                permit -> Mono.delay(reserveToken())
+                    .then(Mono.defer(call))
+                    .doOnSuccess(result -> onSuccess())
+                    .doOnError(this::onError),
+                Permit::release,
+                (permit, error) -> permit.release(),
+                Permit::release)
+            .onErrorResume(error -> {
+                Duration delay = retryDelay(error, attempt);
+                if (delay == null) {
+                    return Mono.error(error);
+                }
+                retries.increment();
+                logger.warn("{} call failed (attempt {} of {}), retrying in {} ms: {}",
+                           name, attempt, maxAttempts, delay.toMillis(), error.getMessage());
+                return Mono.delay(delay).then(attempt(call, attempt + 1));
+            });
+    }
+
+    // Null when the error is final: not retryable, out of attempts, or Retry-After asks for more than the
+    // longest backoff
+    Duration retryDelay(Throwable error, int attempt) {
+        if (attempt >= maxAttempts || !isRetryable(error)) {
+            return null;
+        }
+
+        long ceiling = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempt - 1, 20));
+        long delayMs = ThreadLocalRandom.current().nextLong(ceiling + 1);
+
+        Duration retryAfter = retryAfter(error);
+        if (retryAfter != null) {
+            if (retryAfter.toMillis() > maxBackoffMs) {
+                return null;
+            }
+            delayMs = Math.max(delayMs, retryAfter.toMillis());
+        }
+        return Duration.ofMillis(delayMs);
+    }
+
+    static boolean isRetryable(Throwable error) {
+        if (error instanceof WebClientResponseException responseError) {
+            int status = responseError.getStatusCode().value();
+            return status == 429 || status == 500 || status == 502 || status == 503 || status == 504;
+        }
+        return error instanceof WebClientRequestException || error instanceof TimeoutException;
+    }
+
+    static Duration retryAfter(Throwable error) {
+        if (!(error instanceof WebClientResponseException responseError)) {
+            return null;
+        }
+        String value = responseError.getHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        value = value.trim();
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value)));
+        } catch (NumberFormatException e) {
+            // not delta-seconds, so an HTTP date
+        }
+        try {
+            Duration untilDate = Duration.between(ZonedDateTime.now(),
+                                                  ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME));
+            return untilDate.isNegative() ? Duration.ZERO : untilDate;
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private synchronized Duration reserveToken() {
+        long now = System.nanoTime();
+        if (now > refilledAt) {
+            tokens = Math.min(burst, tokens + (now - refilledAt) * tokensPerNano);
+            refilledAt = now;
+        }
+        tokens -= 1;
+
+        long waitNanos = tokens >= 0 ? 0 : (long) Math.ceil(-tokens / tokensPerNano);
+        waitNanos = Math.max(waitNanos, pausedUntil - now);
+        return Duration.ofNanos(waitNanos);
+    }
+
+    private void onSuccess() {
+        List<Permit> granted;
+        synchronized (this) {
+            limit = Math.min(maxConcurrency, limit + 1 / limit);
+            granted = grantWaiters();
+        }
+        granted.forEach(Permit::grant);
+    }
+
+    private void onError(Throwable error) {
+        if (!isRetryable(error)) {
+            return;
+        }
+        Duration retryAfter = retryAfter(error);
+        boolean throttledCall = error instanceof WebClientResponseException responseError
+            && (responseError.getStatusCode().value() == 429 || responseError.getStatusCode().value() == 503);
+        if (throttledCall) {
+            throttled.increment();
+        }
+
+        synchronized (this) {
+            long now = System.nanoTime();
+            if (retryAfter != null) {
+                // The provider asked everyone to hold off, not just this call
+                long pauseMs = Math.min(retryAfter.toMillis(), maxBackoffMs);
+                pausedUntil = Math.max(pausedUntil, now + Duration.ofMillis(pauseMs).toNanos());
+            }
+            // One decrease per backoff interval, so a burst of failures from the same window halves the limit once
+            if (now - decreasedAt >= Duration.ofMillis(initialBackoffMs).toNanos()) {
+                limit = Math.max(minConcurrency, limit / 2);
+                decreasedAt = now;
+                logger.info("{} concurrency limit lowered to {}", name, (int) limit);
+            }
+        }
+    }
+
+    private Mono<Permit> acquire() {
+        return Mono.create(sink -> {
+            Permit permit = new Permit(sink);
+            boolean granted;
+            synchronized (this) {
+                granted = inFlight < (int) limit && waiters.isEmpty();
+                if (granted) {
+                    inFlight++;
+                    permit.granted = true;
+                } else {
+                    waiters.add(permit);
+                }
+            }
+            sink.onCancel(() -> {
+                synchronized (this) {
+                    waiters.remove(permit);
+                }
+                permit.release();
+            });
+            if (granted) {
+                sink.success(permit);
+            }
+        });
+    }
+
+    // Must be called while holding the lock; the returned permits are handed out after it is released
+    private List<Permit> grantWaiters() {
+        List<Permit> granted = new ArrayList<>();
+        while (inFlight < (int) limit && !waiters.isEmpty()) {
+            Permit permit = waiters.poll();
+            permit.granted = true;
+            inFlight++;
+            granted.add(permit);
+        }
+        return granted;
+    }
+
+    private void release() {
+        List<Permit> granted;
+        synchronized (this) {
+            inFlight--;
+            granted = grantWaiters();
+        }
+        granted.forEach(Permit::grant);
+    }
+
+    public synchronized int getConcurrencyLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    private class Permit {
+        private final MonoSink<Permit> sink;
+        private final AtomicBoolean released = new AtomicBoolean();
+        // guarded by the governor's lock
+        private boolean granted;
+
+        Permit(MonoSink<Permit> sink) {
+            this.sink = sink;
+        }
+
+        void grant() {
+            sink.success(this);
+        }
+
+        // Safe to call more than once, and before the permit is granted
+        Mono<Void> release() {
+            boolean wasGranted;
+            synchronized (AICallGovernor.this) {
+                wasGranted = granted;
+            }
+            if (wasGranted && released.compareAndSet(false, true)) {
+                AICallGovernor.this.release();
+            }
+            return Mono.empty();
+        }
+    }
+}
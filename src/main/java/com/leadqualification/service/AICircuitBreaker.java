@@ -0,0 +1,214 @@
+package com.leadqualification.service;
+
+import com.leadqualification.exception.AIUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// Stops calling an AI provider that keeps failing. Closed, it tracks the outcome of the last window-size calls and
+// opens once at least minimum-calls were made and the failure rate reaches the threshold. Open, it rejects calls
+// with AIUnavailableException for open-duration, then lets half-open-calls trial calls through: if all succeed it
+// closes again, if one fails it reopens. Only provider outages count as failures: 429, 5xx, timeouts and
+// connection errors.
+public class AICircuitBreaker {
+
+    public enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(AICircuitBreaker.class);
+
+    private final String name;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openDurationNanos;
+    private final int halfOpenCalls;
+
+    private final Counter rejected;
+    private final List<Consumer<State>> listeners = new CopyOnWriteArrayList<>();
+
+    private State state = State.CLOSED;
+
+    // Outcomes of the last calls made while closed, oldest overwritten first
+    private final boolean[] window;
+    private int windowNext;
+    private int windowCalls;
+    private int windowFailures;
+
+    private long openedAt;
+    private int trialPermits;
+    private int trialSuccesses;
+
+    public AICircuitBreaker(String name, int windowSize, int minimumCalls, int failureRateThreshold,
+                            long openDurationMs, int halfOpenCalls, MeterRegistry meterRegistry) {
+        if (windowSize < 1 || minimumCalls < 1 || minimumCalls > windowSize || failureRateThreshold < 1
+                || failureRateThreshold > 100 || openDurationMs < 0 || halfOpenCalls < 1) {
+            throw new IllegalArgumentException("Invalid " + name + " circuit breaker settings");
+        }
+        this.name = name;
+        this.window = new boolean[windowSize];
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold / 100.0;
+        this.openDurationNanos = Duration.ofMillis(openDurationMs).toNanos();
+        this.halfOpenCalls = halfOpenCalls;
+
+        this.rejected = Counter.builder(name + ".circuit.rejected")
+            .description("Calls not made because the circuit was open")
+            .register(meterRegistry);
+        Gauge.builder(name + ".circuit.state", this, breaker -> breaker.getState().ordinal())
+            .description("0 closed, 1 half-open, 2 open")
+            .register(meterRegistry);
+    }
+
+    // Fails fast while the circuit is open, without taking a trial permit; for checks made before queueing a call
+    public <T> Mono<T> whenPermitted(Supplier<Mono<T>> call) {
+        return Mono.defer(() -> isCallPermitted() ? call.get() : Mono.error(rejection()));
+    }
+
+    // Makes the call if the circuit lets it through and records its outcome
+    public <T> Mono<T> execute(Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            State grantedIn = acquire();
+            if (grantedIn == null) {
+                return Mono.error(rejection());
+            }
+            return call.get()
+                .doOnSuccess(result -> onResult(grantedIn, false))
+                .doOnError(error -> onResult(grantedIn, AICallGovernor.isRetryable(error)))
+                .doOnCancel(() -> onCancel(grantedIn));
+        });
+    }
+
+    public void onStateChange(Consumer<State> listener) {
+        listeners.add(listener);
+    }
+
+    public synchronized boolean isCallPermitted() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case HALF_OPEN:
+                return trialPermits > 0;
+            default:
+                return System.nanoTime() - openedAt >= openDurationNanos;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private AIUnavailableException rejection() {
+        rejected.increment();
+        return new AIUnavailableException("AI provider unavailable: " + name + " circuit is open after repeated failures");
+    }
+
+    // The state the call was let through in, or null if it is rejected
+    private State acquire() {
+        State changed = null;
+        State grantedIn;
+        synchronized (this) {
+            if (state == State.OPEN && System.nanoTime() - openedAt >= openDurationNanos) {
+                changed = transition(State.HALF_OPEN);
+                trialPermits = halfOpenCalls;
+                trialSuccesses = 0;
+            }
+            if (state == State.CLOSED) {
+                grantedIn = State.CLOSED;
+            } else if (state == State.HALF_OPEN && trialPermits > 0) {
+                trialPermits--;
+                grantedIn = State.HALF_OPEN;
+            } else {
+                grantedIn = null;
+            }
+        }
+        notifyListeners(changed);
+        return grantedIn;
+    }
+
+    private void onResult(State grantedIn, boolean failed) {
+        State changed = null;
+        synchronized (this) {
+            // Outcomes of calls let through in an earlier state say nothing about the current one
+            if (grantedIn != state) {
+                return;
+            }
+            if (state == State.HALF_OPEN) {
+                if (failed) {
+                    changed = open();
+                } else if (++trialSuccesses >= halfOpenCalls) {
+                    changed = transition(State.CLOSED);
+                }
+            } else {
+                record(failed);
+                if (windowCalls >= minimumCalls && windowFailures >= failureRateThreshold * windowCalls) {
+                    changed = open();
+                }
+            }
+        }
+        notifyListeners(changed);
+    }
+
+    private synchronized void onCancel(State grantedIn) {
+        // A cancelled trial call never reports back, so its permit goes to the next caller
+        if (grantedIn == State.HALF_OPEN && state == State.HALF_OPEN) {
+            trialPermits++;
+        }
+    }
+
+    // Must be called while holding the lock
+    private void record(boolean failed) {
+        if (windowCalls == window.length) {
+            if (window[windowNext]) {
+                windowFailures--;
+            }
+        } else {
+            windowCalls++;
+        }
+        window[windowNext] = failed;
+        if (failed) {
+            windowFailures++;
+        }
+        windowNext = (windowNext + 1) % window.length;
+    }
+
+    // Must be called while holding the lock
+    private State open() {
+        openedAt = System.nanoTime();
+        return transition(State.OPEN);
+    }
+
+    // Must be called while holding the lock; listeners are notified after it is released
+    private State transition(State next) {
+        logger.warn("{} circuit {} -> {}", name, state, next);
+        state = next;
+        if (next == State.CLOSED) {
+            windowNext = 0;
+            windowCalls = 0;
+            windowFailures = 0;
+        }
+        return next;
+    }
+
+    private void notifyListeners(State changed) {
+        if (changed == null) {
+            return;
+        }
+        for (Consumer<State> listener : listeners) {
+            try {
+                listener.accept(changed);
+            } catch (RuntimeException e) {
+                logger.error("{} circuit listener failed", name, e);
+            }
+        }
+    }
+}
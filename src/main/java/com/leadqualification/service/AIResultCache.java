@@ -0,0 +1,162 @@
+package com.leadqualification.service;
+
+import com.leadqualification.entity.AIResultCacheEntry;
+import com.leadqualification.repository.AIResultCacheRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+@Component
+public class AIResultCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(AIResultCache.class);
+
+    private final boolean enabled;
+    private final int maxSize;
+    private final Duration ttl;
+    private final boolean persistent;
+    private final AIResultCacheRepository repository;
+    private final Map<String, CachedResult> entries;
+
+    private final Counter memoryHits;
+    private final Counter persistentHits;
+    private final Counter misses;
+
+    @Autowired
+    public AIResultCache(@Value("${gemini.cache.enabled:true}") boolean enabled,
+                         @Value("${gemini.cache.max-size:10000}") int maxSize,
+                         @Value("${gemini.cache.ttl-minutes:1440}") long ttlMinutes,
+                         @Value("${gemini.cache.persistent:false}") boolean persistent,
+                         MeterRegistry meterRegistry,
+                         AIResultCacheRepository repository) {
+        this.enabled = enabled;
+        this.maxSize = maxSize;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.persistent = persistent && repository != null;
+        this.repository = repository;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResult> eldest) {
+                return size() > AIResultCache.this.maxSize;
+            }
+        };
+
+        this.memoryHits = Counter.builder("gemini.cache.hits").tag("tier", "memory").register(meterRegistry);
+        this.persistentHits = Counter.builder("gemini.cache.hits").tag("tier", "persistent").register(meterRegistry);
+        this.misses = Counter.builder("gemini.cache.misses").register(meterRegistry);
+        Gauge.builder("gemini.cache.size", this, AIResultCache::size).register(meterRegistry);
+
+        if (this.persistent) {
+            int purged = repository.deleteOlderThan(LocalDateTime.now().minus(ttl));
+            logger.info("AI result cache using persistent tier, purged {} expired entries", purged);
+        }
+    }
+
+    public String fingerprint(String... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : parts) {
+                digest.update(part.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    // May hit the database when the persistent tier is enabled, so call it off the event loop
+    public Optional<AIScoreResult> get(String fingerprint) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        synchronized (entries) {
+            CachedResult cached = entries.get(fingerprint);
+            if (cached != null) {
+                if (!cached.isExpired()) {
+                    memoryHits.increment();
+                    return Optional.of(cached.result);
+                }
+                entries.remove(fingerprint);
+            }
+        }
+
+        if (persistent) {
+            Optional<AIResultCacheEntry> entry = repository.findById(fingerprint)
+                .filter(e -> e.getCreatedAt().isAfter(LocalDateTime.now().minus(ttl)));
+            if (entry.isPresent()) {
+                persistentHits.increment();
+                AIScoreResult result =
+                    new AIScoreResult(entry.get().getIntent(), entry.get().getReasoning()).asCached();
+                putInMemory(fingerprint, result, entry.get().getCreatedAt());
+                return Optional.of(result);
+            }
+        }
+
+        misses.increment();
+        return Optional.empty();
+    }
+
+    public void put(String fingerprint, AIScoreResult result) {
+        if (!enabled) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        putInMemory(fingerprint, result, now);
+
+        if (persistent) {
+            try {
+                repository.save(new AIResultCacheEntry(fingerprint, result.getIntent(), result.getReasoning(), now));
+            } catch (Exception e) {
+                logger.warn("Failed to persist AI result cache entry {}: {}", fingerprint, e.getMessage());
+            }
+        }
+    }
+
+    public boolean isPersistent() {
+        return persistent;
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private void putInMemory(String fingerprint, AIScoreResult result, LocalDateTime createdAt) {
+        synchronized (entries) {
+            entries.put(fingerprint, new CachedResult(result.asCached(), createdAt.plus(ttl)));
+        }
+    }
+
+    private static class CachedResult {
+        private final AIScoreResult result;
+        private final LocalDateTime expiresAt;
+
+        CachedResult(AIScoreResult result, LocalDateTime expiresAt) {
+            this.result = result;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired() {
+            return LocalDateTime.now().isAfter(expiresAt);
+        }
+    }
+}
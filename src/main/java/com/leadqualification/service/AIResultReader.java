@@ -0,0 +1,139 @@
+package com.leadqualification.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.leadqualification.entity.IntentLevel;
+
+import java.io.IOException;
+
+// Reads {"id": ..., "intent": ..., "reasoning": ...} results token by token, without building a JSON tree. Only the
+// reasoning becomes a String; the intent is matched against the parser's character buffer.
+final class AIResultReader {
+
+    static final String DEFAULT_REASONING = "AI analysis completed";
+
+    private static final IntentLevel[] INTENTS = IntentLevel.values();
+
+    private AIResultReader() {
+    }
+
+    // Null when the answer is not an object or has no High, Medium or Low intent
+    static AIScoreResult readResult(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return null;
+        }
+        Entry entry = readEntry(parser);
+        return entry.intent != null ? entry.toResult() : null;
+    }
+
+    // Results indexed by id - 1. Entries with an unknown or repeated id or without a valid intent are left out.
+    static AIScoreResult[] readResults(JsonParser parser, int size) throws IOException {
+        AIScoreResult[] results = new AIScoreResult[size];
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            return results;
+        }
+
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+            if (token != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            Entry entry = readEntry(parser);
+            int index = entry.id - 1;
+            if (index >= 0 && index < size && results[index] == null && entry.intent != null) {
+                results[index] = entry.toResult();
+            }
+        }
+        return results;
+    }
+
+    private static Entry readEntry(JsonParser parser) throws IOException {
+        Entry entry = new Entry();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            // Field names come from the parser's symbol table, so this does not allocate
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "id":
+                    entry.id = readId(parser, value);
+                    break;
+                case "intent":
+                    entry.intent = value == JsonToken.VALUE_STRING ? readIntent(parser) : null;
+                    break;
+                case "reasoning":
+                    entry.reasoning = value == JsonToken.VALUE_STRING ? parser.getText().trim() : null;
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        return entry;
+    }
+
+    // The prospect number, also when the model quotes it or writes "#3"; -1 when there is none
+    private static int readId(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getNumberType() == JsonParser.NumberType.INT ? parser.getIntValue() : -1;
+        }
+        if (value != JsonToken.VALUE_STRING) {
+            parser.skipChildren();
+            return -1;
+        }
+        char[] text = parser.getTextCharacters();
+        int end = parser.getTextOffset() + parser.getTextLength();
+        long id = 0;
+        int digits = 0;
+        for (int i = parser.getTextOffset(); i < end; i++) {
+            if (text[i] >= '0' && text[i] <= '9') {
+                id = id * 10 + (text[i] - '0');
+                if (++digits > 9) {
+                    return -1;
+                }
+            }
+        }
+        return digits > 0 ? (int) id : -1;
+    }
+
+    // Unlike IntentLevel.fromString, an unrecognised value is not read as Low
+    private static IntentLevel readIntent(JsonParser parser) throws IOException {
+        char[] text = parser.getTextCharacters();
+        int start = parser.getTextOffset();
+        int end = start + parser.getTextLength();
+        while (start < end && Character.isWhitespace(text[start])) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(text[end - 1])) {
+            end--;
+        }
+
+        for (IntentLevel intent : INTENTS) {
+            if (equalsIgnoreCase(intent.getDisplayName(), text, start, end)) {
+                return intent;
+            }
+        }
+        return null;
+    }
+
+    private static boolean equalsIgnoreCase(String expected, char[] text, int start, int end) {
+        if (expected.length() != end - start) {
+            return false;
+        }
+        for (int i = 0; i < expected.length(); i++) {
+            if (Character.toLowerCase(expected.charAt(i)) != Character.toLowerCase(text[start + i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static class Entry {
+        private int id = -1;
+        private IntentLevel intent;
+        private String reasoning;
+
+        AIScoreResult toResult() {
+            return new AIScoreResult(intent, reasoning == null || reasoning.isEmpty() ? DEFAULT_REASONING : reasoning);
+        }
+    }
+}
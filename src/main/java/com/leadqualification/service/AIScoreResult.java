@@ -0,0 +1,40 @@
+package com.leadqualification.service;
+
+import com.leadqualification.entity.IntentLevel;
+
+public class AIScoreResult {
+    private final IntentLevel intent;
+    private final String reasoning;
+    // Served from the result cache rather than by a call to the provider
+    private final boolean cached;
+
+    public AIScoreResult(IntentLevel intent, String reasoning) {
+        this(intent, reasoning, false);
+    }
+
+    private AIScoreResult(IntentLevel intent, String reasoning, boolean cached) {
+        this.intent = intent;
+        this.reasoning = reasoning;
+        this.cached = cached;
+    }
+
+    public AIScoreResult asCached() {
+        return cached ? this : new AIScoreResult(intent, reasoning, true);
+    }
+
+    public IntentLevel getIntent() {
+        return intent;
+    }
+
+    public String getReasoning() {
+        return reasoning;
+    }
+
+    public boolean isCached() {
+        return cached;
+    }
+
+    public int getScore() {
+        return intent.getAiScore();
+    }
+}
@@ -0,0 +1,38 @@
+package com.leadqualification.service;
+
+import com.leadqualification.entity.Lead;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// A source of AI intent scores. Results that could not be obtained fail with AIScoringException, or with
+// AIUnavailableException when the provider was not called at all. The one ScoringService uses is picked by
+// scoring.ai.provider.
+public interface AIScoringProvider {
+
+    String getName();
+
+    Mono<AIScoreResult> scoreLeadIntentAsync(Lead lead, OfferSnapshot offer);
+
+    // One result per lead, in the order of the leads
+    default List<Mono<AIScoreResult>> scoreLeadIntentsAsync(List<Lead> leads, OfferSnapshot offer) {
+        List<Mono<AIScoreResult>> results = new ArrayList<>(leads.size());
+        leads.forEach(lead -> results.add(scoreLeadIntentAsync(lead, offer)));
+        return results;
+    }
+
+    // How many leads are worth passing to scoreLeadIntentsAsync at once
+    default int getBatchSize() {
+        return 1;
+    }
+
+    // False while calls would be rejected without being made
+    default boolean isAvailable() {
+        return true;
+    }
+
+    // Runs the listener whenever the provider recovers from an outage
+    default void onRecovered(Runnable listener) {
+    }
+}
@@ -0,0 +1,579 @@
+package com.leadqualification.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.filter.FilteringParserDelegate;
+import com.fasterxml.jackson.core.filter.JsonPointerBasedFilter;
+import com.fasterxml.jackson.core.filter.TokenFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.leadqualification.entity.IntentLevel;
+import com.leadqualification.entity.Lead;
+import com.leadqualification.exception.AIScoringException;
+import com.leadqualification.exception.AIUnavailableException;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Scores leads by prompting a language model. Subclasses send the prompt to their API; prompts, batching, the
+// result cache, the call governor and the circuit breaker are shared.
+public abstract class AbstractAIScoringProvider implements AIScoringProvider {
+
+    private static final Logger logger = LoggerFactory.getLogger(AbstractAIScoringProvider.class);
+
+    // Rough size of a token in English prose, used to keep batch prompts within the token budget
+    private static final int CHARS_PER_TOKEN = 4;
+
+    private static final String BATCH_PROMPT_FOOTER = buildBatchFooter();
+
+    // The answer array opens with an object; prose before it may mention prospects as [1], [2], ...
+    private static final Pattern BATCH_ARRAY_START = Pattern.compile("\\[\\s*\\{");
+
+    private final String name;
+    private final AIResultCache aiResultCache;
+    private final AICallGovernor callGovernor;
+    private final AICircuitBreaker circuitBreaker;
+    protected final ObjectMapper objectMapper;
+
+    private volatile PromptTemplate promptTemplate;
+
+    protected AbstractAIScoringProvider(String name, AIResultCache aiResultCache, AICallGovernor callGovernor,
+                                        AICircuitBreaker circuitBreaker) {
+        this.name = name;
+        this.aiResultCache = aiResultCache;
+        this.callGovernor = callGovernor;
+        this.circuitBreaker = circuitBreaker;
+        this.objectMapper = new ObjectMapper();
+    }
+
+    // One attempt at the API call, returning the raw response body
+    protected abstract Mono<byte[]> sendPrompt(String prompt, int maxOutputTokens, ResponseFormat format);
+
+    // Where the text of the model's answer sits in the response body
+    protected abstract JsonPointer getAnswerPointer();
+
+    // Whether the API is asked for JSON matching a schema instead of free text
+    protected boolean isStructuredOutput() {
+        return false;
+    }
+
+    // Identifies the model in result cache fingerprints
+    protected abstract String getModelKey();
+
+    protected abstract int getMaxTokens();
+
+    protected abstract double getTemperature();
+
+    protected abstract long getRequestTimeoutMs();
+
+    protected abstract int getMaxBatchSize();
+
+    protected abstract int getMaxBatchPromptTokens();
+
+    protected abstract int getMaxBatchOutputTokens();
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    public AIScoreResult scoreLeadIntent(Lead lead, OfferSnapshot offer) {
+        return scoreLeadIntentAsync(lead, offer).block();
+    }
+
+    @Override
+    public Mono<AIScoreResult> scoreLeadIntentAsync(Lead lead, OfferSnapshot offer) {
+        logger.info("Scoring lead intent using AI for: {}", lead.getName());
+
+        return Mono.fromCallable(() -> buildPrompt(lead, offer))
+            .flatMap(prompt -> {
+                String fingerprint = fingerprint(prompt);
+                Optional<AIScoreResult> cached = aiResultCache.get(fingerprint);
+                if (cached.isPresent()) {
+                    logger.debug("Using cached AI result for: {}", lead.getName());
+                    return Mono.just(cached.get());
+                }
+
+                Mono<AIScoreResult> result = isStructuredOutput()
+                    ? callModel(prompt, getMaxTokens(), ResponseFormat.RESULT, this::readStructuredResult)
+                    : callModel(prompt, getMaxTokens(), ResponseFormat.TEXT,
+                                (text, offset, length) -> parseAIResponse(new String(text, offset, length)));
+                if (aiResultCache.isPersistent()) {
+                    result = result.publishOn(Schedulers.boundedElastic());
+                }
+                return result.doOnNext(aiResult -> aiResultCache.put(fingerprint, aiResult));
+            })
+            .onErrorMap(e -> {
+                if (e instanceof AIUnavailableException) {
+                    logger.debug("Not scoring lead intent for {}: {}", lead.getName(), e.getMessage());
+                } else {
+                    logger.error("Failed to score lead intent for: {}", lead.getName(), e);
+                }
+                return toScoringException(e);
+            });
+    }
+
+    // False while the circuit breaker is rejecting calls; cached results are still served
+    @Override
+    public boolean isAvailable() {
+        return circuitBreaker.isCallPermitted();
+    }
+
+    @Override
+    public void onRecovered(Runnable listener) {
+        circuitBreaker.onStateChange(state -> {
+            if (state == AICircuitBreaker.State.CLOSED) {
+                listener.run();
+            }
+        });
+    }
+
+    @Override
+    public int getBatchSize() {
+        return Math.max(1, Math.min(getMaxBatchSize(), getMaxBatchOutputTokens() / getMaxTokens()));
+    }
+
+    // Scores leads a batch per request, returning one result per lead in the order of the leads; a lead whose
+    // result could not be obtained fails with AIScoringException. Leads already in the cache are not sent, and
+    // leads the model leaves out of its answer are retried one request each. The requests go out when the
+    // first result is subscribed to.
+    @Override
+    public List<Mono<AIScoreResult>> scoreLeadIntentsAsync(List<Lead> leads, OfferSnapshot offer) {
+        List<Mono<AIScoreResult>> results = new ArrayList<>(leads.size());
+        if (leads.size() == 1 || getBatchSize() == 1) {
+            leads.forEach(lead -> results.add(scoreLeadIntentAsync(lead, offer)));
+            return results;
+        }
+
+        Mono<List<PendingLead>> scored = Mono.fromCallable(() -> lookUpCached(leads, offer))
+            .flatMap(pending -> Flux.fromIterable(packBatches(pending, offer))
+                .flatMap(batch -> batch.size() == 1
+                    ? scoreIndividually(batch.get(0), offer)
+                    : scoreBatch(batch, offer))
+                .then(Mono.just(pending)))
+            .cache();
+        for (int i = 0; i < leads.size(); i++) {
+            int index = i;
+            results.add(scored.flatMap(pending -> pending.get(index).toResult()));
+        }
+        return results;
+    }
+
+    private List<PendingLead> lookUpCached(List<Lead> leads, OfferSnapshot offer) {
+        List<PendingLead> pending = new ArrayList<>(leads.size());
+        for (Lead lead : leads) {
+            String fingerprint = fingerprint(buildPrompt(lead, offer));
+            PendingLead pendingLead = new PendingLead(lead, fingerprint);
+            aiResultCache.get(fingerprint).ifPresent(cached -> pendingLead.result = cached);
+            pending.add(pendingLead);
+        }
+        return pending;
+    }
+
+    // Fills each batch up to the batch size, or less when the next prospect would push the prompt past its budget
+    private List<List<PendingLead>> packBatches(List<PendingLead> pending, OfferSnapshot offer) {
+        String header = buildBatchHeader(offer);
+        int maxLeads = getBatchSize();
+        int budget = getMaxBatchPromptTokens() * CHARS_PER_TOKEN - header.length() - BATCH_PROMPT_FOOTER.length();
+
+        List<List<PendingLead>> batches = new ArrayList<>();
+        List<PendingLead> batch = new ArrayList<>(maxLeads);
+        int batchLength = 0;
+        for (PendingLead lead : pending) {
+            if (lead.result != null) {
+                continue;
+            }
+            lead.prospect = buildBatchProspect(batch.size() + 1, lead.lead);
+            if (!batch.isEmpty() && (batch.size() == maxLeads || batchLength + lead.prospect.length() > budget)) {
+                batches.add(batch);
+                batch = new ArrayList<>(maxLeads);
+                batchLength = 0;
+                lead.prospect = buildBatchProspect(1, lead.lead);
+            }
+            batch.add(lead);
+            batchLength += lead.prospect.length() + 1;
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+    private Mono<Void> scoreBatch(List<PendingLead> batch, OfferSnapshot offer) {
+        logger.info("Scoring intent of {} leads in one AI request", batch.size());
+
+        List<String> prospects = new ArrayList<>(batch.size());
+        batch.forEach(lead -> prospects.add(lead.prospect));
+        String prompt = buildBatchPrompt(prospects, buildBatchHeader(offer));
+        int outputTokens = Math.min(getMaxBatchOutputTokens(), getMaxTokens() * batch.size());
+
+        Mono<AIScoreResult[]> results = isStructuredOutput()
+            ? callModel(prompt, outputTokens, ResponseFormat.RESULTS,
+                        (text, offset, length) -> readStructuredResults(text, offset, length, batch.size()))
+            : callModel(prompt, outputTokens, ResponseFormat.TEXT,
+                        (text, offset, length) -> parseBatchResponse(new String(text, offset, length), batch.size()));
+        if (aiResultCache.isPersistent()) {
+            results = results.publishOn(Schedulers.boundedElastic());
+        }
+
+        return results
+            .flatMap(parsed -> {
+                List<PendingLead> leftOut = new ArrayList<>();
+                for (int i = 0; i < batch.size(); i++) {
+                    PendingLead lead = batch.get(i);
+                    if (parsed[i] == null) {
+                        leftOut.add(lead);
+                    } else {
+                        lead.result = parsed[i];
+                        aiResultCache.put(lead.fingerprint, parsed[i]);
+                    }
+                }
+                if (!leftOut.isEmpty()) {
+                    logger.warn("AI response left out {} of {} leads, scoring them individually",
+                               leftOut.size(), batch.size());
+                }
+                return Flux.fromIterable(leftOut).flatMap(lead -> scoreIndividually(lead, offer)).then();
+            })
+            .onErrorResume(e -> {
+                if (e instanceof AIUnavailableException) {
+                    logger.debug("Not scoring intent of {} leads: {}", batch.size(), e.getMessage());
+                } else {
+                    logger.error("Failed to score intent of {} leads", batch.size(), e);
+                }
+                AIScoringException failure = toScoringException(e);
+                batch.forEach(lead -> lead.error = failure);
+                return Mono.empty();
+            });
+    }
+
+    private Mono<Void> scoreIndividually(PendingLead lead, OfferSnapshot offer) {
+        return scoreLeadIntentAsync(lead.lead, offer)
+            .doOnNext(result -> lead.result = result)
+            .onErrorResume(e -> {
+                lead.error = e;
+                return Mono.empty();
+            })
+            .then();
+    }
+
+    // The message ends up on the lead, so it names the failure without echoing the request URL and its API key
+    private AIScoringException toScoringException(Throwable error) {
+        if (error instanceof AIScoringException scoringException) {
+            return scoringException;
+        }
+
+        String reason;
+        if (error instanceof WebClientResponseException responseError) {
+            reason = "AI provider returned " + responseError.getStatusCode().value() + " " + responseError.getStatusText();
+        } else if (error instanceof TimeoutException) {
+            reason = "AI provider did not answer within " + getRequestTimeoutMs() + " ms";
+        } else if (error instanceof WebClientRequestException requestError) {
+            reason = "AI provider unreachable: " + requestError.getMostSpecificCause().getMessage();
+        } else {
+            reason = error.getMessage();
+        }
+        return new AIScoringException("AI scoring failed: " + reason, error);
+    }
+
+    private String fingerprint(String prompt) {
+        return aiResultCache.fingerprint(getModelKey(), String.valueOf(getMaxTokens()),
+                                         String.valueOf(getTemperature()), prompt);
+    }
+
+    private String buildPrompt(Lead lead, OfferSnapshot offer) {
+        return promptTemplateFor(offer).render(lead);
+    }
+
+    private String buildBatchPrompt(List<String> prospects, String header) {
+        StringBuilder prompt = new StringBuilder(header);
+        for (String prospect : prospects) {
+            prompt.append(prospect).append("\n");
+        }
+
+        prompt.append(BATCH_PROMPT_FOOTER);
+        return prompt.toString();
+    }
+
+    private String buildBatchHeader(OfferSnapshot offer) {
+        return promptTemplateFor(offer).batchHeader;
+    }
+
+    private PromptTemplate promptTemplateFor(OfferSnapshot offer) {
+        PromptTemplate template = promptTemplate;
+        boolean structured = isStructuredOutput();
+        // Snapshots compare by content, so an unchanged offer loaded again keeps its template
+        if (template == null || !template.matches(offer, structured)) {
+            template = new PromptTemplate(offer, structured);
+            promptTemplate = template;
+        }
+        return template;
+    }
+
+    private static String buildBatchProspect(int id, Lead lead) {
+        StringBuilder prospect = new StringBuilder();
+        prospect.append("[").append(id).append("]\n");
+        appendProspect(prospect, lead);
+        return prospect.toString();
+    }
+
+    private static String buildBatchFooter() {
+        StringBuilder footer = new StringBuilder();
+
+        footer.append("TASK:\n");
+        footer.append("Classify each prospect's buying intent as High, Medium, or Low based on:\n");
+        appendCriteria(footer);
+
+        footer.append("RESPONSE FORMAT:\n");
+        footer.append("Respond with only a JSON array holding one object per prospect, using the prospect's number as id:\n");
+        footer.append("[{\"id\": 1, \"intent\": \"High/Medium/Low\", \"reasoning\": \"1-2 sentences explaining your classification\"}]\n\n");
+
+        footer.append("Be concise and focus on the most relevant factors for each product-prospect match.");
+
+        return footer.toString();
+    }
+
+    private static void appendOffer(StringBuilder prompt, OfferSnapshot offer) {
+        prompt.append("PRODUCT/OFFER:\n");
+        prompt.append("Name: ").append(offer.getName()).append("\n");
+        prompt.append("Value Propositions: ").append(String.join(", ", offer.getValueProps())).append("\n");
+        prompt.append("Ideal Use Cases: ").append(String.join(", ", offer.getIdealUseCases())).append("\n\n");
+    }
+
+    private static void appendProspect(StringBuilder prompt, Lead lead) {
+        prompt.append("Name: ").append(lead.getName()).append("\n");
+        prompt.append("Role: ").append(lead.getRole() != null ? lead.getRole() : "Not specified").append("\n");
+        prompt.append("Company: ").append(lead.getCompany() != null ? lead.getCompany() : "Not specified").append("\n");
+        prompt.append("Industry: ").append(lead.getIndustry() != null ? lead.getIndustry() : "Not specified").append("\n");
+        prompt.append("Location: ").append(lead.getLocation() != null ? lead.getLocation() : "Not specified").append("\n");
+        prompt.append("LinkedIn Bio: ").append(lead.getLinkedinBio() != null ? lead.getLinkedinBio() : "Not specified").append("\n");
+    }
+
+    private static void appendCriteria(StringBuilder prompt) {
+        prompt.append("1. Role relevance and decision-making authority\n");
+        prompt.append("2. Industry fit with the product's ideal use cases\n");
+        prompt.append("3. Company size and growth stage indicators\n");
+        prompt.append("4. Pain points mentioned in bio that align with value props\n");
+        prompt.append("5. Overall likelihood to purchase this type of solution\n\n");
+    }
+
+    // An answer that cannot be read is not a failed call: it is neither retried nor counted by the circuit breaker
+    private <T> Mono<T> callModel(String prompt, int maxOutputTokens, ResponseFormat format, AnswerReader<T> reader) {
+        // Checked before the governor too, so calls do not queue for rate limit tokens while the circuit is open
+        return circuitBreaker.<byte[]>whenPermitted(() -> callGovernor.execute(() -> circuitBreaker.execute(
+                () -> sendPrompt(prompt, maxOutputTokens, format).timeout(Duration.ofMillis(getRequestTimeoutMs())))))
+            .map(body -> readAnswer(body, reader));
+    }
+
+    // Streams through the response body up to the answer and hands the reader the parser's buffer of its text, so
+    // neither a tree of the response nor a String of the answer is built
+    private <T> T readAnswer(byte[] body, AnswerReader<T> reader) {
+        JsonPointerBasedFilter answerFilter = new JsonPointerBasedFilter(getAnswerPointer());
+        try (JsonParser parser = new FilteringParserDelegate(objectMapper.getFactory().createParser(body),
+                                                             answerFilter, TokenFilter.Inclusion.ONLY_INCLUDE_ALL,
+                                                             false)) {
+            if (parser.nextToken() == JsonToken.VALUE_STRING) {
+                return reader.read(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Unexpected " + name + " API response: "
+                                            + new String(body, StandardCharsets.UTF_8), e);
+        }
+        throw new IllegalStateException("Unexpected " + name + " API response: "
+                                        + new String(body, StandardCharsets.UTF_8));
+    }
+
+    // The schema guarantees the shape, so an answer that still does not fit fails the lead rather than reading as Low
+    private AIScoreResult readStructuredResult(char[] text, int offset, int length) {
+        AIScoreResult result;
+        try (JsonParser parser = objectMapper.getFactory().createParser(text, offset, length)) {
+            result = AIResultReader.readResult(parser);
+        } catch (IOException e) {
+            throw new AIScoringException("AI response is not valid JSON: " + new String(text, offset, length), e);
+        }
+        if (result == null) {
+            throw new AIScoringException("AI response has no valid intent: " + new String(text, offset, length));
+        }
+        logger.debug("Parsed intent: {}, reasoning: {}", result.getIntent(), result.getReasoning());
+        return result;
+    }
+
+    // Leads missing from an unreadable answer are retried individually, as in parseBatchResponse
+    private AIScoreResult[] readStructuredResults(char[] text, int offset, int length, int size) {
+        try (JsonParser parser = objectMapper.getFactory().createParser(text, offset, length)) {
+            return AIResultReader.readResults(parser, size);
+        } catch (IOException e) {
+            logger.warn("Failed to parse batch AI response: {}", new String(text, offset, length), e);
+            return new AIScoreResult[size];
+        }
+    }
+
+    // An answer without a recognisable intent fails the lead, as in readStructuredResult, rather than reading as Low;
+    // failures are not cached, so the lead is tried again on the next run
+    private AIScoreResult parseAIResponse(String response) {
+        logger.debug("Parsing AI response: {}", response);
+
+        IntentLevel intent = null;
+        String reasoning = AIResultReader.DEFAULT_REASONING;
+        for (String line : response.split("\n")) {
+            line = line.trim();
+            if (line.toLowerCase().startsWith("intent:")) {
+                intent = parseIntent(line.substring(line.indexOf(":") + 1));
+            } else if (line.toLowerCase().startsWith("reasoning:")) {
+                reasoning = line.substring(line.indexOf(":") + 1).trim();
+            }
+        }
+        if (intent == null) {
+            throw new AIScoringException("AI response has no valid intent: " + response);
+        }
+
+        if (reasoning.equals(AIResultReader.DEFAULT_REASONING) && response.length() > 50) {
+            reasoning = response.substring(0, Math.min(200, response.length())).trim();
+            if (reasoning.contains("\n")) {
+                reasoning = reasoning.substring(0, reasoning.indexOf("\n")).trim();
+            }
+        }
+
+        logger.debug("Parsed intent: {}, reasoning: {}", intent, reasoning);
+        return new AIScoreResult(intent, reasoning);
+    }
+
+    // Tolerates the brackets and emphasis of the answer template, but not an intent other than the three asked for
+    private static IntentLevel parseIntent(String value) {
+        String stripped = StringUtils.strip(value, " []*.");
+        for (IntentLevel intent : IntentLevel.values()) {
+            if (intent.getDisplayName().equalsIgnoreCase(stripped)) {
+                return intent;
+            }
+        }
+        return null;
+    }
+
+    // Reads the JSON array of a batch answer into results indexed by prospect number. Text around the array,
+    // such as a Markdown code fence, is ignored; entries with an unknown id or intent are treated as left out.
+    AIScoreResult[] parseBatchResponse(String response, int size) {
+        logger.debug("Parsing batch AI response: {}", response);
+
+        AIScoreResult[] results = new AIScoreResult[size];
+        Matcher arrayStart = BATCH_ARRAY_START.matcher(response);
+        int start = arrayStart.find() ? arrayStart.start() : -1;
+        int end = response.lastIndexOf(']');
+        if (start < 0 || end < start) {
+            logger.warn("No JSON array in batch AI response: {}", response);
+            return results;
+        }
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(response.substring(start, end + 1))) {
+            return AIResultReader.readResults(parser, size);
+        } catch (IOException e) {
+            logger.warn("Failed to parse batch AI response: {}", response, e);
+            return new AIScoreResult[size];
+        }
+    }
+
+    // What the API is asked to answer with
+    protected enum ResponseFormat {
+        // Free text: the intent and reasoning on lines of their own, or a JSON array for a batch
+        TEXT,
+        // A single {"intent", "reasoning"} object
+        RESULT,
+        // An array of {"id", "intent", "reasoning"} objects
+        RESULTS
+    }
+
+    @FunctionalInterface
+    private interface AnswerReader<T> {
+        T read(char[] text, int offset, int length) throws IOException;
+    }
+
+    // The parts of the prompts that only depend on the offer, rendered once per offer rather than once per lead
+    private static class PromptTemplate {
+        private final OfferSnapshot offer;
+        private final boolean structured;
+
+        private final String singlePrefix;
+        private final String singleSuffix;
+        private final String batchHeader;
+
+        PromptTemplate(OfferSnapshot offer, boolean structured) {
+            this.offer = offer;
+            this.structured = structured;
+
+            StringBuilder offerSection = new StringBuilder();
+            appendOffer(offerSection, offer);
+
+            StringBuilder prefix = new StringBuilder();
+            prefix.append("You are a lead qualification expert. Analyze this prospect and determine their buying intent for the given product/offer.\n\n");
+            prefix.append(offerSection);
+            prefix.append("PROSPECT:\n");
+            this.singlePrefix = prefix.toString();
+
+            StringBuilder suffix = new StringBuilder();
+            suffix.append("\n");
+            suffix.append("TASK:\n");
+            suffix.append("Classify this prospect's buying intent as High, Medium, or Low based on:\n");
+            appendCriteria(suffix);
+
+            suffix.append("RESPONSE FORMAT:\n");
+            if (structured) {
+                suffix.append("{\"intent\": \"High/Medium/Low\", \"reasoning\": \"1-2 sentences explaining your classification\"}\n\n");
+            } else {
+                suffix.append("Intent: [High/Medium/Low]\n");
+                suffix.append("Reasoning: [1-2 sentences explaining your classification]\n\n");
+            }
+
+            suffix.append("Be concise and focus on the most relevant factors for this specific product-prospect match.");
+            this.singleSuffix = suffix.toString();
+
+            StringBuilder header = new StringBuilder();
+            header.append("You are a lead qualification expert. Analyze each prospect below and determine their buying intent for the given product/offer.\n\n");
+            header.append(offerSection);
+            header.append("PROSPECTS:\n");
+            this.batchHeader = header.toString();
+        }
+
+        boolean matches(OfferSnapshot offer, boolean structured) {
+            return this.structured == structured && this.offer.equals(offer);
+        }
+
+        String render(Lead lead) {
+            StringBuilder prompt = new StringBuilder(singlePrefix.length() + singleSuffix.length() + 512);
+            prompt.append(singlePrefix);
+            appendProspect(prompt, lead);
+            prompt.append(singleSuffix);
+            return prompt.toString();
+        }
+    }
+
+    private static class PendingLead {
+        private final Lead lead;
+        private final String fingerprint;
+        private String prospect;
+        private volatile AIScoreResult result;
+        private volatile Throwable error;
+
+        PendingLead(Lead lead, String fingerprint) {
+            this.lead = lead;
+            this.fingerprint = fingerprint;
+        }
+
+        Mono<AIScoreResult> toResult() {
+            return error != null ? Mono.error(error) : Mono.just(result);
+        }
+    }
+
+}
@@ -1,100 +1,76 @@
 package com.leadqualification.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.leadqualification.entity.IntentLevel;
-import com.leadqualification.entity.Lead;
-import com.leadqualification.entity.Offer;
+import com.fasterxml.jackson.core.JsonPointer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 @Service
-public class GeminiService {
+public class GeminiService extends AbstractAIScoringProvider {
 
     private static final Logger logger = LoggerFactory.getLogger(GeminiService.class);
 
+    private static final JsonPointer ANSWER_POINTER = JsonPointer.compile("/candidates/0/content/parts/0/text");
+
+    private static final Map<String, Object> RESULT_SCHEMA = resultSchema(false);
+
+    private static final Map<String, Object> RESULTS_SCHEMA = Map.of(
+        "type", "ARRAY",
+        "items", resultSchema(true)
+    );
+
     @Value("${gemini.api.key}")
     private String apiKey;
 
     @Value("${gemini.api.base-url}")
     private String baseUrl;
 
-    @Value("${openai.api.max-tokens:150}")
+    @Value("${gemini.api.max-tokens:150}")
     private int maxTokens;
 
-    @Value("${openai.api.temperature:0.3}")
+    @Value("${gemini.api.temperature:0.3}")
     private double temperature;
 
-    private final RestTemplate restTemplate;
-    private final ObjectMapper objectMapper;
-
-    public GeminiService() {
-        this.restTemplate = new RestTemplate();
-        this.objectMapper = new ObjectMapper();
-    }
-
-    public AIScoreResult scoreLeadIntent(Lead lead, Offer offer) {
-        logger.info("Scoring lead intent using AI for: {}", lead.getName());
-
-        try {
-            String prompt = buildPrompt(lead, offer);
-            String response = callGemini(prompt);
-            return parseAIResponse(response);
-        } catch (Exception e) {
-            logger.error("Failed to score lead intent for: {}", lead.getName(), e);
-            return new AIScoreResult(IntentLevel.LOW, "AI scoring failed: " + e.getMessage());
-        }
-    }
-
-    private String buildPrompt(Lead lead, Offer offer) {
-        StringBuilder prompt = new StringBuilder();
+    @Value("${gemini.api.structured-output:true}")
+    private boolean structuredOutput;
 
-        prompt.append("You are a lead qualification expert. Analyze this prospect and determine their buying intent for the given product/offer.\n\n");
+    @Value("${gemini.http.request-timeout-ms:30000}")
+    private long requestTimeoutMs;
 
-        prompt.append("PRODUCT/OFFER:\n");
-        prompt.append("Name: ").append(offer.getName()).append("\n");
-        prompt.append("Value Propositions: ").append(String.join(", ", offer.getValueProps())).append("\n");
-        prompt.append("Ideal Use Cases: ").append(String.join(", ", offer.getIdealUseCases())).append("\n\n");
+    @Value("${gemini.batch.size:20}")
+    private int batchSize;
 
-        prompt.append("PROSPECT:\n");
-        prompt.append("Name: ").append(lead.getName()).append("\n");
-        prompt.append("Role: ").append(lead.getRole() != null ? lead.getRole() : "Not specified").append("\n");
-        prompt.append("Company: ").append(lead.getCompany() != null ? lead.getCompany() : "Not specified").append("\n");
-        prompt.append("Industry: ").append(lead.getIndustry() != null ? lead.getIndustry() : "Not specified").append("\n");
-        prompt.append("Location: ").append(lead.getLocation() != null ? lead.getLocation() : "Not specified").append("\n");
-        prompt.append("LinkedIn Bio: ").append(lead.getLinkedinBio() != null ? lead.getLinkedinBio() : "Not specified").append("\n\n");
+    @Value("${gemini.batch.max-prompt-tokens:8000}")
+    private int maxBatchPromptTokens;
 
-        prompt.append("TASK:\n");
-        prompt.append("Classify this prospect's buying intent as High, Medium, or Low based on:\n");
-        prompt.append("1. Role relevance and decision-making authority\n");
-        prompt.append("2. Industry fit with the product's ideal use cases\n");
-        prompt.append("3. Company size and growth stage indicators\n");
-        prompt.append("4. Pain points mentioned in bio that align with value props\n");
-        prompt.append("5. Overall likelihood to purchase this type of solution\n\n");
+    @Value("${gemini.batch.max-output-tokens:4096}")
+    private int maxBatchOutputTokens;
 
-        prompt.append("RESPONSE FORMAT:\n");
-        prompt.append("Intent: [High/Medium/Low]\n");
-        prompt.append("Reasoning: [1-2 sentences explaining your classification]\n\n");
+    private final WebClient webClient;
 
-        prompt.append("Be concise and focus on the most relevant factors for this specific product-prospect match.");
-
-        return prompt.toString();
+    @Autowired
+    public GeminiService(@Qualifier("geminiWebClient") WebClient webClient, AIResultCache aiResultCache,
+                         @Qualifier("geminiCallGovernor") AICallGovernor callGovernor,
+                         @Qualifier("geminiCircuitBreaker") AICircuitBreaker circuitBreaker) {
+        super("gemini", aiResultCache, callGovernor, circuitBreaker);
+        this.webClient = webClient;
     }
 
-    private String callGemini(String prompt) throws Exception {
+    @Override
+    protected Mono<byte[]> sendPrompt(String prompt, int maxOutputTokens, ResponseFormat format) {
         String url = baseUrl + "?key=" + apiKey;
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-
         Map<String, Object> requestBody = new HashMap<>();
         Map<String, Object> part = new HashMap<>();
         part.put("text", prompt);
@@ -103,78 +79,82 @@ public class GeminiService {
         requestBody.put("contents", List.of(content));
 
         Map<String, Object> generationConfig = new HashMap<>();
-        generationConfig.put("maxOutputTokens", maxTokens);
+        generationConfig.put("maxOutputTokens", maxOutputTokens);
         generationConfig.put("temperature", temperature);
+        if (format != ResponseFormat.TEXT) {
+            generationConfig.put("responseMimeType", "application/json");
+            generationConfig.put("responseSchema", format == ResponseFormat.RESULT ? RESULT_SCHEMA : RESULTS_SCHEMA);
+        }
         requestBody.put("generationConfig", generationConfig);
 
-        HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
-
         logger.debug("Sending request to Gemini API");
-        ResponseEntity<String> response = restTemplate.postForEntity(url, request, String.class);
-
-        if (response.getStatusCode() == HttpStatus.OK) {
-            JsonNode jsonResponse = objectMapper.readTree(response.getBody());
-            String contentResponse = jsonResponse.path("candidates").get(0).path("content").path("parts").get(0).path("text").asText();
-            logger.debug("Received response from Gemini API");
-            return contentResponse;
-        } else {
-            throw new RuntimeException("Gemini API call failed with status: " + response.getStatusCode() + ", Body: " + response.getBody());
-        }
+        return webClient.post()
+            .uri(url)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(requestBody)
+            .retrieve()
+            .bodyToMono(byte[].class)
+            .doOnNext(body -> logger.debug("Received response from Gemini API"));
     }
 
-    private AIScoreResult parseAIResponse(String response) {
-        logger.debug("Parsing AI response: {}", response);
-
-        try {
-            String[] lines = response.split("\n");
-            IntentLevel intent = IntentLevel.LOW;
-            String reasoning = "AI analysis completed";
-
-            for (String line : lines) {
-                line = line.trim();
-                if (line.toLowerCase().startsWith("intent:")) {
-                    String intentValue = line.substring(line.indexOf(":") + 1).trim();
-                    intent = IntentLevel.fromString(intentValue);
-                } else if (line.toLowerCase().startsWith("reasoning:")) {
-                    reasoning = line.substring(line.indexOf(":") + 1).trim();
-                }
-            }
-
-            if (reasoning.equals("AI analysis completed") && response.length() > 50) {
-                reasoning = response.substring(0, Math.min(200, response.length())).trim();
-                if (reasoning.contains("\n")) {
-                    reasoning = reasoning.substring(0, reasoning.indexOf("\n")).trim();
-                }
-            }
-
-            logger.debug("Parsed intent: {}, reasoning: {}", intent, reasoning);
-            return new AIScoreResult(intent, reasoning);
-
-        } catch (Exception e) {
-            logger.warn("Failed to parse AI response, using default values", e);
-            return new AIScoreResult(IntentLevel.LOW, "Failed to parse AI response: " + response);
+    private static Map<String, Object> resultSchema(boolean withId) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        if (withId) {
+            properties.put("id", Map.of("type", "INTEGER"));
         }
+        properties.put("intent", Map.of("type", "STRING", "format", "enum", "enum", List.of("High", "Medium", "Low")));
+        properties.put("reasoning", Map.of("type", "STRING"));
+
+        Map<String, Object> schema = new LinkedHashMap<>();
+        schema.put("type", "OBJECT");
+        schema.put("properties", properties);
+        schema.put("required", List.copyOf(properties.keySet()));
+        return schema;
     }
 
-    public static class AIScoreResult {
-        private final IntentLevel intent;
-        private final String reasoning;
+    @Override
+    protected JsonPointer getAnswerPointer() {
+        return ANSWER_POINTER;
+    }
 
-        public AIScoreResult(IntentLevel intent, String reasoning) {
-            this.intent = intent;
-            this.reasoning = reasoning;
-        }
+    @Override
+    protected boolean isStructuredOutput() {
+        return structuredOutput;
+    }
 
-        public IntentLevel getIntent() {
-            return intent;
-        }
+    // The model is part of the URL
+    @Override
+    protected String getModelKey() {
+        return baseUrl;
+    }
 
-        public String getReasoning() {
-            return reasoning;
-        }
+    @Override
+    protected int getMaxTokens() {
+        return maxTokens;
+    }
 
-        public int getScore() {
-            return intent.getAiScore();
-        }
+    @Override
+    protected double getTemperature() {
+        return temperature;
+    }
+
+    @Override
+    protected long getRequestTimeoutMs() {
+        return requestTimeoutMs;
+    }
+
+    @Override
+    protected int getMaxBatchSize() {
+        return batchSize;
+    }
+
+    @Override
+    protected int getMaxBatchPromptTokens() {
+        return maxBatchPromptTokens;
+    }
+
+    @Override
+    protected int getMaxBatchOutputTokens() {
+        return maxBatchOutputTokens;
     }
-}
\ No newline at end of file
+}
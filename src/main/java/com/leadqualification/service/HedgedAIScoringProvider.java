@@ -0,0 +1,190 @@
+package com.leadqualification.service;
+
+import com.leadqualification.entity.Lead;
+import com.leadqualification.exception.AIUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Supplier;
+
+// Asks a second provider too when the first has not answered within a percentile of its recent latencies, or has
+// already failed, and takes whichever answer comes first. Only the tail of slow calls pays for a second request.
+public class HedgedAIScoringProvider implements AIScoringProvider {
+
+    private static final Logger logger = LoggerFactory.getLogger(HedgedAIScoringProvider.class);
+
+    // Below this many samples the percentile says little, so the initial delay is used
+    private static final int MIN_SAMPLES = 20;
+
+    private final AIScoringProvider primary;
+    private final AIScoringProvider secondary;
+    private final double percentile;
+    private final long minDelayMs;
+    private final long initialDelayMs;
+
+    // Single and batch requests take very different times, so each gets its own percentile
+    private final LatencyWindow singleLatencies;
+    private final LatencyWindow batchLatencies;
+
+    private final Counter hedged;
+    private final Counter hedgeWins;
+
+    public HedgedAIScoringProvider(AIScoringProvider primary, AIScoringProvider secondary, double percentile,
+                                   long minDelayMs, long initialDelayMs, int windowSize,
+                                   MeterRegistry meterRegistry) {
+        if (percentile <= 0 || percentile > 100 || windowSize < MIN_SAMPLES) {
+            throw new IllegalArgumentException("Invalid hedging settings");
+        }
+        this.primary = primary;
+        this.secondary = secondary;
+        this.percentile = percentile;
+        this.minDelayMs = minDelayMs;
+        this.initialDelayMs = initialDelayMs;
+        this.singleLatencies = new LatencyWindow(windowSize);
+        this.batchLatencies = new LatencyWindow(windowSize);
+
+        this.hedged = Counter.builder("scoring.ai.hedge.sent")
+            .description("Requests also sent to " + secondary.getName())
+            .register(meterRegistry);
+        this.hedgeWins = Counter.builder("scoring.ai.hedge.won")
+            .description("Results taken from " + secondary.getName())
+            .register(meterRegistry);
+        Gauge.builder("scoring.ai.hedge.delay", this, provider -> provider.hedgeDelay(provider.singleLatencies).toMillis())
+            .baseUnit("milliseconds")
+            .register(meterRegistry);
+
+        logger.info("AI scoring hedged from {} to {} after the p{} latency", primary.getName(), secondary.getName(),
+                    percentile);
+    }
+
+    @Override
+    public String getName() {
+        return primary.getName() + "+" + secondary.getName();
+    }
+
+    @Override
+    public Mono<AIScoreResult> scoreLeadIntentAsync(Lead lead, OfferSnapshot offer) {
+        return hedge(primary.scoreLeadIntentAsync(lead, offer), singleLatencies,
+                     () -> secondary.scoreLeadIntentAsync(lead, offer));
+    }
+
+    // The secondary provider gets the whole batch once any of its leads is hedged
+    @Override
+    public List<Mono<AIScoreResult>> scoreLeadIntentsAsync(List<Lead> leads, OfferSnapshot offer) {
+        if (leads.size() == 1 || getBatchSize() == 1) {
+            return AIScoringProvider.super.scoreLeadIntentsAsync(leads, offer);
+        }
+
+        List<Mono<AIScoreResult>> primaryResults = primary.scoreLeadIntentsAsync(leads, offer);
+        Mono<List<Mono<AIScoreResult>>> secondaryResults =
+            Mono.fromSupplier(() -> secondary.scoreLeadIntentsAsync(leads, offer)).cache();
+
+        List<Mono<AIScoreResult>> results = new ArrayList<>(leads.size());
+        for (int i = 0; i < leads.size(); i++) {
+            int index = i;
+            results.add(hedge(primaryResults.get(index), batchLatencies,
+                              () -> secondaryResults.flatMap(secondaries -> secondaries.get(index))));
+        }
+        return results;
+    }
+
+    @Override
+    public int getBatchSize() {
+        return primary.getBatchSize();
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return primary.isAvailable() || secondary.isAvailable();
+    }
+
+    @Override
+    public void onRecovered(Runnable listener) {
+        primary.onRecovered(listener);
+        secondary.onRecovered(listener);
+    }
+
+    private Mono<AIScoreResult> hedge(Mono<AIScoreResult> primaryCall, LatencyWindow latencies,
+                                      Supplier<Mono<AIScoreResult>> secondaryCall) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            Sinks.Empty<Void> primaryFailed = Sinks.empty();
+
+            // A call cut short by the hedge still took at least this long, so it counts too. Cached results took no
+            // call, and counting them would pull the percentile down to the minimum delay on a warm cache.
+            Mono<AIScoreResult> first = primaryCall
+                .doOnSuccess(result -> {
+                    if (result != null && !result.isCached()) {
+                        latencies.record(System.nanoTime() - start);
+                    }
+                })
+                .doOnCancel(() -> latencies.record(System.nanoTime() - start))
+                .doOnError(error -> primaryFailed.tryEmitEmpty());
+
+            Mono<AIScoreResult> second = Mono.firstWithSignal(Mono.delay(hedgeDelay(latencies)).then(),
+                                                              primaryFailed.asMono())
+                .then(Mono.defer(() -> {
+                    hedged.increment();
+                    return secondaryCall.get();
+                }))
+                .doOnNext(result -> hedgeWins.increment());
+
+            return Mono.firstWithValue(first, second)
+                .onErrorMap(NoSuchElementException.class, HedgedAIScoringProvider::pickError);
+        });
+    }
+
+    // Both failed: report why, preferring a real failure over one provider merely being unavailable
+    private static Throwable pickError(NoSuchElementException allFailed) {
+        List<Throwable> errors = allFailed.getCause() != null ? Exceptions.unwrapMultiple(allFailed.getCause()) : List.of();
+        return errors.stream()
+            .filter(error -> !(error instanceof AIUnavailableException))
+            .findFirst()
+            .orElse(errors.isEmpty() ? allFailed : errors.get(0));
+    }
+
+    private Duration hedgeDelay(LatencyWindow latencies) {
+        long percentileNanos = latencies.percentile(percentile);
+        long delayMs = percentileNanos < 0 ? initialDelayMs : percentileNanos / 1_000_000;
+        return Duration.ofMillis(Math.max(minDelayMs, delayMs));
+    }
+
+    // The latest latencies, oldest overwritten first
+    private static class LatencyWindow {
+        private final long[] samples;
+        private int next;
+        private int count;
+
+        LatencyWindow(int size) {
+            this.samples = new long[size];
+        }
+
+        synchronized void record(long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+        }
+
+        // -1 until there are enough samples
+        synchronized long percentile(double percentile) {
+            if (count < MIN_SAMPLES) {
+                return -1;
+            }
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            int rank = (int) Math.ceil(percentile / 100 * count);
+            return sorted[Math.max(0, rank - 1)];
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.leadqualification.service;
+
+import com.leadqualification.entity.Lead;
+import com.leadqualification.util.CsvProcessor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.hibernate.exception.ConstraintViolationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+public class LeadBatchWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeadBatchWriter.class);
+
+    private static final String DEDUP_KEY_INDEX = "uk_leads_dedup_key";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public LeadBatchWriter(TransactionTemplate transactionTemplate) {
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public BatchResult write(List<CsvProcessor.LeadRecord> records) {
+        if (records.isEmpty()) {
+            return new BatchResult(0, List.of(), List.of());
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                int pending = 0;
+                for (CsvProcessor.LeadRecord record : records) {
+                    entityManager.persist(record.getLead());
+                    if (++pending % batchSize == 0) {
+                        entityManager.flush();
+                        entityManager.clear();
+                    }
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+            return new BatchResult(records.size(), List.of(), List.of());
+        } catch (Exception e) {
+            logger.warn("Batch insert of {} leads starting at line {} failed, retrying row by row: {}",
+                       records.size(), records.get(0).getLineNumber(), e.getMessage());
+            return writeRowByRow(records);
+        }
+    }
+
+    // A row whose key another upload stored since it was deduplicated is returned as a conflict rather than an error
+    private BatchResult writeRowByRow(List<CsvProcessor.LeadRecord> records) {
+        int successful = 0;
+        List<String> errors = new ArrayList<>();
+        List<CsvProcessor.LeadRecord> dedupKeyConflicts = new ArrayList<>();
+
+        for (CsvProcessor.LeadRecord record : records) {
+            Lead lead = record.getLead();
+            // The rolled back batch may already have assigned an identifier
+            lead.setId(null);
+            try {
+                transactionTemplate.executeWithoutResult(status -> entityManager.persist(lead));
+                successful++;
+            } catch (Exception e) {
+                lead.setId(null);
+                if (isDedupKeyConflict(e)) {
+                    logger.debug("Lead '{}' at line {} was stored by another upload", lead.getName(),
+                                 record.getLineNumber());
+                    dedupKeyConflicts.add(record);
+                    continue;
+                }
+                errors.add("Failed to save lead '" + lead.getName() + "' at line " +
+                           record.getLineNumber() + ": " + e.getMessage());
+                logger.error("Failed to save lead: {}", lead.getName(), e);
+            }
+        }
+
+        return new BatchResult(successful, errors, dedupKeyConflicts);
+    }
+
+    private static boolean isDedupKeyConflict(Exception e) {
+        ConstraintViolationException violation = ExceptionUtils.throwableOfType(e, ConstraintViolationException.class);
+        return violation != null && StringUtils.containsIgnoreCase(violation.getConstraintName(), DEDUP_KEY_INDEX);
+    }
+
+    public static class BatchResult {
+        private final int successful;
+        private final List<String> errors;
+        private final List<CsvProcessor.LeadRecord> dedupKeyConflicts;
+
+        public BatchResult(int successful, List<String> errors, List<CsvProcessor.LeadRecord> dedupKeyConflicts) {
+            this.successful = successful;
+            this.errors = errors;
+            this.dedupKeyConflicts = dedupKeyConflicts;
+        }
+
+        public int getSuccessful() {
+            return successful;
+        }
+
+        public List<String> getErrors() {
+            return errors;
+        }
+
+        public List<CsvProcessor.LeadRecord> getDedupKeyConflicts() {
+            return dedupKeyConflicts;
+        }
+    }
+}
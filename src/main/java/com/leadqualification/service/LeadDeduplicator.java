@@ -0,0 +1,319 @@
+package com.leadqualification.service;
+
+import com.leadqualification.entity.Lead;
+import com.leadqualification.entity.ScoringStatus;
+import com.leadqualification.repository.LeadRepository;
+import com.leadqualification.util.BloomFilter;
+import com.leadqualification.util.ContentHash;
+import com.leadqualification.util.CsvProcessor;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+// Finds the upload rows that repeat a stored lead, or an earlier row of the same upload, by a key built from
+// normalized lead fields. A Bloom filter of the stored keys answers most rows without a query; only the keys it
+// cannot rule out are looked up, through the unique index on dedup_key.
+@Component
+public class LeadDeduplicator {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeadDeduplicator.class);
+
+    public enum Policy {
+        // Leave the stored lead as it is
+        SKIP,
+        // Fill the stored lead's blank fields from the duplicate
+        MERGE,
+        // Overwrite the stored lead's fields with the duplicate's non-blank ones and, if any changed, reset its
+        // scores so the next scoring run picks it up
+        UPDATE
+    }
+
+    private static final Map<String, Function<Lead, String>> KEY_FIELDS = Map.of(
+        "name", Lead::getName,
+        "role", Lead::getRole,
+        "company", Lead::getCompany,
+        "industry", Lead::getIndustry,
+        "location", Lead::getLocation,
+        "linkedin_bio", Lead::getLinkedinBio
+    );
+
+    private final LeadRepository leadRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final Policy policy;
+    private final List<Function<Lead, String>> keyFields = new ArrayList<>();
+    private final double falsePositiveRate;
+
+    // Guarded by this. Built from the stored keys on the first upload, and again after bulk deletes, which it cannot
+    // forget keys for, or once it outgrows its size.
+    private BloomFilter knownKeys;
+    private long expectedLeads;
+
+    @Autowired
+    public LeadDeduplicator(LeadRepository leadRepository,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${file.upload.dedup.enabled:true}") boolean enabled,
+                            @Value("${file.upload.dedup.policy:skip}") String policy,
+                            @Value("${file.upload.dedup.key-fields:name,company}") List<String> keyFields,
+                            @Value("${file.upload.dedup.expected-leads:1000000}") long expectedLeads,
+                            @Value("${file.upload.dedup.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.leadRepository = leadRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.policy = Policy.valueOf(policy.trim().toUpperCase(Locale.ROOT));
+        this.expectedLeads = expectedLeads;
+        this.falsePositiveRate = falsePositiveRate;
+
+        for (String field : keyFields) {
+            Function<Lead, String> getter = KEY_FIELDS.get(field.trim().toLowerCase(Locale.ROOT));
+            if (getter == null) {
+                throw new IllegalArgumentException("Unknown deduplication key field: " + field);
+            }
+            this.keyFields.add(getter);
+        }
+        if (this.keyFields.isEmpty()) {
+            throw new IllegalArgumentException("No deduplication key fields configured");
+        }
+    }
+
+    public Policy getPolicy() {
+        return policy;
+    }
+
+    // Sets each lead's key and returns the rows to insert; every other row is applied to the lead it repeats
+    public Result deduplicate(List<CsvProcessor.LeadRecord> records) {
+        Result result = new Result();
+        if (!enabled) {
+            result.newRecords.addAll(records);
+            return result;
+        }
+
+        Map<String, Lead> newLeads = new HashMap<>();
+        Map<String, List<CsvProcessor.LeadRecord>> possiblyStored = new LinkedHashMap<>();
+        for (CsvProcessor.LeadRecord record : records) {
+            Lead lead = record.getLead();
+            String key = keyOf(lead);
+            lead.setDedupKey(key);
+
+            Lead earlier = newLeads.get(key);
+            if (earlier != null) {
+                result.record(apply(earlier, lead, false));
+            } else if (possiblyStored.containsKey(key) || mightBeStored(key)) {
+                possiblyStored.computeIfAbsent(key, k -> new ArrayList<>()).add(record);
+            } else {
+                newLeads.put(key, lead);
+                result.newRecords.add(record);
+            }
+        }
+
+        if (!possiblyStored.isEmpty()) {
+            result.newRecords.addAll(transactionTemplate.execute(status -> applyToStored(possiblyStored, result)));
+        }
+        return result;
+    }
+
+    // Rows deduplicated as new whose insert then hit the unique key, because a concurrent upload stored the same
+    // lead in between. They are applied to that lead under the policy and counted in result; returns the rows whose
+    // lead still cannot be found.
+    public List<CsvProcessor.LeadRecord> applyToConcurrentlyStored(List<CsvProcessor.LeadRecord> records,
+                                                                   Result result) {
+        if (records.isEmpty()) {
+            return List.of();
+        }
+        Map<String, List<CsvProcessor.LeadRecord>> byKey = new LinkedHashMap<>();
+        for (CsvProcessor.LeadRecord record : records) {
+            byKey.computeIfAbsent(record.getLead().getDedupKey(), k -> new ArrayList<>()).add(record);
+        }
+        return transactionTemplate.execute(status -> applyToStored(byKey, result));
+    }
+
+    // The leads are managed, so their changes are written when the transaction commits. Returns the first row of
+    // each key that is not stored, with the rest of its rows applied to it.
+    private List<CsvProcessor.LeadRecord> applyToStored(Map<String, List<CsvProcessor.LeadRecord>> possiblyStored,
+                                                        Result result) {
+        List<CsvProcessor.LeadRecord> notStored = new ArrayList<>();
+        Map<String, Lead> stored = new HashMap<>();
+        leadRepository.findByDedupKeyIn(possiblyStored.keySet()).forEach(lead -> stored.put(lead.getDedupKey(), lead));
+
+        int falsePositives = 0;
+        for (Map.Entry<String, List<CsvProcessor.LeadRecord>> entry : possiblyStored.entrySet()) {
+            List<CsvProcessor.LeadRecord> rows = entry.getValue();
+            Lead target = stored.get(entry.getKey());
+            boolean isStored = target != null;
+            int first = 0;
+            if (!isStored) {
+                falsePositives++;
+                notStored.add(rows.get(0));
+                target = rows.get(0).getLead();
+                first = 1;
+            }
+            for (int i = first; i < rows.size(); i++) {
+                result.record(apply(target, rows.get(i).getLead(), isStored));
+            }
+        }
+        logger.debug("Looked up {} possibly stored keys, {} were not", possiblyStored.size(), falsePositives);
+        return notStored;
+    }
+
+    private Outcome apply(Lead target, Lead duplicate, boolean stored) {
+        switch (policy) {
+            case MERGE:
+                return copyFields(duplicate, target, true) ? Outcome.MERGED : Outcome.SKIPPED;
+            case UPDATE:
+                if (!copyFields(duplicate, target, false)) {
+                    return Outcome.SKIPPED;
+                }
+                if (stored) {
+                    markForRescore(target);
+                }
+                return Outcome.UPDATED;
+            default:
+                return Outcome.SKIPPED;
+        }
+    }
+
+    // Copies the non-blank fields of from, only into blank ones when blanksOnly; true if target changed
+    private static boolean copyFields(Lead from, Lead target, boolean blanksOnly) {
+        boolean changed = copyField(from.getName(), target.getName(), target::setName, blanksOnly);
+        changed |= copyField(from.getRole(), target.getRole(), target::setRole, blanksOnly);
+        changed |= copyField(from.getCompany(), target.getCompany(), target::setCompany, blanksOnly);
+        changed |= copyField(from.getIndustry(), target.getIndustry(), target::setIndustry, blanksOnly);
+        changed |= copyField(from.getLocation(), target.getLocation(), target::setLocation, blanksOnly);
+        changed |= copyField(from.getLinkedinBio(), target.getLinkedinBio(), target::setLinkedinBio, blanksOnly);
+        return changed;
+    }
+
+    private static boolean copyField(String value, String current, Consumer<String> setter,
+                                     boolean blanksOnly) {
+        if (StringUtils.isBlank(value) || value.equals(current) || (blanksOnly && StringUtils.isNotBlank(current))) {
+            return false;
+        }
+        setter.accept(value);
+        return true;
+    }
+
+    // The same reset as a rescore, for one lead
+    private static void markForRescore(Lead lead) {
+        lead.setIsScored(false);
+        lead.setRuleScore(null);
+        lead.setAiScore(null);
+        lead.setTotalScore(null);
+        lead.setIntent(null);
+        lead.setReasoning(null);
+        lead.setAiReasoning(null);
+        lead.setScoringStatus(ScoringStatus.PENDING);
+        lead.setScoringError(null);
+    }
+
+    // Fields are trimmed, lower-cased and have their runs of whitespace collapsed before hashing
+    String keyOf(Lead lead) {
+        ContentHash hash = ContentHash.create();
+        for (Function<Lead, String> field : keyFields) {
+            String value = field.apply(lead);
+            hash.add(value != null ? StringUtils.normalizeSpace(value).toLowerCase(Locale.ROOT) : "");
+        }
+        return hash.toHex();
+    }
+
+    private synchronized boolean mightBeStored(String key) {
+        if (knownKeys == null) {
+            knownKeys = loadKnownKeys();
+        }
+        return knownKeys.mightContain(key);
+    }
+
+    private BloomFilter loadKnownKeys() {
+        BloomFilter filter = new BloomFilter(expectedLeads, falsePositiveRate);
+        Long count = readOnlyTransaction.execute(status -> {
+            long loaded = 0;
+            try (Stream<String> keys = leadRepository.streamDedupKeys()) {
+                Iterator<String> iterator = keys.iterator();
+                while (iterator.hasNext()) {
+                    filter.put(iterator.next());
+                    loaded++;
+                }
+            }
+            return loaded;
+        });
+        logger.info("Loaded {} lead keys for upload deduplication (sized for {})", count, expectedLeads);
+        return filter;
+    }
+
+    // After the new rows are written. A key whose row then failed to insert only costs a lookup later.
+    public synchronized void recordInserted(List<CsvProcessor.LeadRecord> records) {
+        if (!enabled || knownKeys == null) {
+            return;
+        }
+        records.forEach(record -> knownKeys.put(record.getLead().getDedupKey()));
+        if (knownKeys.isOverCapacity()) {
+            expectedLeads *= 2;
+            knownKeys = null;
+        }
+    }
+
+    public synchronized void invalidate() {
+        knownKeys = null;
+    }
+
+    private enum Outcome {
+        SKIPPED, MERGED, UPDATED
+    }
+
+    public static class Result {
+        private final List<CsvProcessor.LeadRecord> newRecords = new ArrayList<>();
+        private int skipped;
+        private int merged;
+        private int updated;
+
+        void record(Outcome outcome) {
+            switch (outcome) {
+                case MERGED:
+                    merged++;
+                    break;
+                case UPDATED:
+                    updated++;
+                    break;
+                default:
+                    skipped++;
+            }
+        }
+
+        public List<CsvProcessor.LeadRecord> getNewRecords() {
+            return newRecords;
+        }
+
+        public int getDuplicates() {
+            return skipped + merged + updated;
+        }
+
+        public int getSkipped() {
+            return skipped;
+        }
+
+        public int getMerged() {
+            return merged;
+        }
+
+        public int getUpdated() {
+            return updated;
+        }
+    }
+}
@@ -1,22 +1,41 @@
 package com.leadqualification.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.leadqualification.dto.LeadPage;
 import com.leadqualification.dto.LeadResponse;
 import com.leadqualification.dto.LeadUploadResponse;
 import com.leadqualification.entity.IntentLevel;
 import com.leadqualification.entity.Lead;
+import com.leadqualification.entity.ScoringStatus;
 import com.leadqualification.exception.ResourceNotFoundException;
 import com.leadqualification.repository.LeadRepository;
 import com.leadqualification.util.CsvProcessor;
+import com.leadqualification.util.LeadCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 
 @Service
 @Transactional
@@ -24,15 +43,43 @@ public class LeadService {
 
     private static final Logger logger = LoggerFactory.getLogger(LeadService.class);
 
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
     private final LeadRepository leadRepository;
     private final CsvProcessor csvProcessor;
+    private final LeadBatchWriter leadBatchWriter;
+    private final LeadDeduplicator leadDeduplicator;
+    private final LeadSummaryService leadSummaryService;
+    private final ObjectWriter leadWriter;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${file.upload.chunk-size:500}")
+    private int uploadChunkSize;
+
+    @Value("${file.upload.max-reported-errors:100}")
+    private int maxReportedErrors;
+
+    @Value("${pagination.default-size:100}")
+    private int defaultPageSize;
+
+    @Value("${pagination.max-size:1000}")
+    private int maxPageSize;
 
     @Autowired
-    public LeadService(LeadRepository leadRepository, CsvProcessor csvProcessor) {
+    public LeadService(LeadRepository leadRepository, CsvProcessor csvProcessor,
+                       LeadBatchWriter leadBatchWriter, LeadDeduplicator leadDeduplicator,
+                       LeadSummaryService leadSummaryService, ObjectMapper objectMapper) {
         this.leadRepository = leadRepository;
         this.csvProcessor = csvProcessor;
+        this.leadBatchWriter = leadBatchWriter;
+        this.leadDeduplicator = leadDeduplicator;
+        this.leadSummaryService = leadSummaryService;
+        this.leadWriter = objectMapper.writerFor(LeadResponse.class);
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public LeadUploadResponse uploadLeads(MultipartFile file) {
         logger.info("Processing lead upload: {}", file.getOriginalFilename());
 
@@ -40,66 +87,90 @@ public class LeadService {
             throw new IllegalArgumentException("Invalid file format. Please upload a CSV file.");
         }
 
-        List<String> errors = new ArrayList<>();
-        int successfulUploads = 0;
-        int totalLeads = 0;
+        UploadTally tally = new UploadTally(maxReportedErrors);
 
         try {
-            List<Lead> leads = csvProcessor.processLeadsCsv(file);
-            totalLeads = leads.size();
-
-            for (Lead lead : leads) {
-                try {
-                    leadRepository.save(lead);
-                    successfulUploads++;
-                } catch (Exception e) {
-                    errors.add("Failed to save lead '" + lead.getName() + "': " + e.getMessage());
-                    logger.error("Failed to save lead: {}", lead.getName(), e);
+            csvProcessor.streamLeadsCsv(file, uploadChunkSize, new CsvProcessor.LeadChunkHandler() {
+                @Override
+                public void onChunk(List<CsvProcessor.LeadRecord> chunk) {
+                    persistChunk(chunk, tally);
                 }
-            }
 
+                @Override
+                public void onInvalidRecord(int lineNumber, String reason) {
+                    tally.recordFailure("Line " + lineNumber + ": " + reason);
+                }
+            });
         } catch (Exception e) {
-            errors.add("Failed to process CSV file: " + e.getMessage());
+            tally.addError("Failed to process CSV file: " + e.getMessage());
             logger.error("Failed to process CSV file", e);
         }
 
-        int failedUploads = totalLeads - successfulUploads;
+        int duplicateLeads = tally.skippedDuplicates + tally.mergedLeads + tally.updatedLeads;
+        int failedUploads = tally.totalLeads - tally.successfulUploads - duplicateLeads;
         String message = String.format("Upload completed. %d successful, %d failed.", 
-                                      successfulUploads, failedUploads);
+                                      tally.successfulUploads, failedUploads);
+        if (duplicateLeads > 0) {
+            message += String.format(" %d duplicates: %d skipped, %d merged, %d updated for rescoring.",
+                                     duplicateLeads, tally.skippedDuplicates, tally.mergedLeads, tally.updatedLeads);
+        }
 
-        logger.info("Lead upload completed: {} successful, {} failed", successfulUploads, failedUploads);
+        logger.info("Lead upload completed: {} successful, {} failed, {} duplicates ({} policy)",
+                    tally.successfulUploads, failedUploads, duplicateLeads, leadDeduplicator.getPolicy());
 
-        return new LeadUploadResponse(message, totalLeads, successfulUploads, failedUploads, errors);
+        LeadUploadResponse response = new LeadUploadResponse(message, tally.totalLeads, tally.successfulUploads,
+                                                             failedUploads, tally.errors);
+        response.setDuplicateLeads(duplicateLeads);
+        response.setSkippedDuplicates(tally.skippedDuplicates);
+        response.setMergedLeads(tally.mergedLeads);
+        response.setUpdatedLeads(tally.updatedLeads);
+        return response;
+    }
+
+    // Duplicates are applied to the leads they repeat before the new rows are inserted, and so are the rows a
+    // concurrent upload stored first
+    private void persistChunk(List<CsvProcessor.LeadRecord> chunk, UploadTally tally) {
+        LeadDeduplicator.Result deduplicated = leadDeduplicator.deduplicate(chunk);
+        LeadBatchWriter.BatchResult result = leadBatchWriter.write(deduplicated.getNewRecords());
+        List<CsvProcessor.LeadRecord> unresolved =
+            leadDeduplicator.applyToConcurrentlyStored(result.getDedupKeyConflicts(), deduplicated);
+        leadDeduplicator.recordInserted(deduplicated.getNewRecords());
+        leadSummaryService.recordInserted(result.getSuccessful());
+        // Updated leads had their scores reset
+        if (deduplicated.getUpdated() > 0) {
+            leadSummaryService.invalidate();
+        }
+
+        tally.totalLeads += chunk.size();
+        tally.successfulUploads += result.getSuccessful();
+        tally.skippedDuplicates += deduplicated.getSkipped();
+        tally.mergedLeads += deduplicated.getMerged();
+        tally.updatedLeads += deduplicated.getUpdated();
+        result.getErrors().forEach(tally::addError);
+        unresolved.forEach(record -> tally.addError("Failed to save lead '" + record.getLead().getName() +
+                                                    "' at line " + record.getLineNumber() +
+                                                    ": its key is taken but the lead holding it was not found"));
     }
 
     @Transactional(readOnly = true)
     public List<LeadResponse> getAllLeads() {
         logger.info("Retrieving all leads");
 
-        return leadRepository.findAll()
-            .stream()
-            .map(LeadResponse::new)
-            .collect(Collectors.toList());
+        return leadRepository.findAllResponses();
     }
 
     @Transactional(readOnly = true)
     public List<LeadResponse> getScoredLeads() {
         logger.info("Retrieving scored leads");
 
-        return leadRepository.findByIsScoredOrderByTotalScoreDesc(true)
-            .stream()
-            .map(LeadResponse::new)
-            .collect(Collectors.toList());
+        return leadRepository.findScoredResponses();
     }
 
     @Transactional(readOnly = true)
     public List<LeadResponse> getUnscoredLeads() {
         logger.info("Retrieving unscored leads");
 
-        return leadRepository.findByIsScored(false)
-            .stream()
-            .map(LeadResponse::new)
-            .collect(Collectors.toList());
+        return leadRepository.findResponsesByIsScored(false);
     }
 
     @Transactional(readOnly = true)
@@ -117,71 +188,214 @@ public class LeadService {
         logger.info("Retrieving leads with intent level: {}", intentLevel);
 
         IntentLevel intent = IntentLevel.fromString(intentLevel);
-        return leadRepository.findByIntent(intent)
-            .stream()
-            .map(LeadResponse::new)
-            .collect(Collectors.toList());
+        return leadRepository.findResponsesByIntent(intent);
     }
 
     @Transactional(readOnly = true)
-    public String exportLeadsAsCsv() {
-        logger.info("Exporting all leads as CSV");
+    public LeadPage getLeadsPage(String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        List<LeadResponse> leads = leadRepository.findPageAfterId(afterId(cursor), PageRequest.of(0, pageSize + 1));
+        return toIdPage(leads, pageSize);
+    }
 
-        List<Lead> leads = leadRepository.findAll();
-        return csvProcessor.generateCsvContent(leads);
+    @Transactional(readOnly = true)
+    public LeadPage getUnscoredLeadsPage(String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        List<LeadResponse> leads = leadRepository.findPageByIsScoredAfterId(false, afterId(cursor),
+                                                                             PageRequest.of(0, pageSize + 1));
+        return toIdPage(leads, pageSize);
     }
 
     @Transactional(readOnly = true)
-    public String exportScoredLeadsAsCsv() {
-        logger.info("Exporting scored leads as CSV");
+    public LeadPage getLeadsByIntentPage(String intentLevel, String cursor, Integer size) {
+        IntentLevel intent = IntentLevel.fromString(intentLevel);
+        LeadCursor after = afterScore(cursor);
+        int pageSize = resolvePageSize(size);
+        List<LeadResponse> leads = leadRepository.findPageByIntentAfter(
+            intent, after.getScore(), after.getId(), PageRequest.of(0, pageSize + 1));
+        return toScorePage(leads, pageSize);
+    }
 
-        List<Lead> leads = leadRepository.findByIsScored(true);
-        return csvProcessor.generateCsvContent(leads);
+    @Transactional(readOnly = true)
+    public LeadPage getScoredLeadsPage(String cursor, Integer size) {
+        LeadCursor after = afterScore(cursor);
+        int pageSize = resolvePageSize(size);
+        List<LeadResponse> leads = leadRepository.findScoredPageAfter(
+            after.getScore(), after.getId(), PageRequest.of(0, pageSize + 1));
+        return toScorePage(leads, pageSize);
     }
 
-    public void updateLeadScoring(Long leadId, Integer ruleScore, Integer aiScore, 
-                                 IntentLevel intent, String reasoning) {
-        logger.info("Updating scoring for lead ID: {}", leadId);
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return Math.min(defaultPageSize, maxPageSize);
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        return Math.min(size, maxPageSize);
+    }
 
-        Lead lead = leadRepository.findById(leadId)
-            .orElseThrow(() -> new ResourceNotFoundException("Lead not found with ID: " + leadId));
+    private long afterId(String cursor) {
+        LeadCursor after = LeadCursor.decode(cursor);
+        if (after == null) {
+            return 0L;
+        }
+        if (after.isScoreCursor()) {
+            throw new IllegalArgumentException("Cursor does not belong to this listing: " + cursor);
+        }
+        return after.getId();
+    }
 
-        lead.setRuleScore(ruleScore);
-        lead.setAiScore(aiScore);
-        lead.setTotalScore(ruleScore + aiScore);
-        lead.setIntent(intent);
-        lead.setReasoning(reasoning);
-        lead.setIsScored(true);
+    private LeadCursor afterScore(String cursor) {
+        LeadCursor after = LeadCursor.decode(cursor);
+        if (after == null) {
+            return LeadCursor.afterScore(Integer.MAX_VALUE, Long.MAX_VALUE);
+        }
+        if (!after.isScoreCursor()) {
+            throw new IllegalArgumentException("Cursor does not belong to this listing: " + cursor);
+        }
+        return after;
+    }
 
-        leadRepository.save(lead);
-        logger.info("Lead scoring updated successfully for ID: {}", leadId);
+    private LeadPage toIdPage(List<LeadResponse> leads, int pageSize) {
+        boolean hasMore = leads.size() > pageSize;
+        List<LeadResponse> page = hasMore ? leads.subList(0, pageSize) : leads;
+        String nextCursor = hasMore ? LeadCursor.afterId(page.get(page.size() - 1).getId()).encode() : null;
+        return new LeadPage(page, hasMore, nextCursor);
+    }
+
+    // Score pages run highest score first; ties are ordered by id so every row has a unique cursor position
+    private LeadPage toScorePage(List<LeadResponse> leads, int pageSize) {
+        boolean hasMore = leads.size() > pageSize;
+        List<LeadResponse> page = hasMore ? leads.subList(0, pageSize) : leads;
+        String nextCursor = null;
+        if (hasMore) {
+            LeadResponse last = page.get(page.size() - 1);
+            nextCursor = LeadCursor.afterScore(last.getScore(), last.getId()).encode();
+        }
+        return new LeadPage(page, hasMore, nextCursor);
+    }
+
+    // Writes one JSON object per line while the rows are read, so memory use does not grow with the table
+    @Transactional(readOnly = true)
+    public long streamLeadsAsNdjson(boolean scoredOnly, OutputStream outputStream) throws IOException {
+        logger.info("Streaming {} leads as NDJSON", scoredOnly ? "scored" : "all");
+
+        OutputStream out = new BufferedOutputStream(outputStream, STREAM_BUFFER_SIZE);
+        long count = streamLeads(scoredOnly, lead -> {
+            out.write(leadWriter.writeValueAsBytes(new LeadResponse(lead)));
+            out.write('\n');
+        });
+        out.flush();
+
+        logger.info("Streamed {} leads", count);
+        return count;
+    }
+
+    @Transactional(readOnly = true)
+    public long streamLeadsAsCsv(boolean scoredOnly, boolean gzip, OutputStream outputStream) throws IOException {
+        logger.info("Exporting {} leads as CSV{}", scoredOnly ? "scored" : "all", gzip ? " (gzip)" : "");
+
+        GZIPOutputStream gzipStream = gzip ? new GZIPOutputStream(outputStream, STREAM_BUFFER_SIZE) : null;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(
+            gzipStream != null ? gzipStream : outputStream, StandardCharsets.UTF_8), STREAM_BUFFER_SIZE);
+
+        csvProcessor.writeCsvHeader(writer);
+        long count = streamLeads(scoredOnly, lead -> csvProcessor.writeCsvRow(writer, lead));
+        writer.flush();
+        if (gzipStream != null) {
+            gzipStream.finish();
+        }
+
+        logger.info("Exported {} leads as CSV", count);
+        return count;
+    }
+
+    // Rows come from a database cursor read in fetch-size chunks and are detached once written, so the
+    // persistence context does not grow with the table
+    private long streamLeads(boolean scoredOnly, LeadRowWriter rowWriter) throws IOException {
+        long count = 0;
+        try (Stream<Lead> leads = scoredOnly ? leadRepository.streamScored() : leadRepository.streamAll()) {
+            Iterator<Lead> iterator = leads.iterator();
+            while (iterator.hasNext()) {
+                Lead lead = iterator.next();
+                rowWriter.write(lead);
+                entityManager.detach(lead);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // Committed on their own so the score writer's updates to the same rows are not blocked or overwritten
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int resetAllScoring() {
+        int reset = leadRepository.resetAllScoring(ScoringStatus.PENDING);
+        leadSummaryService.invalidate();
+        logger.info("Reset scoring for all {} leads", reset);
+        return reset;
+    }
+
+    // The reset leads are marked RESCORE_PENDING, so the rescore can find exactly them once their intent is gone
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int resetScoringByIntent(IntentLevel intent) {
+        int reset = leadRepository.resetScoringByIntent(intent, ScoringStatus.RESCORE_PENDING);
+        leadSummaryService.invalidate();
+        logger.info("Reset scoring for {} leads with intent level: {}", reset, intent);
+        return reset;
     }
 
     public void clearAllLeads() {
         logger.info("Clearing all leads");
         leadRepository.deleteAll();
+        leadSummaryService.invalidate();
+        leadDeduplicator.invalidate();
         logger.info("All leads cleared successfully");
     }
 
     public void clearUnscoredLeads() {
         logger.info("Clearing unscored leads");
         leadRepository.deleteAllByIsScored(false);
+        leadSummaryService.invalidate();
+        leadDeduplicator.invalidate();
         logger.info("Unscored leads cleared successfully");
     }
 
-    @Transactional(readOnly = true)
-    public long getTotalLeadsCount() {
-        return leadRepository.count();
+    private interface LeadRowWriter {
+        void write(Lead lead) throws IOException;
     }
 
-    @Transactional(readOnly = true)
-    public long getScoredLeadsCount() {
-        return leadRepository.countScoredLeads();
-    }
+    private static class UploadTally {
+        private final int maxErrors;
+        private final List<String> errors = new ArrayList<>();
+        private int totalLeads;
+        private int successfulUploads;
+        private int skippedDuplicates;
+        private int mergedLeads;
+        private int updatedLeads;
+        private int suppressedErrors;
+
+        UploadTally(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
 
-    @Transactional(readOnly = true)
-    public long getHighIntentLeadsCount() {
-        return leadRepository.countByIntent(IntentLevel.HIGH);
+        void recordFailure(String error) {
+            totalLeads++;
+            addError(error);
+        }
+
+        void addError(String error) {
+            if (errors.size() < maxErrors) {
+                errors.add(error);
+                return;
+            }
+            suppressedErrors++;
+            String summary = "... " + suppressedErrors + " more errors omitted";
+            if (errors.size() > maxErrors) {
+                errors.set(maxErrors, summary);
+            } else {
+                errors.add(summary);
+            }
+        }
     }
 }
-
@@ -0,0 +1,188 @@
+package com.leadqualification.service;
+
+import com.leadqualification.dto.LeadSummaryResponse;
+import com.leadqualification.entity.IntentLevel;
+import com.leadqualification.entity.Lead;
+import com.leadqualification.repository.LeadRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class LeadSummaryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeadSummaryService.class);
+
+    private static final int BUCKET_WIDTH = 10;
+    private static final int BUCKET_COUNT = 10;
+
+    private final LeadRepository leadRepository;
+    private final boolean countersEnabled;
+
+    // Built from the aggregate query on first read and kept current by record* calls; null means rebuild
+    private volatile Counters counters;
+
+    @Autowired
+    public LeadSummaryService(LeadRepository leadRepository,
+                              @Value("${results.summary.mode:query}") String mode) {
+        this.leadRepository = leadRepository;
+        this.countersEnabled = parseMode(mode);
+    }
+
+    @Transactional(readOnly = true)
+    public LeadSummaryResponse getSummary() {
+        return getSummary(false);
+    }
+
+    @Transactional(readOnly = true)
+    public LeadSummaryResponse getSummary(boolean refresh) {
+        if (!countersEnabled) {
+            return load().toResponse();
+        }
+
+        Counters current = counters;
+        if (current == null || refresh) {
+            current = load();
+            counters = current;
+        }
+        return current.toResponse();
+    }
+
+    public boolean isCountersEnabled() {
+        return countersEnabled;
+    }
+
+    public void recordInserted(int count) {
+        Counters current = counters;
+        if (current != null && count > 0) {
+            current.addInserted(count);
+        }
+    }
+
+    // lead carries the state it was read with, before the new scores were written
+    public void recordScored(Lead lead, int totalScore, IntentLevel intent) {
+        Counters current = counters;
+        if (current != null) {
+            current.replaceScore(Boolean.TRUE.equals(lead.getIsScored()), lead.getTotalScore(), lead.getIntent(),
+                                 totalScore, intent);
+        }
+    }
+
+    // Bulk deletes and resets are not tracked row by row; the counters are rebuilt on the next read once the
+    // change is visible to it
+    public void invalidate() {
+        if (!countersEnabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    counters = null;
+                }
+            });
+        } else {
+            counters = null;
+        }
+    }
+
+    private Counters load() {
+        Counters loaded = new Counters();
+        for (LeadRepository.SummaryRow row : leadRepository.summarize()) {
+            loaded.add(row);
+        }
+        logger.debug("Loaded results summary: {} leads, {} scored", loaded.total, loaded.scored);
+        return loaded;
+    }
+
+    private static boolean parseMode(String mode) {
+        switch (mode.trim().toLowerCase()) {
+            case "query":
+                return false;
+            case "counters":
+                return true;
+            default:
+                throw new IllegalArgumentException("Unknown results.summary.mode: " + mode);
+        }
+    }
+
+    private static int bucketOf(int score) {
+        return Math.max(0, Math.min(score / BUCKET_WIDTH, BUCKET_COUNT - 1));
+    }
+
+    private static class Counters {
+        private long total;
+        private long scored;
+        private final long[] intents = new long[IntentLevel.values().length];
+        private final long[] histogram = new long[BUCKET_COUNT];
+        private long scoreCount;
+        private long scoreSum;
+
+        void add(LeadRepository.SummaryRow row) {
+            long leads = row.getLeads();
+            total += leads;
+            if (row.getIntent() != null) {
+                intents[row.getIntent().ordinal()] += leads;
+            }
+            if (Boolean.TRUE.equals(row.getIsScored())) {
+                scored += leads;
+                if (row.getBucket() != null) {
+                    histogram[bucketOf(row.getBucket() * BUCKET_WIDTH)] += leads;
+                    scoreCount += leads;
+                    scoreSum += row.getScoreSum();
+                }
+            }
+        }
+
+        synchronized void addInserted(int count) {
+            total += count;
+        }
+
+        synchronized void replaceScore(boolean wasScored, Integer oldScore, IntentLevel oldIntent,
+                                       int newScore, IntentLevel newIntent) {
+            if (oldIntent != null) {
+                intents[oldIntent.ordinal()]--;
+            }
+            if (wasScored && oldScore != null) {
+                histogram[bucketOf(oldScore)]--;
+                scoreCount--;
+                scoreSum -= oldScore;
+            }
+            if (!wasScored) {
+                scored++;
+            }
+
+            if (newIntent != null) {
+                intents[newIntent.ordinal()]++;
+            }
+            histogram[bucketOf(newScore)]++;
+            scoreCount++;
+            scoreSum += newScore;
+        }
+
+        synchronized LeadSummaryResponse toResponse() {
+            List<LeadSummaryResponse.ScoreBucket> buckets = new ArrayList<>(BUCKET_COUNT);
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                int from = i * BUCKET_WIDTH;
+                // the last bucket also holds the maximum score
+                int to = i == BUCKET_COUNT - 1 ? BUCKET_COUNT * BUCKET_WIDTH : from + BUCKET_WIDTH - 1;
+                buckets.add(new LeadSummaryResponse.ScoreBucket(from, to, histogram[i]));
+            }
+            Double averageScore = scoreCount > 0 ? (double) scoreSum / scoreCount : null;
+
+            return new LeadSummaryResponse(total, scored,
+                                           intents[IntentLevel.HIGH.ordinal()],
+                                           intents[IntentLevel.MEDIUM.ordinal()],
+                                           intents[IntentLevel.LOW.ordinal()],
+                                           averageScore, buckets);
+        }
+    }
+}
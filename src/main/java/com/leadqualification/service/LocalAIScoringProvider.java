@@ -0,0 +1,130 @@
+package com.leadqualification.service;
+
+import com.leadqualification.entity.IntentLevel;
+import com.leadqualification.entity.Lead;
+import com.leadqualification.util.KeywordMatcher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+// Classifies intent with a fixed heuristic instead of a model: the same lead and offer always get the same answer,
+// without network calls. Meant for tests, demos and load-testing the scoring pipeline offline.
+@Service
+public class LocalAIScoringProvider implements AIScoringProvider {
+
+    private static final Set<String> AUTHORITY_ROLES = Set.of(
+        "ceo", "cto", "cfo", "coo", "founder", "owner", "president", "chief", "vp", "vice president",
+        "head of", "director"
+    );
+
+    private static final KeywordMatcher AUTHORITY_MATCHER = KeywordMatcher.compile(AUTHORITY_ROLES);
+
+    // Words shorter than this are too generic to signal fit
+    private static final int MIN_TERM_LENGTH = 4;
+
+    @Value("${scoring.ai.local.latency-ms:0}")
+    private long latencyMs;
+
+    // Leads handed over per call, to exercise the batch path of a scoring run
+    @Value("${scoring.ai.local.batch-size:1}")
+    private int batchSize;
+
+    private volatile OfferTerms offerTerms;
+
+    @Override
+    public String getName() {
+        return "local";
+    }
+
+    @Override
+    public Mono<AIScoreResult> scoreLeadIntentAsync(Lead lead, OfferSnapshot offer) {
+        Mono<AIScoreResult> result = Mono.fromSupplier(() -> classify(lead, offer));
+        return latencyMs > 0 ? result.delaySubscription(Duration.ofMillis(latencyMs)) : result;
+    }
+
+    @Override
+    public int getBatchSize() {
+        return Math.max(1, batchSize);
+    }
+
+    AIScoreResult classify(Lead lead, OfferSnapshot offer) {
+        String role = lead.getRole() != null ? lead.getRole().toLowerCase(Locale.ROOT) : "";
+        String authority = AUTHORITY_MATCHER.findFirst(role);
+
+        Set<String> profileWords = new LinkedHashSet<>();
+        for (String field : new String[] {lead.getIndustry(), lead.getCompany(), lead.getLinkedinBio()}) {
+            profileWords.addAll(words(field));
+        }
+        List<String> matchedTerms = termsFor(offer).findIn(profileWords);
+
+        IntentLevel intent;
+        if (authority != null && matchedTerms.size() >= 2) {
+            intent = IntentLevel.HIGH;
+        } else if (authority != null || !matchedTerms.isEmpty()) {
+            intent = IntentLevel.MEDIUM;
+        } else {
+            intent = IntentLevel.LOW;
+        }
+
+        StringBuilder reasoning = new StringBuilder("Local heuristic: ");
+        reasoning.append(authority != null ? "decision-making role (" + authority + ")" : "no decision-making role");
+        reasoning.append(matchedTerms.isEmpty()
+            ? ", no overlap with the offer."
+            : ", profile mentions " + String.join(", ", matchedTerms) + ".");
+        return new AIScoreResult(intent, reasoning.toString());
+    }
+
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.length() >= MIN_TERM_LENGTH) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private OfferTerms termsFor(OfferSnapshot offer) {
+        OfferTerms terms = offerTerms;
+        // Snapshots compare by content, so an unchanged offer loaded again keeps its terms
+        if (terms == null || !terms.offer.equals(offer)) {
+            terms = new OfferTerms(offer);
+            offerTerms = terms;
+        }
+        return terms;
+    }
+
+    // The distinct words of an offer's value propositions and ideal use cases
+    private static class OfferTerms {
+        private final OfferSnapshot offer;
+        private final Set<String> terms = new LinkedHashSet<>();
+
+        OfferTerms(OfferSnapshot offer) {
+            this.offer = offer;
+
+            offer.getValueProps().forEach(phrase -> terms.addAll(words(phrase)));
+            offer.getIdealUseCases().forEach(phrase -> terms.addAll(words(phrase)));
+        }
+
+        // In the order the words appear
+        List<String> findIn(Set<String> words) {
+            List<String> found = new ArrayList<>();
+            for (String word : words) {
+                if (terms.contains(word)) {
+                    found.add(word);
+                }
+            }
+            return found;
+        }
+    }
+}
@@ -21,10 +21,12 @@ public class OfferService {
     private static final Logger logger = LoggerFactory.getLogger(OfferService.class);
 
     private final OfferRepository offerRepository;
+    private final OfferSnapshotCache offerSnapshotCache;
 
     @Autowired
-    public OfferService(OfferRepository offerRepository) {
+    public OfferService(OfferRepository offerRepository, OfferSnapshotCache offerSnapshotCache) {
         this.offerRepository = offerRepository;
+        this.offerSnapshotCache = offerSnapshotCache;
     }
 
     public OfferResponse createOffer(OfferRequest request) {
@@ -37,6 +39,7 @@ public class OfferService {
         );
 
         Offer savedOffer = offerRepository.save(offer);
+        offerSnapshotCache.replaceAfterCommit(OfferSnapshot.of(savedOffer));
         logger.info("Offer created successfully with ID: {}", savedOffer.getId());
 
         return new OfferResponse(savedOffer);
@@ -83,6 +86,8 @@ public class OfferService {
         offer.setIdealUseCases(request.getIdealUseCases());
 
         Offer updatedOffer = offerRepository.save(offer);
+        // Its new update time makes it the latest offer
+        offerSnapshotCache.replaceAfterCommit(OfferSnapshot.of(updatedOffer));
         logger.info("Offer updated successfully with ID: {}", updatedOffer.getId());
 
         return new OfferResponse(updatedOffer);
@@ -96,6 +101,7 @@ public class OfferService {
         }
 
         offerRepository.deleteById(id);
+        offerSnapshotCache.invalidateAfterCommit();
         logger.info("Offer deleted successfully with ID: {}", id);
     }
 }
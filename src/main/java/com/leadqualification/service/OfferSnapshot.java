@@ -0,0 +1,80 @@
+package com.leadqualification.service;
+
+import com.leadqualification.entity.Offer;
+import com.leadqualification.util.ContentHash;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+// An immutable copy of an offer, safe to share between scoring threads without a persistence context. Equality
+// is by content: two snapshots that score leads the same way are equal whatever their ids.
+public final class OfferSnapshot {
+    private final Long id;
+    private final String name;
+    private final List<String> valueProps;
+    private final List<String> idealUseCases;
+    // Fingerprint of the content, stored with each lead scored against it
+    private final long version;
+
+    public OfferSnapshot(Long id, String name, List<String> valueProps, List<String> idealUseCases) {
+        this.id = id;
+        this.name = name;
+        this.valueProps = copyOf(valueProps);
+        this.idealUseCases = copyOf(idealUseCases);
+        this.version = ContentHash.create()
+            .add(name)
+            .addAll(this.valueProps)
+            .addAll(this.idealUseCases)
+            .toLong();
+    }
+
+    // Reads the offer's collections, so call it while they can still be loaded
+    public static OfferSnapshot of(Offer offer) {
+        return new OfferSnapshot(offer.getId(), offer.getName(), offer.getValueProps(), offer.getIdealUseCases());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<String> getValueProps() {
+        return valueProps;
+    }
+
+    public List<String> getIdealUseCases() {
+        return idealUseCases;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof OfferSnapshot)) {
+            return false;
+        }
+        OfferSnapshot snapshot = (OfferSnapshot) other;
+        return Objects.equals(name, snapshot.name)
+            && valueProps.equals(snapshot.valueProps)
+            && idealUseCases.equals(snapshot.idealUseCases);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, valueProps, idealUseCases);
+    }
+
+    private static List<String> copyOf(List<String> values) {
+        return values != null ? Collections.unmodifiableList(new ArrayList<>(values)) : List.of();
+    }
+}
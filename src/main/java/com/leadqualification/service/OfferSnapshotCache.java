@@ -0,0 +1,74 @@
+package com.leadqualification.service;
+
+import com.leadqualification.repository.OfferRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+
+// Holds the latest offer in memory so scoring does not query the offer and its collections for every run or lead.
+// OfferService replaces or drops it once its changes commit; it is loaded on first use after a restart or a drop.
+@Component
+public class OfferSnapshotCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(OfferSnapshotCache.class);
+
+    private final OfferRepository offerRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    // Null until loaded; empty while there is no offer
+    private volatile Optional<OfferSnapshot> latest;
+
+    @Autowired
+    public OfferSnapshotCache(OfferRepository offerRepository, TransactionTemplate transactionTemplate) {
+        this.offerRepository = offerRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public Optional<OfferSnapshot> getLatest() {
+        Optional<OfferSnapshot> snapshot = latest;
+        return snapshot != null ? snapshot : load();
+    }
+
+    // Makes the offer the latest once the current transaction commits
+    public void replaceAfterCommit(OfferSnapshot offer) {
+        afterCommit(() -> replace(Optional.of(offer)));
+    }
+
+    // The latest offer is read again on next use once the current transaction commits
+    public void invalidateAfterCommit() {
+        afterCommit(() -> replace(null));
+    }
+
+    // Changes wait for a load in progress, so a load that started before them cannot overwrite them
+    private synchronized Optional<OfferSnapshot> load() {
+        if (latest == null) {
+            latest = readOnlyTransaction.execute(status -> offerRepository.findLatestOffer().map(OfferSnapshot::of));
+            logger.debug("Loaded latest offer: {}", latest.map(OfferSnapshot::getName).orElse("none"));
+        }
+        return latest;
+    }
+
+    private synchronized void replace(Optional<OfferSnapshot> snapshot) {
+        latest = snapshot;
+    }
+
+    private void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+}
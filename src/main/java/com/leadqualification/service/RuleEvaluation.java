@@ -0,0 +1,129 @@
+package com.leadqualification.service;
+
+public class RuleEvaluation {
+
+    public static final int MAX_RULE_SCORE = 50;
+
+    public enum RoleMatch {
+        DECISION_MAKER("decision maker"),
+        INFLUENCER("influencer"),
+        NONE(null);
+
+        private final String label;
+
+        RoleMatch(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    public enum IndustryMatch {
+        EXACT("exact"),
+        ADJACENT("adjacent"),
+        NONE(null);
+
+        private final String label;
+
+        IndustryMatch(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private final RoleMatch roleMatch;
+    private final String roleKeyword;
+    private final int rolePoints;
+    private final IndustryMatch industryMatch;
+    private final String industryKeyword;
+    private final int industryPoints;
+    private final int filledFields;
+    private final int completenessPoints;
+    private final int totalScore;
+
+    public RuleEvaluation(RoleMatch roleMatch, String roleKeyword, int rolePoints,
+                          IndustryMatch industryMatch, String industryKeyword, int industryPoints,
+                          int filledFields, int completenessPoints) {
+        this.roleMatch = roleMatch;
+        this.roleKeyword = roleKeyword;
+        this.rolePoints = rolePoints;
+        this.industryMatch = industryMatch;
+        this.industryKeyword = industryKeyword;
+        this.industryPoints = industryPoints;
+        this.filledFields = filledFields;
+        this.completenessPoints = completenessPoints;
+        this.totalScore = Math.min(rolePoints + industryPoints + completenessPoints, MAX_RULE_SCORE);
+    }
+
+    public RoleMatch getRoleMatch() {
+        return roleMatch;
+    }
+
+    public String getRoleKeyword() {
+        return roleKeyword;
+    }
+
+    public int getRolePoints() {
+        return rolePoints;
+    }
+
+    public IndustryMatch getIndustryMatch() {
+        return industryMatch;
+    }
+
+    public String getIndustryKeyword() {
+        return industryKeyword;
+    }
+
+    public int getIndustryPoints() {
+        return industryPoints;
+    }
+
+    public int getFilledFields() {
+        return filledFields;
+    }
+
+    public int getCompletenessPoints() {
+        return completenessPoints;
+    }
+
+    public int getTotalScore() {
+        return totalScore;
+    }
+
+    // Not kept: scoring reads it once per lead, to persist it in the lead's reasoning
+    public String getExplanation() {
+        return renderExplanation(totalScore);
+    }
+
+    public String renderExplanation(int score) {
+        StringBuilder text = new StringBuilder(128).append("Rule-based scoring breakdown: ");
+        int breakdownStart = text.length();
+
+        if (rolePoints > 0) {
+            text.append("Role (").append(roleMatch.getLabel()).append(") +").append(rolePoints);
+        }
+        if (industryPoints > 0) {
+            appendSeparator(text, breakdownStart);
+            text.append("Industry (").append(industryMatch.getLabel()).append(" match) +").append(industryPoints);
+        }
+        if (completenessPoints > 0) {
+            appendSeparator(text, breakdownStart);
+            text.append("Complete data +").append(completenessPoints);
+        }
+
+        return text.append(". Total rule score: ").append(score).append('/').append(MAX_RULE_SCORE).append('.')
+            .toString();
+    }
+
+    private static void appendSeparator(StringBuilder text, int breakdownStart) {
+        if (text.length() > breakdownStart) {
+            text.append(", ");
+        }
+    }
+}
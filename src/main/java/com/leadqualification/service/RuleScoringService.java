@@ -1,16 +1,20 @@
 package com.leadqualification.service;
 
 import com.leadqualification.entity.Lead;
-import com.leadqualification.entity.Offer;
+import com.leadqualification.util.ContentHash;
+import com.leadqualification.util.KeywordMatcher;
+import com.leadqualification.util.SubstringIndex;
+import jakarta.annotation.PostConstruct;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.TreeSet;
 
 @Service
 public class RuleScoringService {
@@ -55,95 +59,123 @@ public class RuleScoringService {
         "education", "media", "telecommunications", "professional services"
     );
 
-    public int calculateRuleScore(Lead lead, Offer offer) {
-        logger.debug("Calculating rule score for lead: {}", lead.getName());
-
-        int totalScore = 0;
-
-        totalScore += calculateRoleScore(lead.getRole());
-        totalScore += calculateIndustryScore(lead.getIndustry(), offer);
-        totalScore += calculateDataCompletenessScore(lead);
+    private static final KeywordMatcher DECISION_MAKER_MATCHER = KeywordMatcher.compile(DECISION_MAKER_ROLES);
+    private static final KeywordMatcher INFLUENCER_MATCHER = KeywordMatcher.compile(INFLUENCER_ROLES);
+    private static final KeywordMatcher SAAS_INDUSTRY_MATCHER = KeywordMatcher.compile(SAAS_INDUSTRIES);
+    private static final KeywordMatcher ADJACENT_INDUSTRY_MATCHER = KeywordMatcher.compile(ADJACENT_INDUSTRIES);
+
+    private static final int TOTAL_FIELDS = 6;
+
+    private volatile UseCaseIndex useCaseIndex;
+
+    private long version;
+
+    // Changes with any weight or keyword, so leads scored under other rules can be told apart
+    @PostConstruct
+    public void init() {
+        version = ContentHash.create()
+            .add(decisionMakerScore)
+            .add(influencerScore)
+            .add(exactIndustryMatchScore)
+            .add(adjacentIndustryMatchScore)
+            .add(dataCompletenessScore)
+            .add(TOTAL_FIELDS)
+            .add(RuleEvaluation.MAX_RULE_SCORE)
+            // Set.of iterates in a different order on every run
+            .addAll(new TreeSet<>(DECISION_MAKER_ROLES))
+            .addAll(new TreeSet<>(INFLUENCER_ROLES))
+            .addAll(new TreeSet<>(SAAS_INDUSTRIES))
+            .addAll(new TreeSet<>(ADJACENT_INDUSTRIES))
+            .toLong();
+    }
 
-        logger.debug("Rule score for lead {}: {}", lead.getName(), totalScore);
-        return Math.min(totalScore, 50);
+    public long getVersion() {
+        return version;
     }
 
-    private int calculateRoleScore(String role) {
-        if (StringUtils.isBlank(role)) {
-            return 0;
+    public RuleEvaluation evaluate(Lead lead, OfferSnapshot offer) {
+        logger.debug("Evaluating rules for lead: {}", lead.getName());
+
+        RuleEvaluation.RoleMatch roleMatch = RuleEvaluation.RoleMatch.NONE;
+        String roleKeyword = null;
+        int rolePoints = 0;
+
+        String role = lead.getRole();
+        if (StringUtils.isNotBlank(role)) {
+            String normalizedRole = role.toLowerCase().trim();
+            if ((roleKeyword = DECISION_MAKER_MATCHER.findFirst(normalizedRole)) != null) {
+                roleMatch = RuleEvaluation.RoleMatch.DECISION_MAKER;
+                rolePoints = decisionMakerScore;
+            } else if ((roleKeyword = INFLUENCER_MATCHER.findFirst(normalizedRole)) != null) {
+                roleMatch = RuleEvaluation.RoleMatch.INFLUENCER;
+                rolePoints = influencerScore;
+            }
+            logger.debug("Role '{}' matched as {} via '{}' (+{})", role, roleMatch, roleKeyword, rolePoints);
         }
 
-        String normalizedRole = role.toLowerCase().trim();
-
-        if (DECISION_MAKER_ROLES.stream().anyMatch(normalizedRole::contains)) {
-            logger.debug("Role '{}' identified as decision maker (+{})", role, decisionMakerScore);
-            return decisionMakerScore;
+        RuleEvaluation.IndustryMatch industryMatch = RuleEvaluation.IndustryMatch.NONE;
+        String industryKeyword = null;
+        int industryPoints = 0;
+
+        String industry = lead.getIndustry();
+        if (StringUtils.isNotBlank(industry)) {
+            String normalizedIndustry = industry.toLowerCase().trim();
+            if ((industryKeyword = findExactIndustryMatch(normalizedIndustry, offer)) != null) {
+                industryMatch = RuleEvaluation.IndustryMatch.EXACT;
+                industryPoints = exactIndustryMatchScore;
+            } else if ((industryKeyword = ADJACENT_INDUSTRY_MATCHER.findFirst(normalizedIndustry)) != null) {
+                industryMatch = RuleEvaluation.IndustryMatch.ADJACENT;
+                industryPoints = adjacentIndustryMatchScore;
+            }
+            logger.debug("Industry '{}' matched as {} via '{}' (+{})",
+                        industry, industryMatch, industryKeyword, industryPoints);
         }
 
-        if (INFLUENCER_ROLES.stream().anyMatch(normalizedRole::contains)) {
-            logger.debug("Role '{}' identified as influencer (+{})", role, influencerScore);
-            return influencerScore;
-        }
+        int filledFields = countFilledFields(lead);
+        int completenessPoints = filledFields == TOTAL_FIELDS ? dataCompletenessScore : 0;
+        logger.debug("Data completeness for lead {}: {}/{} fields (+{})",
+                    lead.getName(), filledFields, TOTAL_FIELDS, completenessPoints);
 
-        logger.debug("Role '{}' not recognized as decision maker or influencer (+0)", role);
-        return 0;
+        RuleEvaluation evaluation = new RuleEvaluation(roleMatch, roleKeyword, rolePoints,
+                                                       industryMatch, industryKeyword, industryPoints,
+                                                       filledFields, completenessPoints);
+        logger.debug("Rule score for lead {}: {}", lead.getName(), evaluation.getTotalScore());
+        return evaluation;
     }
 
-    private int calculateIndustryScore(String industry, Offer offer) {
-        if (StringUtils.isBlank(industry)) {
-            return 0;
-        }
-
-        String normalizedIndustry = industry.toLowerCase().trim();
-
-        if (isExactIndustryMatch(normalizedIndustry, offer)) {
-            logger.debug("Industry '{}' is exact match for offer (+{})", industry, exactIndustryMatchScore);
-            return exactIndustryMatchScore;
-        }
-
-        if (isAdjacentIndustryMatch(normalizedIndustry)) {
-            logger.debug("Industry '{}' is adjacent match (+{})", industry, adjacentIndustryMatchScore);
-            return adjacentIndustryMatchScore;
-        }
+    public int calculateRuleScore(Lead lead, OfferSnapshot offer) {
+        return evaluate(lead, offer).getTotalScore();
+    }
 
-        logger.debug("Industry '{}' has no match (+0)", industry);
-        return 0;
+    public String generateRuleExplanation(Lead lead, OfferSnapshot offer, int score) {
+        return evaluate(lead, offer).renderExplanation(score);
     }
 
-    private boolean isExactIndustryMatch(String industry, Offer offer) {
-        if (SAAS_INDUSTRIES.stream().anyMatch(industry::contains)) {
-            return true;
+    private String findExactIndustryMatch(String industry, OfferSnapshot offer) {
+        String keyword = SAAS_INDUSTRY_MATCHER.findFirst(industry);
+        if (keyword != null) {
+            return keyword;
         }
 
         if (offer != null && offer.getIdealUseCases() != null) {
-            return offer.getIdealUseCases().stream()
-                .anyMatch(useCase -> {
-                    String normalizedUseCase = useCase.toLowerCase();
-                    return normalizedUseCase.contains(industry) || 
-                           industry.contains(normalizedUseCase) ||
-                           hasKeywordOverlap(industry, normalizedUseCase);
-                });
+            return useCaseIndexFor(offer.getIdealUseCases()).findMatch(industry);
         }
 
-        return false;
-    }
-
-    private boolean isAdjacentIndustryMatch(String industry) {
-        return ADJACENT_INDUSTRIES.stream().anyMatch(industry::contains);
+        return null;
     }
 
-    private boolean hasKeywordOverlap(String industry, String useCase) {
-        List<String> industryWords = Arrays.asList(industry.split("\\s+"));
-        List<String> useCaseWords = Arrays.asList(useCase.split("\\s+"));
-
-        return industryWords.stream()
-            .anyMatch(word -> word.length() > 3 && 
-                     useCaseWords.stream().anyMatch(ucWord -> ucWord.contains(word)));
+    private UseCaseIndex useCaseIndexFor(List<String> useCases) {
+        UseCaseIndex index = useCaseIndex;
+        // Compare by content: the offer may be a different instance, or edited since the index was built
+        if (index == null || !index.useCases.equals(useCases)) {
+            index = new UseCaseIndex(useCases);
+            useCaseIndex = index;
+        }
+        return index;
     }
 
-    private int calculateDataCompletenessScore(Lead lead) {
+    private static int countFilledFields(Lead lead) {
         int filledFields = 0;
-        int totalFields = 6;
 
         if (StringUtils.isNotBlank(lead.getName())) filledFields++;
         if (StringUtils.isNotBlank(lead.getRole())) filledFields++;
@@ -152,46 +184,90 @@ public class RuleScoringService {
         if (StringUtils.isNotBlank(lead.getLocation())) filledFields++;
         if (StringUtils.isNotBlank(lead.getLinkedinBio())) filledFields++;
 
-        if (filledFields == totalFields) {
-            logger.debug("All fields present for lead {} (+{})", lead.getName(), dataCompletenessScore);
-            return dataCompletenessScore;
-        }
-
-        logger.debug("Data completeness for lead {}: {}/{} fields (+0)", 
-                    lead.getName(), filledFields, totalFields);
-        return 0;
+        return filledFields;
     }
 
-    public String generateRuleExplanation(Lead lead, Offer offer, int score) {
-        StringBuilder explanation = new StringBuilder();
-        
-        int roleScore = calculateRoleScore(lead.getRole());
-        int industryScore = calculateIndustryScore(lead.getIndustry(), offer);
-        int completenessScore = calculateDataCompletenessScore(lead);
-
-        explanation.append("Rule-based scoring breakdown: ");
-        
-        if (roleScore > 0) {
-            String roleType = roleScore == decisionMakerScore ? "decision maker" : "influencer";
-            explanation.append(String.format("Role (%s) +%d, ", roleType, roleScore));
-        }
-        
-        if (industryScore > 0) {
-            String matchType = industryScore == exactIndustryMatchScore ? "exact" : "adjacent";
-            explanation.append(String.format("Industry (%s match) +%d, ", matchType, industryScore));
+    // Matches an industry against an offer's ideal use cases: the use case contains the industry, the
+    // industry contains the use case, or a word of the industry longer than 3 characters appears in
+    // a word of the use case.
+    private static class UseCaseIndex {
+        private static final char SEPARATOR = '\0';
+
+        private final List<String> useCases;
+        private final List<String> normalizedUseCases;
+        private final KeywordMatcher useCaseMatcher;
+        private final SubstringIndex useCaseText;
+
+        UseCaseIndex(List<String> useCases) {
+            this.useCases = new ArrayList<>(useCases);
+
+            this.normalizedUseCases = new ArrayList<>(useCases.size());
+            StringBuilder text = new StringBuilder();
+            for (String useCase : useCases) {
+                if (useCase == null) {
+                    continue;
+                }
+                String normalizedUseCase = useCase.toLowerCase();
+                normalizedUseCases.add(normalizedUseCase);
+                text.append(normalizedUseCase).append(SEPARATOR);
+            }
+
+            this.useCaseMatcher = KeywordMatcher.compile(normalizedUseCases);
+            this.useCaseText = SubstringIndex.of(text.toString());
         }
-        
-        if (completenessScore > 0) {
-            explanation.append(String.format("Complete data +%d, ", completenessScore));
+
+        // Returns the matched use case, or the part of the industry found inside one; null if none match
+        String findMatch(String industry) {
+            if (useCases.isEmpty()) {
+                return null;
+            }
+
+            String useCase = useCaseMatcher.findFirst(industry);
+            if (useCase != null) {
+                return useCase;
+            }
+
+            if (industry.indexOf(SEPARATOR) >= 0) {
+                return findMatchInEachUseCase(industry);
+            }
+
+            // A query without separators can only occur inside a single use case, and one without
+            // whitespace only inside a single word of it
+
+            if (useCaseText.contains(industry)) {
+                return industry;
+            }
+
+            int wordStart = 0;
+            for (int i = 0; i <= industry.length(); i++) {
+                if (i == industry.length() || isRegexWhitespace(industry.charAt(i))) {
+                    if (i - wordStart > 3 && useCaseText.contains(industry, wordStart, i)) {
+                        return industry.substring(wordStart, i);
+                    }
+                    wordStart = i + 1;
+                }
+            }
+            return null;
         }
 
-        if (explanation.toString().endsWith(", ")) {
-            explanation.setLength(explanation.length() - 2);
+        private String findMatchInEachUseCase(String industry) {
+            String[] industryWords = industry.split("\\s+");
+            for (String useCase : normalizedUseCases) {
+                if (useCase.contains(industry)) {
+                    return industry;
+                }
+                for (String word : industryWords) {
+                    if (word.length() > 3 && useCase.contains(word)) {
+                        return word;
+                    }
+                }
+            }
+            return null;
         }
 
-        explanation.append(String.format(". Total rule score: %d/50.", score));
-        
-        return explanation.toString();
+        // Same character class as \s in java.util.regex
+        private static boolean isRegexWhitespace(char c) {
+            return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+        }
     }
 }
-
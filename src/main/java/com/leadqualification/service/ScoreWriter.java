@@ -0,0 +1,355 @@
+package com.leadqualification.service;
+
+import com.leadqualification.entity.IntentLevel;
+import com.leadqualification.entity.ScoringStatus;
+import com.leadqualification.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class ScoreWriter implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScoreWriter.class);
+
+    private static final String UPDATE_SCORES_SQL =
+        "UPDATE leads SET rule_score = ?, ai_score = ?, total_score = ?, intent = ?, reasoning = ?, " +
+        "ai_reasoning = ?, input_hash = ?, offer_version = ?, rules_version = ?, " +
+        "is_scored = TRUE, scoring_status = 'SCORED', scoring_error = NULL, updated_at = ? WHERE id = ?";
+
+    // The rule score stands in for the total until the AI part is back-filled
+    private static final String UPDATE_RULE_SCORE_SQL =
+        "UPDATE leads SET rule_score = ?, ai_score = NULL, total_score = ?, intent = NULL, reasoning = ?, " +
+        "ai_reasoning = NULL, is_scored = TRUE, scoring_status = 'AI_PENDING', scoring_error = NULL, " +
+        "updated_at = ? WHERE id = ?";
+
+    // Leaves the scores alone: an unscored lead stays unscored so the next scoring run picks it up again
+    private static final String MARK_FAILED_SQL =
+        "UPDATE leads SET scoring_status = 'FAILED', scoring_error = ?, updated_at = ? WHERE id = ?";
+
+    @Value("${scoring.writer.batch-size:200}")
+    private int batchSize;
+
+    @Value("${scoring.writer.queue-capacity:5000}")
+    private int queueCapacity;
+
+    @Value("${scoring.writer.shutdown-timeout-seconds:30}")
+    private long shutdownTimeoutSeconds;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private BlockingQueue<PendingUpdate> queue;
+    private Thread writerThread;
+    private volatile boolean running;
+
+    @Autowired
+    public ScoreWriter(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                       MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        queue = new LinkedBlockingQueue<>(queueCapacity);
+        running = true;
+
+        writerThread = new Thread(this::drainQueue, "score-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+
+        Gauge.builder("scoring.writer.queued", queue, BlockingQueue::size)
+            .description("Scored leads waiting to be written back")
+            .register(meterRegistry);
+
+        logger.info("Score writer started with batch size {} and queue capacity {}", batchSize, queueCapacity);
+    }
+
+    // Completes once the update is committed; blocks the caller while the queue is full
+    public CompletableFuture<Void> submit(ScoreUpdate update) {
+        PendingUpdate pending = new PendingUpdate(update);
+        if (!running) {
+            pending.future.completeExceptionally(new IllegalStateException("Score writer is shut down"));
+            return pending.future;
+        }
+
+        try {
+            queue.put(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.future.completeExceptionally(e);
+        }
+        return pending.future;
+    }
+
+    private void drainQueue() {
+        List<PendingUpdate> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingUpdate first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                // Never let one bad batch stop the writer; its futures must still complete
+                logger.error("Unexpected error writing back {} lead scores", batch.size(), e);
+                batch.forEach(pending -> pending.future.completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingUpdate> batch) {
+        Timestamp updatedAt = new Timestamp(System.currentTimeMillis());
+        // One JDBC batch per statement, all in one transaction
+        Map<ScoringStatus, List<PendingUpdate>> byStatus = new EnumMap<>(ScoringStatus.class);
+        batch.forEach(pending -> byStatus.computeIfAbsent(pending.update.getStatus(),
+                                                          status -> new ArrayList<>()).add(pending));
+
+        Map<ScoringStatus, int[][]> updateCounts;
+        try {
+            updateCounts = transactionTemplate.execute(status -> {
+                Map<ScoringStatus, int[][]> counts = new EnumMap<>(ScoringStatus.class);
+                byStatus.forEach((scoringStatus, updates) -> counts.put(scoringStatus, batchUpdate(updates, updatedAt)));
+                return counts;
+            });
+        } catch (Exception e) {
+            logger.warn("Bulk score update of {} leads failed, retrying row by row: {}", batch.size(), e.getMessage());
+            batch.forEach(pending -> flushSingle(pending, updatedAt));
+            return;
+        }
+
+        byStatus.forEach((scoringStatus, updates) -> {
+            int[] rowCounts = updateCounts.get(scoringStatus)[0];
+            for (int i = 0; i < updates.size(); i++) {
+                complete(updates.get(i), rowCounts[i]);
+            }
+        });
+    }
+
+    private int[][] batchUpdate(List<PendingUpdate> updates, Timestamp updatedAt) {
+        return jdbcTemplate.batchUpdate(sqlFor(updates.get(0).update), updates, updates.size(),
+                                        (ps, pending) -> bind(ps, pending.update, updatedAt));
+    }
+
+    private void flushSingle(PendingUpdate pending, Timestamp updatedAt) {
+        try {
+            Integer updated = transactionTemplate.execute(status -> jdbcTemplate.update(
+                sqlFor(pending.update), ps -> bind(ps, pending.update, updatedAt)));
+            complete(pending, updated != null ? updated : 0);
+        } catch (Exception e) {
+            logger.error("Failed to write back score for lead ID: {}", pending.update.getLeadId(), e);
+            pending.future.completeExceptionally(e);
+        }
+    }
+
+    private void complete(PendingUpdate pending, int updateCount) {
+        // Drivers that do not track per-row batch counts report Statement.SUCCESS_NO_INFO (-2)
+        if (updateCount == 0) {
+            pending.future.completeExceptionally(
+                new ResourceNotFoundException("Lead not found with ID: " + pending.update.getLeadId()));
+        } else {
+            pending.future.complete(null);
+        }
+    }
+
+    private static String sqlFor(ScoreUpdate update) {
+        switch (update.getStatus()) {
+            case FAILED:
+                return MARK_FAILED_SQL;
+            case AI_PENDING:
+                return UPDATE_RULE_SCORE_SQL;
+            default:
+                return UPDATE_SCORES_SQL;
+        }
+    }
+
+    private static void bind(PreparedStatement ps, ScoreUpdate update, Timestamp updatedAt) throws SQLException {
+        if (update.isFailed()) {
+            ps.setString(1, update.getError());
+            ps.setTimestamp(2, updatedAt);
+            ps.setLong(3, update.getLeadId());
+            return;
+        }
+        if (update.isAiPending()) {
+            ps.setInt(1, update.getRuleScore());
+            ps.setInt(2, update.getTotalScore());
+            ps.setString(3, update.getReasoning());
+            ps.setTimestamp(4, updatedAt);
+            ps.setLong(5, update.getLeadId());
+            return;
+        }
+        ps.setInt(1, update.getRuleScore());
+        ps.setInt(2, update.getAiScore());
+        ps.setInt(3, update.getTotalScore());
+        ps.setString(4, update.getIntent() != null ? update.getIntent().name() : null);
+        ps.setString(5, update.getReasoning());
+        ps.setString(6, update.getAiReasoning());
+        ps.setObject(7, update.getInputHash(), Types.BIGINT);
+        ps.setObject(8, update.getOfferVersion(), Types.BIGINT);
+        ps.setObject(9, update.getRulesVersion(), Types.BIGINT);
+        ps.setTimestamp(10, updatedAt);
+        ps.setLong(11, update.getLeadId());
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        writerThread.join(TimeUnit.SECONDS.toMillis(shutdownTimeoutSeconds));
+
+        List<PendingUpdate> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        if (!abandoned.isEmpty()) {
+            logger.warn("Score writer stopped with {} unwritten lead scores", abandoned.size());
+            abandoned.forEach(pending -> pending.future.completeExceptionally(
+                new IllegalStateException("Score writer is shut down")));
+        }
+    }
+
+    private static class PendingUpdate {
+        private final ScoreUpdate update;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        PendingUpdate(ScoreUpdate update) {
+            this.update = update;
+        }
+    }
+
+    public static class ScoreUpdate {
+        private final Long leadId;
+        private final ScoringStatus status;
+        private final int ruleScore;
+        private final int aiScore;
+        private final IntentLevel intent;
+        private final String reasoning;
+        private final String error;
+        private final String aiReasoning;
+        private final Long inputHash;
+        private final Long offerVersion;
+        private final Long rulesVersion;
+
+        public ScoreUpdate(Long leadId, int ruleScore, int aiScore, IntentLevel intent, String reasoning) {
+            this(leadId, ScoringStatus.SCORED, ruleScore, aiScore, intent, reasoning, null, null, null, null, null);
+        }
+
+        private ScoreUpdate(Long leadId, ScoringStatus status, int ruleScore, int aiScore, IntentLevel intent,
+                            String reasoning, String error, String aiReasoning, Long inputHash, Long offerVersion,
+                            Long rulesVersion) {
+            this.leadId = leadId;
+            this.status = status;
+            this.ruleScore = ruleScore;
+            this.aiScore = aiScore;
+            this.intent = intent;
+            this.reasoning = reasoning;
+            this.error = error;
+            this.aiReasoning = aiReasoning;
+            this.inputHash = inputHash;
+            this.offerVersion = offerVersion;
+            this.rulesVersion = rulesVersion;
+        }
+
+        // Records what the scores were computed from, for incremental rescoring
+        public ScoreUpdate withInputs(String aiReasoning, long inputHash, long offerVersion, long rulesVersion) {
+            return new ScoreUpdate(leadId, status, ruleScore, aiScore, intent, reasoning, error, aiReasoning,
+                                   inputHash, offerVersion, rulesVersion);
+        }
+
+        // Scores the lead by its rules alone, leaving the AI part to be back-filled
+        public static ScoreUpdate ruleOnly(Long leadId, int ruleScore, String reasoning) {
+            return new ScoreUpdate(leadId, ScoringStatus.AI_PENDING, ruleScore, 0, null, reasoning, null, null, null,
+                                   null, null);
+        }
+
+        // Records that the lead could not be scored, without touching its scores
+        public static ScoreUpdate failed(Long leadId, String error) {
+            return new ScoreUpdate(leadId, ScoringStatus.FAILED, 0, 0, null, null, error, null, null, null, null);
+        }
+
+        public Long getLeadId() {
+            return leadId;
+        }
+
+        public ScoringStatus getStatus() {
+            return status;
+        }
+
+        public int getRuleScore() {
+            return ruleScore;
+        }
+
+        public int getAiScore() {
+            return aiScore;
+        }
+
+        public int getTotalScore() {
+            return ruleScore + aiScore;
+        }
+
+        public IntentLevel getIntent() {
+            return intent;
+        }
+
+        public String getReasoning() {
+            return reasoning;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public String getAiReasoning() {
+            return aiReasoning;
+        }
+
+        public Long getInputHash() {
+            return inputHash;
+        }
+
+        public Long getOfferVersion() {
+            return offerVersion;
+        }
+
+        public Long getRulesVersion() {
+            return rulesVersion;
+        }
+
+        public boolean isFailed() {
+            return status == ScoringStatus.FAILED;
+        }
+
+        public boolean isAiPending() {
+            return status == ScoringStatus.AI_PENDING;
+        }
+    }
+}
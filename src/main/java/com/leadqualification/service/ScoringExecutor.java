@@ -0,0 +1,181 @@
+package com.leadqualification.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@Component
+public class ScoringExecutor implements Executor, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScoringExecutor.class);
+
+    public static final String MODE_PLATFORM = "platform";
+    public static final String MODE_VIRTUAL = "virtual";
+
+    @Value("${scoring.executor.mode:platform}")
+    private String mode;
+
+    @Value("${scoring.executor.pool-size:5}")
+    private int poolSize;
+
+    @Value("${scoring.executor.max-in-flight:100}")
+    private int maxInFlight;
+
+    @Value("${scoring.executor.shutdown-timeout-seconds:30}")
+    private long shutdownTimeoutSeconds;
+
+    private final MeterRegistry meterRegistry;
+    private final AtomicInteger activeTasks = new AtomicInteger();
+    private final AtomicInteger inFlightTasks = new AtomicInteger();
+    private final Executor workers = this::runOnWorker;
+
+    private ExecutorService delegate;
+    private Semaphore permits;
+    private String effectiveMode;
+
+    @Autowired
+    public ScoringExecutor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        permits = new Semaphore(maxInFlight);
+        delegate = MODE_VIRTUAL.equalsIgnoreCase(mode) ? createVirtualThreadExecutor() : null;
+        effectiveMode = delegate != null ? MODE_VIRTUAL : MODE_PLATFORM;
+        if (delegate == null) {
+            delegate = createPlatformExecutor();
+        }
+
+        Gauge.builder("scoring.executor.active", activeTasks, AtomicInteger::get)
+            .description("Scoring tasks currently running")
+            .register(meterRegistry);
+        Gauge.builder("scoring.executor.queued", this, ScoringExecutor::getQueuedTasks)
+            .description("Scoring tasks waiting for a worker thread")
+            .register(meterRegistry);
+        Gauge.builder("scoring.executor.in-flight", inFlightTasks, AtomicInteger::get)
+            .description("Leads admitted for scoring, including those awaiting an AI response")
+            .register(meterRegistry);
+        Gauge.builder("scoring.executor.permits.available", permits, Semaphore::availablePermits)
+            .description("Remaining in-flight scoring slots")
+            .register(meterRegistry);
+
+        logger.info("Scoring executor started in {} mode with max {} in-flight tasks", effectiveMode, maxInFlight);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        submitAsync(() -> CompletableFuture.runAsync(task, workers));
+    }
+
+    public <T> CompletableFuture<T> submitAsync(Supplier<CompletableFuture<T>> task) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for a scoring slot", e);
+        }
+
+        inFlightTasks.incrementAndGet();
+        CompletableFuture<T> future;
+        try {
+            future = task.get();
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        return future.whenComplete((result, error) -> {
+            inFlightTasks.decrementAndGet();
+            permits.release();
+        });
+    }
+
+    public Executor workers() {
+        return workers;
+    }
+
+    public int getActiveTasks() {
+        return activeTasks.get();
+    }
+
+    public int getInFlightTasks() {
+        return inFlightTasks.get();
+    }
+
+    public int getQueuedTasks() {
+        return delegate instanceof ThreadPoolExecutor pool ? pool.getQueue().size() : 0;
+    }
+
+    public String getEffectiveMode() {
+        return effectiveMode;
+    }
+
+    @Override
+    public void destroy() {
+        logger.info("Shutting down scoring executor, waiting up to {}s for {} in-flight tasks",
+                    shutdownTimeoutSeconds, inFlightTasks.get());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(shutdownTimeoutSeconds);
+        try {
+            // Leads awaiting an AI response hold no thread, so wait for them before closing the pool
+            while (inFlightTasks.get() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(100);
+            }
+            delegate.shutdown();
+            if (!delegate.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                logger.warn("Scoring executor did not terminate in time, interrupting remaining tasks");
+                delegate.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            delegate.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runOnWorker(Runnable task) {
+        delegate.execute(() -> {
+            activeTasks.incrementAndGet();
+            try {
+                task.run();
+            } finally {
+                activeTasks.decrementAndGet();
+            }
+        });
+    }
+
+    // The queue is unbounded because the permits already bound what it holds: an admitted batch queues a task per
+    // lead at once, and a rejected stage would strand the futures waiting on it
+    private ExecutorService createPlatformExecutor() {
+        AtomicInteger threadCount = new AtomicInteger();
+        return new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(),
+            runnable -> new Thread(runnable, "scoring-" + threadCount.incrementAndGet()));
+    }
+
+    // Virtual threads need a Java 21 runtime; the build still targets 17, so look the factory up reflectively
+    private ExecutorService createVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            logger.warn("Virtual threads are not available on Java {}, falling back to a platform thread pool",
+                        Runtime.version().feature());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.leadqualification.service;
+
+import com.leadqualification.dto.ScoringResponse;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ScoringJob {
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, CANCELLED, FAILED
+    }
+
+    public enum Type {
+        SCORE_ALL, AI_BACKFILL,
+        // A synchronous full, incremental or intent rescore; these are started again rather than resumed
+        RESCORE
+    }
+
+    private final String id;
+    private final Type type;
+    private final String resumedFromJobId;
+    private final LocalDateTime submittedAt;
+    private final AtomicInteger scoredLeads = new AtomicInteger();
+    private final AtomicInteger failedLeads = new AtomicInteger();
+    private final AtomicInteger aiPendingLeads = new AtomicInteger();
+    private final AtomicInteger skippedLeads = new AtomicInteger();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile boolean cancelRequested;
+    private volatile int totalLeads;
+    private volatile long startedNanos;
+    private volatile long finishedNanos;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile ScoringResponse result;
+    private volatile String errorMessage;
+    // Id of the last lead of the last chunk whose scores have all committed
+    private volatile long checkpointLeadId;
+
+    public ScoringJob() {
+        this(Type.SCORE_ALL);
+    }
+
+    public ScoringJob(Type type) {
+        this(type, null, 0);
+    }
+
+    private ScoringJob(Type type, String resumedFromJobId, long checkpointLeadId) {
+        this.id = UUID.randomUUID().toString();
+        this.type = type;
+        this.resumedFromJobId = resumedFromJobId;
+        this.checkpointLeadId = checkpointLeadId;
+        this.submittedAt = LocalDateTime.now();
+    }
+
+    // A new job that picks up after the last chunk the given one committed
+    public static ScoringJob resume(ScoringJob previous) {
+        return new ScoringJob(previous.type, previous.id, previous.checkpointLeadId);
+    }
+
+    public void start(int totalLeads) {
+        this.totalLeads = totalLeads;
+        this.startedNanos = System.nanoTime();
+        this.startedAt = LocalDateTime.now();
+        this.status = Status.RUNNING;
+    }
+
+    public void recordSuccess() {
+        scoredLeads.incrementAndGet();
+    }
+
+    // Scored by the rules alone while the AI provider was unavailable
+    public void recordAiPending() {
+        scoredLeads.incrementAndGet();
+        aiPendingLeads.incrementAndGet();
+    }
+
+    public void recordFailure() {
+        failedLeads.incrementAndGet();
+    }
+
+    // Left as it was by an incremental rescore, as nothing it was scored from has changed
+    public void recordSkipped() {
+        skippedLeads.incrementAndGet();
+    }
+
+    public void checkpoint(long leadId) {
+        this.checkpointLeadId = leadId;
+    }
+
+    public void requestCancel() {
+        cancelRequested = true;
+    }
+
+    public void complete(ScoringResponse result) {
+        this.result = result;
+        this.finishedNanos = System.nanoTime();
+        this.finishedAt = LocalDateTime.now();
+        this.status = cancelRequested ? Status.CANCELLED : Status.COMPLETED;
+    }
+
+    public void fail(String errorMessage) {
+        this.errorMessage = errorMessage;
+        this.finishedNanos = System.nanoTime();
+        this.finishedAt = LocalDateTime.now();
+        this.status = Status.FAILED;
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.CANCELLED || status == Status.FAILED;
+    }
+
+    public boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getResumedFromJobId() {
+        return resumedFromJobId;
+    }
+
+    public long getCheckpointLeadId() {
+        return checkpointLeadId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public int getTotalLeads() {
+        return totalLeads;
+    }
+
+    public int getScoredLeads() {
+        return scoredLeads.get();
+    }
+
+    public int getFailedLeads() {
+        return failedLeads.get();
+    }
+
+    public int getAiPendingLeads() {
+        return aiPendingLeads.get();
+    }
+
+    public int getSkippedLeads() {
+        return skippedLeads.get();
+    }
+
+    public int getRemainingLeads() {
+        return Math.max(0, totalLeads - getScoredLeads() - getFailedLeads() - getSkippedLeads());
+    }
+
+    public double getThroughputPerSecond() {
+        if (startedAt == null) {
+            return 0;
+        }
+        long endNanos = isFinished() ? finishedNanos : System.nanoTime();
+        double elapsedSeconds = (endNanos - startedNanos) / 1_000_000_000.0;
+        return elapsedSeconds > 0 ? (getScoredLeads() + getFailedLeads() + getSkippedLeads()) / elapsedSeconds : 0;
+    }
+
+    public Long getEstimatedSecondsRemaining() {
+        if (status != Status.RUNNING) {
+            return status == Status.QUEUED ? null : 0L;
+        }
+        double throughput = getThroughputPerSecond();
+        return throughput > 0 ? (long) Math.ceil(getRemainingLeads() / throughput) : null;
+    }
+
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public ScoringResponse getResult() {
+        return result;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+}
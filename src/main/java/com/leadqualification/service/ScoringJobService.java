@@ -0,0 +1,225 @@
+package com.leadqualification.service;
+
+import com.leadqualification.dto.ScoringResponse;
+import com.leadqualification.exception.ResourceNotFoundException;
+import com.leadqualification.exception.ScoringJobConflictException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+@Service
+public class ScoringJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScoringJobService.class);
+
+    private final ScoringService scoringService;
+    private final ExecutorService jobExecutor;
+    private final Map<String, ScoringJob> jobs = new LinkedHashMap<>();
+
+    @Value("${scoring.jobs.retained:50}")
+    private int retainedJobs;
+
+    @Autowired
+    public ScoringJobService(ScoringService scoringService) {
+        this.scoringService = scoringService;
+        this.jobExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "scoring-job-runner");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void init() {
+        // Back-fill as soon as the AI provider recovers rather than at the next scheduled check; the check
+        // queries the database, so it runs on the job thread rather than the one that closed the circuit
+        scoringService.onAiRecovered(() -> jobExecutor.execute(this::submitAiBackfillIfDue));
+    }
+
+    public synchronized ScoringJob submitScoreAllLeads() {
+        ScoringJob job = registerJob(ScoringJob.Type.SCORE_ALL);
+
+        logger.info("Submitting scoring job {}", job.getId());
+        jobExecutor.execute(() -> runJob(job, scoringService::scoreAllLeads));
+        return job;
+    }
+
+    // Runs on the caller's thread and returns its result, but registered as the active job like a background one,
+    // so it cannot overlap a background job, the AI back-fill or another synchronous run, and can be cancelled
+    public ScoringResponse runNow(ScoringJob.Type type, Function<ScoringJob, ScoringResponse> run) {
+        ScoringJob job;
+        synchronized (this) {
+            job = registerJob(type);
+        }
+
+        logger.info("Running scoring job {} ({}) synchronously", job.getId(), type);
+        try {
+            ScoringResponse response = run.apply(job);
+            job.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            job.fail(e.getMessage());
+            throw e;
+        }
+    }
+
+    // Continues a cancelled or failed job after the last chunk it committed, so its earlier leads, including
+    // those that failed, are not attempted again
+    public synchronized ScoringJob resumeJob(String jobId) {
+        ScoringJob previous = getJob(jobId);
+        if (previous.getStatus() != ScoringJob.Status.CANCELLED && previous.getStatus() != ScoringJob.Status.FAILED) {
+            throw new ScoringJobConflictException("Scoring job " + jobId + " is " + previous.getStatus() +
+                                                  "; only cancelled or failed jobs can be resumed");
+        }
+        if (previous.getType() == ScoringJob.Type.RESCORE) {
+            throw new ScoringJobConflictException("Scoring job " + jobId + " is a rescore; start a new rescore " +
+                                                  "instead of resuming it");
+        }
+        rejectIfActive();
+
+        ScoringJob job = ScoringJob.resume(previous);
+        jobs.put(job.getId(), job);
+        pruneFinishedJobs();
+
+        logger.info("Resuming scoring job {} as {} after lead {}", jobId, job.getId(), job.getCheckpointLeadId());
+        jobExecutor.execute(() -> runJob(job, job.getType() == ScoringJob.Type.AI_BACKFILL
+            ? scoringService::backfillAiPendingLeads
+            : scoringService::scoreAllLeads));
+        return job;
+    }
+
+    // Leads scored by rules alone during an AI outage are re-scored once calls go through again. While the circuit
+    // is half-open, the back-fill's first requests are the trial calls that decide whether it closes.
+    @Scheduled(fixedDelayString = "${scoring.backfill.interval-ms:30000}",
+               initialDelayString = "${scoring.backfill.interval-ms:30000}")
+    public void submitAiBackfillIfDue() {
+        synchronized (this) {
+            if (findActiveJob() != null) {
+                return;
+            }
+        }
+        if (!scoringService.isAiBackfillDue()) {
+            return;
+        }
+
+        ScoringJob job;
+        synchronized (this) {
+            if (findActiveJob() != null) {
+                return;
+            }
+            job = new ScoringJob(ScoringJob.Type.AI_BACKFILL);
+            jobs.put(job.getId(), job);
+            pruneFinishedJobs();
+        }
+
+        logger.info("Submitting AI back-fill job {}", job.getId());
+        jobExecutor.execute(() -> runJob(job, scoringService::backfillAiPendingLeads));
+    }
+
+    public synchronized ScoringJob getJob(String jobId) {
+        ScoringJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Scoring job not found with ID: " + jobId);
+        }
+        return job;
+    }
+
+    public ScoringJob cancelJob(String jobId) {
+        ScoringJob job = getJob(jobId);
+        if (!job.isFinished()) {
+            logger.info("Cancelling scoring job {}", jobId);
+            job.requestCancel();
+        }
+        return job;
+    }
+
+    public ScoringResponse getJobResult(String jobId) {
+        ScoringJob job = getJob(jobId);
+        if (job.getStatus() == ScoringJob.Status.FAILED) {
+            return new ScoringResponse("Scoring failed: " + job.getErrorMessage(),
+                                       job.getTotalLeads(), job.getScoredLeads(), job.getFailedLeads());
+        }
+        if (!job.isFinished()) {
+            throw new ScoringJobConflictException("Scoring job " + jobId + " has not finished yet");
+        }
+        return job.getResult();
+    }
+
+    private void runJob(ScoringJob job, Function<ScoringJob, ScoringResponse> run) {
+        if (job.isCancelRequested()) {
+            job.complete(new ScoringResponse("Scoring cancelled before it started", 0, 0, 0));
+            return;
+        }
+
+        try {
+            ScoringResponse response = run.apply(job);
+            job.complete(response);
+            logger.info("Scoring job {} finished with status {}", job.getId(), job.getStatus());
+        } catch (Exception e) {
+            logger.error("Scoring job {} failed", job.getId(), e);
+            job.fail(e.getMessage());
+        }
+    }
+
+    // Callers hold the lock
+    private ScoringJob registerJob(ScoringJob.Type type) {
+        rejectIfActive();
+        ScoringJob job = new ScoringJob(type);
+        jobs.put(job.getId(), job);
+        pruneFinishedJobs();
+        return job;
+    }
+
+    private void rejectIfActive() {
+        ScoringJob activeJob = findActiveJob();
+        if (activeJob != null) {
+            throw new ScoringJobConflictException("A scoring run is already in progress with job ID: " +
+                                                  activeJob.getId());
+        }
+    }
+
+    private ScoringJob findActiveJob() {
+        return jobs.values().stream()
+            .filter(job -> !job.isFinished())
+            .findFirst()
+            .orElse(null);
+    }
+
+    private void pruneFinishedJobs() {
+        Iterator<ScoringJob> iterator = jobs.values().iterator();
+        while (jobs.size() > retainedJobs && iterator.hasNext()) {
+            if (iterator.next().isFinished()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        synchronized (this) {
+            jobs.values().forEach(ScoringJob::requestCancel);
+        }
+        jobExecutor.shutdown();
+        try {
+            if (!jobExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+                jobExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            jobExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,97 +1,281 @@
 package com.leadqualification.service;
 
 import com.leadqualification.dto.ScoringResponse;
+import com.leadqualification.entity.IntentLevel;
 import com.leadqualification.entity.Lead;
-import com.leadqualification.entity.Offer;
+import com.leadqualification.entity.ScoringStatus;
+import com.leadqualification.exception.AIUnavailableException;
 import com.leadqualification.exception.ResourceNotFoundException;
 import com.leadqualification.repository.LeadRepository;
-import com.leadqualification.repository.OfferRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.LongFunction;
 
+// Not transactional as a whole: bulk runs read their leads a chunk at a time in short transactions, and scores are
+// committed by the ScoreWriter
 @Service
-@Transactional
 public class ScoringService {
 
     private static final Logger logger = LoggerFactory.getLogger(ScoringService.class);
 
     private final LeadRepository leadRepository;
-    private final OfferRepository offerRepository;
+    private final OfferSnapshotCache offerSnapshotCache;
     private final RuleScoringService ruleScoringService;
-    private final GeminiService geminiService;
+    private final AIScoringProvider aiScoringProvider;
     private final LeadService leadService;
-    private final ExecutorService executorService;
+    private final ScoringExecutor scoringExecutor;
+    private final ScoreWriter scoreWriter;
+    private final LeadSummaryService leadSummaryService;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${scoring.chunk-size:500}")
+    private int chunkSize;
 
     @Autowired
     public ScoringService(LeadRepository leadRepository, 
-                         OfferRepository offerRepository,
+                         OfferSnapshotCache offerSnapshotCache,
                          RuleScoringService ruleScoringService,
-                         GeminiService geminiService,
-                         LeadService leadService) {
+                         AIScoringProvider aiScoringProvider,
+                         LeadService leadService,
+                         ScoringExecutor scoringExecutor,
+                         ScoreWriter scoreWriter,
+                         LeadSummaryService leadSummaryService,
+                         TransactionTemplate transactionTemplate) {
         this.leadRepository = leadRepository;
-        this.offerRepository = offerRepository;
+        this.offerSnapshotCache = offerSnapshotCache;
         this.ruleScoringService = ruleScoringService;
-        this.geminiService = geminiService;
+        this.aiScoringProvider = aiScoringProvider;
         this.leadService = leadService;
-        this.executorService = Executors.newFixedThreadPool(5);
+        this.scoringExecutor = scoringExecutor;
+        this.scoreWriter = scoreWriter;
+        this.leadSummaryService = leadSummaryService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
     }
 
     public ScoringResponse scoreAllLeads() {
-        logger.info("Starting scoring process for all unscored leads");
+        return scoreAllLeads(new ScoringJob());
+    }
 
-        Offer latestOffer = offerRepository.findLatestOffer()
-            .orElseThrow(() -> new ResourceNotFoundException("No offer found. Please create an offer first."));
-        // Eagerly initialize collections to prevent LazyInitializationException in async tasks
-        latestOffer.getValueProps().size(); 
-        latestOffer.getIdealUseCases().size();
+    public ScoringResponse scoreAllLeads(ScoringJob job) {
+        logger.info("Starting scoring process for all unscored leads (job {})", job.getId());
+
+        OfferSnapshot latestOffer = findLatestOffer();
 
-        List<Lead> unscoredLeads = leadRepository.findByIsScored(false);
+        long unscoredLeads = leadRepository.countByIsScoredAndIdGreaterThan(false, job.getCheckpointLeadId());
+        job.start((int) unscoredLeads);
         
-        if (unscoredLeads.isEmpty()) {
+        if (unscoredLeads == 0) {
             logger.info("No unscored leads found");
             return new ScoringResponse("No unscored leads found", 0, 0, 0);
         }
 
-        logger.info("Found {} unscored leads to process", unscoredLeads.size());
+        logger.info("Found {} unscored leads to process", unscoredLeads);
+        scoreInChunks(job, latestOffer,
+                      afterId -> leadRepository.findUnscoredChunkAfterId(afterId, PageRequest.ofSize(chunkSize)),
+                      this::scoreChunk);
+        return summarize(job, "Scoring");
+    }
+
+    // Re-scores the leads scored by rules alone during an AI outage, now that the provider answers again
+    public ScoringResponse backfillAiPendingLeads(ScoringJob job) {
+        logger.info("Starting AI back-fill of leads scored by rules only (job {})", job.getId());
+
+        OfferSnapshot latestOffer = findLatestOffer();
+
+        long pendingLeads = leadRepository.countByScoringStatusAndIdGreaterThan(ScoringStatus.AI_PENDING,
+                                                                                 job.getCheckpointLeadId());
+        job.start((int) pendingLeads);
+
+        if (pendingLeads == 0) {
+            return new ScoringResponse("No leads awaiting AI scoring", 0, 0, 0);
+        }
+
+        logger.info("Found {} leads awaiting AI scoring", pendingLeads);
+        scoreInChunks(job, latestOffer, afterId -> leadRepository.findChunkByScoringStatusAfterId(
+            ScoringStatus.AI_PENDING, afterId, PageRequest.ofSize(chunkSize)), this::scoreChunk);
+        return summarize(job, "AI back-fill");
+    }
+
+    public ScoringResponse rescoreChangedLeads() {
+        return rescoreChangedLeads(new ScoringJob());
+    }
+
+    // Walks the scored leads and rescores only those whose inputs, offer or rules changed since they were scored.
+    // A lead whose fields and offer are unchanged keeps its AI result and only has its rules run again.
+    public ScoringResponse rescoreChangedLeads(ScoringJob job) {
+        logger.info("Starting incremental rescore of changed leads (job {})", job.getId());
+
+        OfferSnapshot latestOffer = findLatestOffer();
+
+        long scoredLeads = leadRepository.countByScoringStatusAndIdGreaterThan(ScoringStatus.SCORED,
+                                                                                job.getCheckpointLeadId());
+        job.start((int) scoredLeads);
+
+        if (scoredLeads == 0) {
+            return new ScoringResponse("No scored leads found", 0, 0, 0);
+        }
+
+        scoreInChunks(job, latestOffer, afterId -> leadRepository.findChunkByScoringStatusAfterId(
+            ScoringStatus.SCORED, afterId, PageRequest.ofSize(chunkSize)), this::scoreChangedLeads);
+        return summarize(job, "Incremental rescoring");
+    }
+
+    @Transactional(readOnly = true)
+    public boolean isAiBackfillDue() {
+        return aiScoringProvider.isAvailable() && leadRepository.existsByScoringStatus(ScoringStatus.AI_PENDING);
+    }
 
-        int successCount = 0;
-        int failureCount = 0;
+    public void onAiRecovered(Runnable listener) {
+        aiScoringProvider.onRecovered(listener);
+    }
+
+    // Reads, scores and writes chunk-size leads at a time, so memory does not grow with the run. The job's checkpoint
+    // moves past a chunk once all of its scores have committed; a resumed job starts there.
+    private void scoreInChunks(ScoringJob job, OfferSnapshot offer, LongFunction<List<Lead>> chunkAfter,
+                               ChunkScorer chunkScorer) {
+        List<Lead> chunk = readChunk(chunkAfter, job.getCheckpointLeadId());
+        while (!chunk.isEmpty() && !job.isCancelRequested()) {
+            CompletableFuture<Void> scored = chunkScorer.score(job, chunk, offer);
+            long lastId = chunk.get(chunk.size() - 1).getId();
+
+            // Read ahead while the chunk is being scored; its writes cannot move leads past lastId
+            List<Lead> next = chunk.size() < chunkSize ? List.of() : readChunk(chunkAfter, lastId);
+            scored.join();
+
+            // Part of a cancelled chunk may not have been submitted, so the checkpoint stays before it
+            if (job.isCancelRequested()) {
+                break;
+            }
+            job.checkpoint(lastId);
+            logger.debug("Scoring job {} committed leads up to {}", job.getId(), lastId);
+            chunk = next;
+        }
+    }
+
+    // In a short read-only transaction. The leads are detached, as nothing is written through them, so the
+    // persistence context does not keep every lead of the run
+    private List<Lead> readChunk(LongFunction<List<Lead>> chunkAfter, long afterId) {
+        return readOnlyTransaction.execute(status -> {
+            List<Lead> chunk = chunkAfter.apply(afterId);
+            entityManager.clear();
+            return chunk;
+        });
+    }
 
-        List<CompletableFuture<Void>> futures = unscoredLeads.stream()
-            .map(lead -> CompletableFuture.runAsync(() -> {
-                try {
-                    scoreLead(lead, latestOffer);
-                } catch (Exception e) {
-                    logger.error("Failed to score lead: {}", lead.getName(), e);
+    private CompletableFuture<Void> scoreChunk(ScoringJob job, List<Lead> leads, OfferSnapshot offer) {
+        // With batching, one task scores a whole batch through a single AI request
+        int batchSize = aiScoringProvider.getBatchSize();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int from = 0; from < leads.size(); from += batchSize) {
+            if (job.isCancelRequested()) {
+                break;
+            }
+            List<Lead> batch = leads.subList(from, Math.min(from + batchSize, leads.size()));
+            futures.add(scoringExecutor.submitAsync(() -> {
+                List<CompletableFuture<ScoringStatus>> scored = batch.size() == 1
+                    ? List.of(scoreLeadAsync(batch.get(0), offer))
+                    : scoreLeadsAsync(batch, offer);
+                List<CompletableFuture<Void>> recorded = new ArrayList<>(batch.size());
+                for (int i = 0; i < batch.size(); i++) {
+                    recorded.add(recordResult(job, batch.get(i), scored.get(i)));
                 }
-            }, executorService))
-            .collect(Collectors.toList());
+                return CompletableFuture.allOf(recorded.toArray(new CompletableFuture[0]));
+            }));
+        }
 
-        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+    }
 
-        for (Lead lead : unscoredLeads) {
-            if (lead.getIsScored()) {
-                successCount++;
+    private CompletableFuture<Void> scoreChangedLeads(ScoringJob job, List<Lead> leads, OfferSnapshot offer) {
+        long rulesVersion = ruleScoringService.getVersion();
+        List<Lead> changed = new ArrayList<>();
+        List<Lead> rulesChanged = new ArrayList<>();
+        for (Lead lead : leads) {
+            // Leads scored before the AI reasoning was kept apart cannot have their rules re-run on their own
+            boolean aiInputsChanged = lead.getAiReasoning() == null
+                || !Objects.equals(lead.getInputHash(), lead.computeInputHash())
+                || !Objects.equals(lead.getOfferVersion(), offer.getVersion());
+            if (aiInputsChanged) {
+                changed.add(lead);
+            } else if (!Objects.equals(lead.getRulesVersion(), rulesVersion)) {
+                rulesChanged.add(lead);
             } else {
-                failureCount++;
+                job.recordSkipped();
+            }
+        }
+        logger.debug("Incremental rescore: {} leads changed, {} need their rules re-run, {} unchanged",
+                     changed.size(), rulesChanged.size(), leads.size() - changed.size() - rulesChanged.size());
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>(rulesChanged.size() + 1);
+        futures.add(scoreChunk(job, changed, offer));
+        for (Lead lead : rulesChanged) {
+            if (job.isCancelRequested()) {
+                break;
             }
+            futures.add(scoringExecutor.submitAsync(() -> recordResult(job, lead, rescoreRules(lead, offer))));
         }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+    }
 
-        String message = String.format("Scoring completed. %d leads scored successfully, %d failed.", 
-                                      successCount, failureCount);
+    // Keeps the lead's AI intent and reasoning and recomputes everything that depends on the rules
+    private CompletableFuture<ScoringStatus> rescoreRules(Lead lead, OfferSnapshot offer) {
+        AIScoreResult aiResult = new AIScoreResult(lead.getIntent(), lead.getAiReasoning());
+        return CompletableFuture.supplyAsync(() -> ruleScoringService.evaluate(lead, offer), scoringExecutor.workers())
+            .thenCompose(ruleEvaluation -> writeScores(lead, offer, ruleEvaluation, aiResult));
+    }
+
+    private ScoringResponse summarize(ScoringJob job, String runName) {
+        int successCount = job.getScoredLeads();
+        int failureCount = job.getFailedLeads();
+
+        String message;
+        if (job.isCancelRequested()) {
+            message = String.format("%s cancelled. %d leads scored successfully, %d failed, %d skipped.",
+                                    runName, successCount, failureCount, job.getRemainingLeads());
+        } else {
+            message = String.format("%s completed. %d leads scored successfully, %d failed.", 
+                                    runName, successCount, failureCount);
+        }
+        if (job.getAiPendingLeads() > 0) {
+            message += String.format(" %d scored by rules only while the AI provider is unavailable; " +
+                                     "their AI scores are filled in once it recovers.", job.getAiPendingLeads());
+        }
+        if (job.getSkippedLeads() > 0) {
+            message += String.format(" %d unchanged leads skipped.", job.getSkippedLeads());
+        }
         
-        logger.info("Scoring process completed: {} successful, {} failed", successCount, failureCount);
+        logger.info("{} completed: {} successful ({} rules only), {} failed",
+                   runName, successCount, job.getAiPendingLeads(), failureCount);
+
+        ScoringResponse response = new ScoringResponse(message, job.getTotalLeads(), successCount, failureCount);
+        response.setSkippedLeads(job.getSkippedLeads());
+        return response;
+    }
 
-        return new ScoringResponse(message, unscoredLeads.size(), successCount, failureCount);
+    private OfferSnapshot findLatestOffer() {
+        return offerSnapshotCache.getLatest()
+            .orElseThrow(() -> new ResourceNotFoundException("No offer found. Please create an offer first."));
     }
 
     public ScoringResponse scoreSpecificLead(Long leadId) {
@@ -100,14 +284,12 @@ public class ScoringService {
         Lead lead = leadRepository.findById(leadId)
             .orElseThrow(() -> new ResourceNotFoundException("Lead not found with ID: " + leadId));
 
-        Offer latestOffer = offerRepository.findLatestOffer()
-            .orElseThrow(() -> new ResourceNotFoundException("No offer found. Please create an offer first."));
-        // Eagerly initialize collections to prevent LazyInitializationException in async tasks
-        latestOffer.getValueProps().size(); 
-        latestOffer.getIdealUseCases().size();
+        OfferSnapshot latestOffer = findLatestOffer();
 
         try {
-            scoreLead(lead, latestOffer);
+            if (scoreLead(lead, latestOffer) == ScoringStatus.AI_PENDING) {
+                return new ScoringResponse("Lead scored by rules only; the AI provider is unavailable", 1, 1, 0);
+            }
             return new ScoringResponse("Lead scored successfully", 1, 1, 0);
         } catch (Exception e) {
             logger.error("Failed to score lead: {}", lead.getName(), e);
@@ -115,92 +297,158 @@ public class ScoringService {
         }
     }
 
-    private void scoreLead(Lead lead, Offer offer) {
+    private ScoringStatus scoreLead(Lead lead, OfferSnapshot offer) {
+        try {
+            return scoreLeadAsync(lead, offer).join();
+        } catch (CompletionException e) {
+            Throwable cause = unwrap(e);
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : e;
+        }
+    }
+
+    private CompletableFuture<ScoringStatus> scoreLeadAsync(Lead lead, OfferSnapshot offer) {
         logger.debug("Scoring lead: {}", lead.getName());
 
-        try {
-            int ruleScore = ruleScoringService.calculateRuleScore(lead, offer);
-            String ruleExplanation = ruleScoringService.generateRuleExplanation(lead, offer, ruleScore);
+        Executor workers = scoringExecutor.workers();
+        return CompletableFuture.supplyAsync(() -> ruleScoringService.evaluate(lead, offer), workers)
+            .thenCompose(ruleEvaluation -> writeResult(lead, offer, ruleEvaluation,
+                                                       aiScoringProvider.scoreLeadIntentAsync(lead, offer)));
+    }
 
-            GeminiService.AIScoreResult aiResult = geminiService.scoreLeadIntent(lead, offer);
-            int aiScore = aiResult.getScore();
+    private List<CompletableFuture<ScoringStatus>> scoreLeadsAsync(List<Lead> leads, OfferSnapshot offer) {
+        logger.debug("Scoring batch of {} leads", leads.size());
+
+        Executor workers = scoringExecutor.workers();
+        CompletableFuture<List<RuleEvaluation>> ruleEvaluations = CompletableFuture.supplyAsync(() -> {
+            List<RuleEvaluation> evaluations = new ArrayList<>(leads.size());
+            leads.forEach(lead -> evaluations.add(ruleScoringService.evaluate(lead, offer)));
+            return evaluations;
+        }, workers);
+        List<Mono<AIScoreResult>> aiResults = aiScoringProvider.scoreLeadIntentsAsync(leads, offer);
+
+        List<CompletableFuture<ScoringStatus>> scored = new ArrayList<>(leads.size());
+        for (int i = 0; i < leads.size(); i++) {
+            int index = i;
+            scored.add(ruleEvaluations.thenCompose(evaluations -> writeResult(leads.get(index), offer,
+                evaluations.get(index), aiResults.get(index))));
+        }
+        return scored;
+    }
 
-            int totalScore = ruleScore + aiScore;
-            String combinedReasoning = String.format("%s %s", ruleExplanation, aiResult.getReasoning());
+    private CompletableFuture<ScoringStatus> writeResult(Lead lead, OfferSnapshot offer, RuleEvaluation ruleEvaluation,
+                                                         Mono<AIScoreResult> aiResult) {
+        return aiResult.toFuture()
+            .handleAsync((result, error) -> {
+                if (error == null) {
+                    return writeScores(lead, offer, ruleEvaluation, result);
+                }
+                Throwable cause = unwrap(error);
+                return cause instanceof AIUnavailableException
+                    ? writeRuleScore(lead, ruleEvaluation)
+                    : markFailed(lead, cause);
+            }, scoringExecutor.workers())
+            .thenCompose(Function.identity());
+    }
 
-            leadService.updateLeadScoring(lead.getId(), ruleScore, aiScore, 
-                                        aiResult.getIntent(), combinedReasoning);
+    // While the AI provider is unavailable the lead gets its rule score right away instead of waiting on it
+    private CompletableFuture<ScoringStatus> writeRuleScore(Lead lead, RuleEvaluation ruleEvaluation) {
+        int ruleScore = ruleEvaluation.getTotalScore();
+        String reasoning = ruleEvaluation.getExplanation() + " AI intent analysis pending.";
 
-            lead.setRuleScore(ruleScore);
-            lead.setAiScore(aiScore);
-            lead.setTotalScore(totalScore);
-            lead.setIntent(aiResult.getIntent());
-            lead.setReasoning(combinedReasoning);
-            lead.setIsScored(true);
+        return scoreWriter.submit(ScoreWriter.ScoreUpdate.ruleOnly(lead.getId(), ruleScore, reasoning))
+            .thenRun(() -> leadSummaryService.recordScored(lead, ruleScore, null))
+            .thenApply(ignored -> ScoringStatus.AI_PENDING);
+    }
 
-            logger.debug("Lead {} scored: Rule={}, AI={}, Total={}, Intent={}", 
-                        lead.getName(), ruleScore, aiScore, totalScore, aiResult.getIntent());
+    // A lead without an AI result is recorded as failed instead of being given a made-up intent
+    private CompletableFuture<ScoringStatus> markFailed(Lead lead, Throwable error) {
+        return scoreWriter.submit(ScoreWriter.ScoreUpdate.failed(lead.getId(), error.getMessage()))
+            .handle((ignored, writeError) -> {
+                if (writeError != null) {
+                    logger.error("Failed to mark lead {} as failed", lead.getName(), unwrap(writeError));
+                }
+                throw error instanceof RuntimeException ? (RuntimeException) error : new CompletionException(error);
+            });
+    }
 
-        } catch (Exception e) {
-            logger.error("Error scoring lead {}: {}", lead.getName(), e.getMessage());
-            throw new RuntimeException("Failed to score lead: " + e.getMessage(), e);
-        }
+    private CompletableFuture<Void> recordResult(ScoringJob job, Lead lead, CompletableFuture<ScoringStatus> scored) {
+        return scored.handle((status, error) -> {
+            if (status == ScoringStatus.AI_PENDING) {
+                job.recordAiPending();
+            } else if (error == null) {
+                job.recordSuccess();
+            } else {
+                logger.error("Failed to score lead: {}", lead.getName(), unwrap(error));
+                job.recordFailure();
+            }
+            return null;
+        });
+    }
+
+    private CompletableFuture<ScoringStatus> writeScores(Lead lead, OfferSnapshot offer, RuleEvaluation ruleEvaluation,
+                                                         AIScoreResult aiResult) {
+        int ruleScore = ruleEvaluation.getTotalScore();
+        int aiScore = aiResult.getScore();
+        String combinedReasoning = ruleEvaluation.getExplanation() + " " + aiResult.getReasoning();
+
+        logger.debug("Lead {} scored: Rule={}, AI={}, Total={}, Intent={}", 
+                    lead.getName(), ruleScore, aiScore, ruleScore + aiScore, aiResult.getIntent());
+
+        ScoreWriter.ScoreUpdate update = new ScoreWriter.ScoreUpdate(lead.getId(), ruleScore, aiScore,
+                                                                     aiResult.getIntent(), combinedReasoning)
+            .withInputs(aiResult.getReasoning(), lead.computeInputHash(), offer.getVersion(),
+                        ruleScoringService.getVersion());
+        return scoreWriter.submit(update)
+            .thenRun(() -> leadSummaryService.recordScored(lead, ruleScore + aiScore, aiResult.getIntent()))
+            .thenApply(ignored -> ScoringStatus.SCORED)
+            .exceptionally(error -> {
+                Throwable cause = unwrap(error);
+                logger.error("Error scoring lead {}: {}", lead.getName(), cause.getMessage());
+                throw new RuntimeException("Failed to score lead: " + cause.getMessage(), cause);
+            });
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
     }
 
     public ScoringResponse rescoreAllLeads() {
-        logger.info("Rescoring all leads");
-
-        leadRepository.findAll().forEach(lead -> {
-            lead.setIsScored(false);
-            lead.setRuleScore(null);
-            lead.setAiScore(null);
-            lead.setTotalScore(null);
-            lead.setIntent(null);
-            lead.setReasoning(null);
-        });
+        return rescoreAllLeads(new ScoringJob(ScoringJob.Type.RESCORE));
+    }
 
-        return scoreAllLeads();
+    public ScoringResponse rescoreAllLeads(ScoringJob job) {
+        logger.info("Rescoring all leads (job {})", job.getId());
+
+        // Checked first so a missing offer does not leave every lead reset and unscored
+        findLatestOffer();
+        leadService.resetAllScoring();
+
+        return scoreAllLeads(job);
     }
 
     public ScoringResponse rescoreLeadsByIntent(String intentLevel) {
-        logger.info("Rescoring leads with intent level: {}", intentLevel);
-
-        List<Lead> leads = leadRepository.findByIntent(
-            com.leadqualification.entity.IntentLevel.fromString(intentLevel)
-        );
-
-        leads.forEach(lead -> {
-            lead.setIsScored(false);
-            lead.setRuleScore(null);
-            lead.setAiScore(null);
-            lead.setTotalScore(null);
-            lead.setIntent(null);
-            lead.setReasoning(null);
-        });
+        return rescoreLeadsByIntent(new ScoringJob(), IntentLevel.fromString(intentLevel));
+    }
 
-        Offer latestOffer = offerRepository.findLatestOffer()
-            .orElseThrow(() -> new ResourceNotFoundException("No offer found. Please create an offer first."));
-        // Eagerly initialize collections to prevent LazyInitializationException in async tasks
-        latestOffer.getValueProps().size(); 
-        latestOffer.getIdealUseCases().size();
+    public ScoringResponse rescoreLeadsByIntent(ScoringJob job, IntentLevel intent) {
+        logger.info("Rescoring leads with intent level: {} (job {})", intent, job.getId());
 
-        int successCount = 0;
-        int failureCount = 0;
+        OfferSnapshot latestOffer = findLatestOffer();
 
-        for (Lead lead : leads) {
-            try {
-                scoreLead(lead, latestOffer);
-                successCount++;
-            } catch (Exception e) {
-                logger.error("Failed to rescore lead: {}", lead.getName(), e);
-                failureCount++;
-            }
+        int resetLeads = leadService.resetScoringByIntent(intent);
+        job.start(resetLeads);
+
+        if (resetLeads == 0) {
+            return new ScoringResponse("No leads with intent level " + intent.getDisplayName() + " found", 0, 0, 0);
         }
 
-        String message = String.format("Rescoring completed. %d leads rescored successfully, %d failed.", 
-                                      successCount, failureCount);
+        scoreInChunks(job, latestOffer, afterId -> leadRepository.findChunkByScoringStatusAfterId(
+            ScoringStatus.RESCORE_PENDING, afterId, PageRequest.ofSize(chunkSize)), this::scoreChunk);
+        return summarize(job, "Rescoring");
+    }
 
-        return new ScoringResponse(message, leads.size(), successCount, failureCount);
+    @FunctionalInterface
+    private interface ChunkScorer {
+        CompletableFuture<Void> score(ScoringJob job, List<Lead> chunk, OfferSnapshot offer);
     }
 }
-
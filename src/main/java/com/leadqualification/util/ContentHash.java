@@ -0,0 +1,62 @@
+package com.leadqualification.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+
+// A fingerprint of a sequence of values from their SHA-256: its first 8 bytes, or all of it. Every string is written
+// with its length, and null apart from empty, so different sequences cannot run together into the same bytes.
+public final class ContentHash {
+
+    private static final int NULL_LENGTH = -1;
+
+    private final MessageDigest digest;
+
+    private ContentHash() {
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public static ContentHash create() {
+        return new ContentHash();
+    }
+
+    public ContentHash add(String value) {
+        if (value == null) {
+            return add(NULL_LENGTH);
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        add(bytes.length);
+        digest.update(bytes);
+        return this;
+    }
+
+    public ContentHash add(int value) {
+        digest.update((byte) (value >>> 24));
+        digest.update((byte) (value >>> 16));
+        digest.update((byte) (value >>> 8));
+        digest.update((byte) value);
+        return this;
+    }
+
+    public ContentHash addAll(Collection<String> values) {
+        add(values.size());
+        values.forEach(this::add);
+        return this;
+    }
+
+    public long toLong() {
+        return ByteBuffer.wrap(digest.digest()).getLong();
+    }
+
+    // The whole digest, for keys that must not collide
+    public String toHex() {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
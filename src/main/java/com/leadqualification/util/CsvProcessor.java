@@ -2,17 +2,32 @@ package com.leadqualification.util;
 
 import com.leadqualification.entity.Lead;
 import com.opencsv.CSVReader;
-import com.opencsv.exceptions.CsvException;
+import com.opencsv.exceptions.CsvValidationException;
+import jakarta.annotation.PreDestroy;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 @Component
 public class CsvProcessor {
@@ -23,36 +38,188 @@ public class CsvProcessor {
         "name", "role", "company", "industry", "location", "linkedin_bio"
     };
 
-    public List<Lead> processLeadsCsv(MultipartFile file) throws IOException, CsvException {
-        logger.info("Processing CSV file: {}", file.getOriginalFilename());
+    private final boolean parallelEnabled;
+    private final long parallelMinBytes;
+    private final int parallelRangeBytes;
+    private final int parallelism;
+    private ForkJoinPool parsePool;
 
-        List<Lead> leads = new ArrayList<>();
-        
-        try (CSVReader reader = new CSVReader(new InputStreamReader(file.getInputStream()))) {
-            List<String[]> records = reader.readAll();
-            
-            if (records.isEmpty()) {
+    @Autowired
+    public CsvProcessor(@Value("${file.upload.parallel.enabled:true}") boolean parallelEnabled,
+                        @Value("${file.upload.parallel.min-file-bytes:16777216}") long parallelMinBytes,
+                        @Value("${file.upload.parallel.range-bytes:4194304}") int parallelRangeBytes,
+                        @Value("${file.upload.parallel.threads:0}") int parallelThreads) {
+        this.parallelEnabled = parallelEnabled;
+        this.parallelMinBytes = parallelMinBytes;
+        this.parallelRangeBytes = parallelRangeBytes;
+        this.parallelism = parallelThreads > 0 ? parallelThreads : Runtime.getRuntime().availableProcessors();
+    }
+
+    // Files of at least min-file-bytes are parsed in parallel; both paths hand the same chunks and invalid rows to
+    // the handler, in file order
+    public int streamLeadsCsv(MultipartFile file, int chunkSize, LeadChunkHandler handler)
+            throws IOException, CsvValidationException {
+        boolean parallel = parallelEnabled && parallelism > 1 && file.getSize() >= parallelMinBytes;
+        logger.info("Streaming CSV file: {} ({} bytes{})", file.getOriginalFilename(), file.getSize(),
+                    parallel ? ", parsed on " + parallelism + " threads" : "");
+
+        try (InputStream in = file.getInputStream()) {
+            return parallel ? streamLeadsCsvInParallel(in, chunkSize, handler) : streamLeadsCsv(in, chunkSize, handler);
+        }
+    }
+
+    public int streamLeadsCsv(InputStream in, int chunkSize, LeadChunkHandler handler)
+            throws IOException, CsvValidationException {
+        int recordCount = 0;
+        int lineNumber = 1;
+        List<LeadRecord> chunk = new ArrayList<>(chunkSize);
+
+        try (CSVReader reader = new CSVReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)))) {
+            String[] headers = reader.readNext();
+
+            if (headers == null) {
                 throw new IllegalArgumentException("CSV file is empty");
             }
 
-            String[] headers = records.get(0);
             validateHeaders(headers);
 
-            for (int i = 1; i < records.size(); i++) {
-                String[] record = records.get(i);
+            String[] record;
+            while ((record = reader.readNext()) != null) {
+                lineNumber++;
+                if (isBlankRecord(record)) {
+                    continue;
+                }
+
+                recordCount++;
                 try {
-                    Lead lead = createLeadFromRecord(record, i + 1);
-                    if (lead != null) {
-                        leads.add(lead);
-                    }
-                } catch (Exception e) {
-                    logger.warn("Failed to process record at line {}: {}", i + 1, e.getMessage());
+                    chunk.add(new LeadRecord(lineNumber, createLeadFromRecord(record)));
+                } catch (IllegalArgumentException e) {
+                    logger.warn("Failed to process record at line {}: {}", lineNumber, e.getMessage());
+                    handler.onInvalidRecord(lineNumber, e.getMessage());
+                }
+
+                if (chunk.size() >= chunkSize) {
+                    handler.onChunk(chunk);
+                    chunk = new ArrayList<>(chunkSize);
                 }
             }
         }
 
-        logger.info("Successfully processed {} leads from CSV", leads.size());
-        return leads;
+        if (!chunk.isEmpty()) {
+            handler.onChunk(chunk);
+        }
+
+        logger.info("Streamed {} records from CSV", recordCount);
+        return recordCount;
+    }
+
+    // Cuts the input into ranges of whole records and parses and validates them on the parse pool, while this thread
+    // hands their rows on in file order. Line numbers count records as in streamLeadsCsv, each range's from where
+    // the ranges before it ended. At most two ranges per pool thread are held at once, however large the file.
+    public int streamLeadsCsvInParallel(InputStream in, int chunkSize, LeadChunkHandler handler)
+            throws IOException, CsvValidationException {
+        CsvRangeSplitter splitter = new CsvRangeSplitter(in, parallelRangeBytes);
+        ForkJoinPool pool = parsePool();
+        Deque<ForkJoinTask<ParsedRange>> inFlight = new ArrayDeque<>();
+        int maxInFlight = parallelism * 2;
+        OrderedEmitter emitter = new OrderedEmitter(chunkSize, handler);
+
+        try {
+            byte[] range = splitter.next();
+            if (range == null) {
+                throw new IllegalArgumentException("CSV file is empty");
+            }
+            boolean first = true;
+            while (range != null) {
+                byte[] bytes = range;
+                boolean withHeader = first;
+                inFlight.add(pool.submit(() -> parseRange(bytes, withHeader)));
+                first = false;
+                if (inFlight.size() >= maxInFlight) {
+                    emitter.emit(join(inFlight.poll()));
+                }
+                range = splitter.next();
+            }
+            while (!inFlight.isEmpty()) {
+                emitter.emit(join(inFlight.poll()));
+            }
+        } finally {
+            inFlight.forEach(task -> task.cancel(true));
+        }
+
+        int recordCount = emitter.finish();
+        logger.info("Streamed {} records from CSV", recordCount);
+        return recordCount;
+    }
+
+    private ParsedRange parseRange(byte[] range, boolean withHeader) throws IOException, CsvValidationException {
+        ParsedRange parsed = new ParsedRange();
+        try (CSVReader reader = new CSVReader(new InputStreamReader(new ByteArrayInputStream(range),
+                                                                    StandardCharsets.UTF_8))) {
+            if (withHeader) {
+                String[] headers = reader.readNext();
+                if (headers == null) {
+                    throw new IllegalArgumentException("CSV file is empty");
+                }
+                validateHeaders(headers);
+            }
+
+            String[] record;
+            while ((record = reader.readNext()) != null) {
+                parsed.records++;
+                if (isBlankRecord(record)) {
+                    continue;
+                }
+                try {
+                    parsed.rows.add(new ParsedRow(parsed.records, createLeadFromRecord(record), null));
+                } catch (IllegalArgumentException e) {
+                    parsed.rows.add(new ParsedRow(parsed.records, null, e.getMessage()));
+                }
+            }
+        }
+        return parsed;
+    }
+
+    // Rethrows what the range's parse threw
+    private static ParsedRange join(ForkJoinTask<ParsedRange> task) throws IOException, CsvValidationException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while parsing CSV", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof CsvValidationException) {
+                throw (CsvValidationException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("CSV parsing failed", cause);
+        }
+    }
+
+    // The pool is started by the first parallel parse, so an application that only sees small uploads, or has
+    // parallel parsing disabled, holds no parse threads
+    private synchronized ForkJoinPool parsePool() {
+        if (parsePool == null) {
+            parsePool = new ForkJoinPool(parallelism);
+        }
+        return parsePool;
+    }
+
+    synchronized boolean isParsePoolStarted() {
+        return parsePool != null;
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (parsePool != null) {
+            parsePool.shutdownNow();
+        }
     }
 
     private void validateHeaders(String[] headers) {
@@ -74,16 +241,18 @@ public class CsvProcessor {
         }
     }
 
-    private Lead createLeadFromRecord(String[] record, int lineNumber) {
+    private boolean isBlankRecord(String[] record) {
+        return record.length == 1 && StringUtils.isBlank(record[0]);
+    }
+
+    private Lead createLeadFromRecord(String[] record) {
         if (record.length < EXPECTED_HEADERS.length) {
-            logger.warn("Insufficient columns in record at line {}", lineNumber);
-            return null;
+            throw new IllegalArgumentException("Insufficient columns in record");
         }
 
         String name = StringUtils.trimToNull(record[0]);
         if (name == null) {
-            logger.warn("Name is required but missing at line {}", lineNumber);
-            return null;
+            throw new IllegalArgumentException("Name is required but missing");
         }
 
         String role = StringUtils.trimToNull(record[1]);
@@ -109,26 +278,47 @@ public class CsvProcessor {
     }
 
     public String generateCsvContent(List<Lead> leads) {
-        StringBuilder csv = new StringBuilder();
-        
-        csv.append("name,role,company,industry,location,linkedin_bio,score,intent,reasoning\n");
-        
-        for (Lead lead : leads) {
-            csv.append(escapeCsvValue(lead.getName())).append(",");
-            csv.append(escapeCsvValue(lead.getRole())).append(",");
-            csv.append(escapeCsvValue(lead.getCompany())).append(",");
-            csv.append(escapeCsvValue(lead.getIndustry())).append(",");
-            csv.append(escapeCsvValue(lead.getLocation())).append(",");
-            csv.append(escapeCsvValue(lead.getLinkedinBio())).append(",");
-            csv.append(lead.getTotalScore() != null ? lead.getTotalScore() : "").append(",");
-            csv.append(lead.getIntent() != null ? lead.getIntent().getDisplayName() : "").append(",");
-            csv.append(escapeCsvValue(lead.getReasoning()));
-            csv.append("\n");
+        StringWriter csv = new StringWriter();
+        try {
+            writeCsvHeader(csv);
+            for (Lead lead : leads) {
+                writeCsvRow(csv, lead);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-        
         return csv.toString();
     }
 
+    public void writeCsvHeader(Writer writer) throws IOException {
+        writer.write("name,role,company,industry,location,linkedin_bio,score,intent,reasoning\n");
+    }
+
+    public void writeCsvRow(Writer writer, Lead lead) throws IOException {
+        writer.write(escapeCsvValue(lead.getName()));
+        writer.write(',');
+        writer.write(escapeCsvValue(lead.getRole()));
+        writer.write(',');
+        writer.write(escapeCsvValue(lead.getCompany()));
+        writer.write(',');
+        writer.write(escapeCsvValue(lead.getIndustry()));
+        writer.write(',');
+        writer.write(escapeCsvValue(lead.getLocation()));
+        writer.write(',');
+        writer.write(escapeCsvValue(lead.getLinkedinBio()));
+        writer.write(',');
+        if (lead.getTotalScore() != null) {
+            writer.write(Integer.toString(lead.getTotalScore()));
+        }
+        writer.write(',');
+        if (lead.getIntent() != null) {
+            writer.write(lead.getIntent().getDisplayName());
+        }
+        writer.write(',');
+        writer.write(escapeCsvValue(lead.getReasoning()));
+        writer.write('\n');
+    }
+
     private String escapeCsvValue(String value) {
         if (value == null) {
             return "";
@@ -140,5 +330,88 @@ public class CsvProcessor {
         
         return value;
     }
-}
 
+    // Assigns line numbers across ranges and cuts their rows into chunks, as streamLeadsCsv does for one reader
+    private static class OrderedEmitter {
+        private final int chunkSize;
+        private final LeadChunkHandler handler;
+        private List<LeadRecord> chunk;
+        private int lineNumber = 1;
+        private int recordCount;
+
+        OrderedEmitter(int chunkSize, LeadChunkHandler handler) {
+            this.chunkSize = chunkSize;
+            this.handler = handler;
+            this.chunk = new ArrayList<>(chunkSize);
+        }
+
+        void emit(ParsedRange range) {
+            for (ParsedRow row : range.rows) {
+                int rowLineNumber = lineNumber + row.record;
+                recordCount++;
+                if (row.lead != null) {
+                    chunk.add(new LeadRecord(rowLineNumber, row.lead));
+                } else {
+                    logger.warn("Failed to process record at line {}: {}", rowLineNumber, row.error);
+                    handler.onInvalidRecord(rowLineNumber, row.error);
+                }
+
+                if (chunk.size() >= chunkSize) {
+                    handler.onChunk(chunk);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            lineNumber += range.records;
+        }
+
+        int finish() {
+            if (!chunk.isEmpty()) {
+                handler.onChunk(chunk);
+            }
+            return recordCount;
+        }
+    }
+
+    // The rows of one range, numbered by their record within it; blank records are counted but have no row
+    private static class ParsedRange {
+        private final List<ParsedRow> rows = new ArrayList<>();
+        private int records;
+    }
+
+    private static class ParsedRow {
+        private final int record;
+        private final Lead lead;
+        private final String error;
+
+        ParsedRow(int record, Lead lead, String error) {
+            this.record = record;
+            this.lead = lead;
+            this.error = error;
+        }
+    }
+
+    public interface LeadChunkHandler {
+
+        void onChunk(List<LeadRecord> chunk);
+
+        void onInvalidRecord(int lineNumber, String reason);
+    }
+
+    public static class LeadRecord {
+        private final int lineNumber;
+        private final Lead lead;
+
+        public LeadRecord(int lineNumber, Lead lead) {
+            this.lineNumber = lineNumber;
+            this.lead = lead;
+        }
+
+        public int getLineNumber() {
+            return lineNumber;
+        }
+
+        public Lead getLead() {
+            return lead;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.leadqualification.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+// Reads a CSV stream as ranges of about rangeBytes that each end on a record boundary, so every range parses on its
+// own. A boundary is a line break outside quotes, found by following the quote and escape state of opencsv's default
+// parser, so a quoted field that spans lines is never split. A line break byte never occurs inside a multi-byte
+// UTF-8 character, so every range also decodes on its own.
+final class CsvRangeSplitter {
+
+    private final InputStream in;
+    private byte[] buffer;
+    private int length;
+    private boolean eof;
+
+    CsvRangeSplitter(InputStream in, int rangeBytes) {
+        this.in = in;
+        this.buffer = new byte[rangeBytes];
+    }
+
+    // The next range, or null at the end of the stream. Only the last range may end without a newline.
+    byte[] next() throws IOException {
+        while (true) {
+            fill();
+            if (length == 0) {
+                return null;
+            }
+
+            int end = eof ? length : lastRecordEnd(buffer, length);
+            if (end > 0) {
+                byte[] range = Arrays.copyOf(buffer, end);
+                System.arraycopy(buffer, end, buffer, 0, length - end);
+                length -= end;
+                return range;
+            }
+
+            // A single record fills the buffer
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+    }
+
+    private void fill() throws IOException {
+        while (!eof && length < buffer.length) {
+            int read = in.read(buffer, length, buffer.length - length);
+            if (read < 0) {
+                eof = true;
+            } else {
+                length += read;
+            }
+        }
+    }
+
+    // The offset just past the last line break outside quotes, or 0 if there is none. The state mirrors
+    // CSVParser.parseLine with its defaults: inField decides whether a doubled quote is a literal quote, and a
+    // backslash escapes a quote, backslash or comma after it on the same line, inside quotes or not. Scanning starts
+    // at a record boundary, where the parser starts outside quotes and fields.
+    static int lastRecordEnd(byte[] bytes, int length) {
+        boolean inQuotes = false;
+        boolean inField = false;
+        int end = 0;
+        for (int i = 0; i < length; i++) {
+            byte b = bytes[i];
+            byte next = i + 1 < length ? bytes[i + 1] : 0;
+            if (b == '\\') {
+                inField = true;
+                if (next == '"' || next == '\\' || next == ',') {
+                    i++;
+                }
+            } else if (b == '"') {
+                if ((inQuotes || inField) && next == '"') {
+                    i++;
+                } else {
+                    inQuotes = !inQuotes;
+                }
+                inField = !inField;
+            } else if (b == '\n' || (b == '\r' && next == '\n')) {
+                // The reader strips line breaks, so one inside quotes leaves the state as it was
+                if (!inQuotes && b == '\n') {
+                    inField = false;
+                    end = i + 1;
+                }
+            } else if (b == ',' && !inQuotes) {
+                inField = false;
+            } else {
+                inField = true;
+            }
+        }
+        return end;
+    }
+}
@@ -0,0 +1,129 @@
+package com.leadqualification.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+// Aho-Corasick automaton: finds whether any keyword occurs in a text in a single pass
+public final class KeywordMatcher {
+
+    private static final int ASCII_SIZE = 128;
+
+    // Dense transition table for ASCII input; non-ASCII characters walk the trie and failure links
+    private final int[] asciiTransitions;
+    private final List<Map<Character, Integer>> children;
+    private final int[] failure;
+    private final String[] outputs;
+    private final boolean matchesEverything;
+
+    private KeywordMatcher(List<Map<Character, Integer>> children, int[] failure, String[] outputs,
+                           int[] asciiTransitions, boolean matchesEverything) {
+        this.children = children;
+        this.failure = failure;
+        this.outputs = outputs;
+        this.asciiTransitions = asciiTransitions;
+        this.matchesEverything = matchesEverything;
+    }
+
+    public static KeywordMatcher compile(Collection<String> keywords) {
+        List<Map<Character, Integer>> children = new ArrayList<>();
+        List<String> terminals = new ArrayList<>();
+        children.add(new HashMap<>());
+        terminals.add(null);
+        boolean matchesEverything = false;
+
+        for (String keyword : keywords) {
+            if (keyword == null) {
+                continue;
+            }
+            if (keyword.isEmpty()) {
+                matchesEverything = true;
+                continue;
+            }
+            int state = 0;
+            for (int i = 0; i < keyword.length(); i++) {
+                Integer next = children.get(state).get(keyword.charAt(i));
+                if (next == null) {
+                    next = children.size();
+                    children.add(new HashMap<>());
+                    terminals.add(null);
+                    children.get(state).put(keyword.charAt(i), next);
+                }
+                state = next;
+            }
+            if (terminals.get(state) == null) {
+                terminals.set(state, keyword);
+            }
+        }
+
+        int stateCount = children.size();
+        int[] failure = new int[stateCount];
+        String[] outputs = terminals.toArray(new String[0]);
+        int[] asciiTransitions = new int[stateCount * ASCII_SIZE];
+
+        for (int c = 0; c < ASCII_SIZE; c++) {
+            Integer child = children.get(0).get((char) c);
+            asciiTransitions[c] = child != null ? child : 0;
+        }
+
+        Queue<Integer> queue = new ArrayDeque<>(children.get(0).values());
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            if (outputs[state] == null) {
+                outputs[state] = outputs[failure[state]];
+            }
+            for (int c = 0; c < ASCII_SIZE; c++) {
+                Integer child = children.get(state).get((char) c);
+                asciiTransitions[state * ASCII_SIZE + c] = child != null
+                    ? child
+                    : asciiTransitions[failure[state] * ASCII_SIZE + c];
+            }
+            for (Map.Entry<Character, Integer> edge : children.get(state).entrySet()) {
+                int child = edge.getValue();
+                failure[child] = state == 0 ? 0 : step(children, failure, failure[state], edge.getKey());
+                queue.add(child);
+            }
+        }
+
+        return new KeywordMatcher(children, failure, outputs, asciiTransitions, matchesEverything);
+    }
+
+    public boolean matchesAny(String text) {
+        return findFirst(text) != null;
+    }
+
+    // Returns the keyword whose occurrence ends first in the text, or null if none occurs
+    public String findFirst(String text) {
+        if (matchesEverything) {
+            return "";
+        }
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            state = c < ASCII_SIZE
+                ? asciiTransitions[state * ASCII_SIZE + c]
+                : step(children, failure, state, c);
+            if (outputs[state] != null) {
+                return outputs[state];
+            }
+        }
+        return null;
+    }
+
+    private static int step(List<Map<Character, Integer>> children, int[] failure, int state, char c) {
+        while (true) {
+            Integer next = children.get(state).get(c);
+            if (next != null) {
+                return next;
+            }
+            if (state == 0) {
+                return 0;
+            }
+            state = failure[state];
+        }
+    }
+}
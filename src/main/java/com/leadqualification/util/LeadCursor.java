@@ -0,0 +1,66 @@
+package com.leadqualification.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Opaque keyset position for paging through leads: the id of the last row returned, plus its total score
+// for listings ordered by score
+public final class LeadCursor {
+
+    private static final String ID_PREFIX = "i:";
+    private static final String SCORE_PREFIX = "s:";
+
+    private final Integer score;
+    private final long id;
+
+    private LeadCursor(Integer score, long id) {
+        this.score = score;
+        this.id = id;
+    }
+
+    public static LeadCursor afterId(long id) {
+        return new LeadCursor(null, id);
+    }
+
+    public static LeadCursor afterScore(int score, long id) {
+        return new LeadCursor(score, id);
+    }
+
+    public static LeadCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+            if (value.startsWith(ID_PREFIX)) {
+                return afterId(Long.parseLong(value.substring(ID_PREFIX.length())));
+            }
+            if (value.startsWith(SCORE_PREFIX)) {
+                int separator = value.indexOf(':', SCORE_PREFIX.length());
+                return afterScore(Integer.parseInt(value.substring(SCORE_PREFIX.length(), separator)),
+                                  Long.parseLong(value.substring(separator + 1)));
+            }
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            // fall through to the invalid cursor error below
+        }
+        throw new IllegalArgumentException("Invalid cursor: " + token);
+    }
+
+    public String encode() {
+        String value = score == null ? ID_PREFIX + id : SCORE_PREFIX + score + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public boolean isScoreCursor() {
+        return score != null;
+    }
+
+    public Integer getScore() {
+        return score;
+    }
+
+    public long getId() {
+        return id;
+    }
+}
@@ -0,0 +1,80 @@
+package com.leadqualification.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Suffix automaton over a fixed text: tests whether a string occurs in it in time linear in the query
+public final class SubstringIndex {
+
+    private final List<Map<Character, Integer>> transitions = new ArrayList<>();
+    private final List<Integer> links = new ArrayList<>();
+    private final List<Integer> lengths = new ArrayList<>();
+
+    private SubstringIndex() {
+        addState(0, -1);
+    }
+
+    public static SubstringIndex of(String text) {
+        SubstringIndex index = new SubstringIndex();
+        int last = 0;
+        for (int i = 0; i < text.length(); i++) {
+            last = index.extend(last, text.charAt(i));
+        }
+        return index;
+    }
+
+    public boolean contains(String query) {
+        return contains(query, 0, query.length());
+    }
+
+    public boolean contains(String query, int from, int to) {
+        int state = 0;
+        for (int i = from; i < to; i++) {
+            Integer next = transitions.get(state).get(query.charAt(i));
+            if (next == null) {
+                return false;
+            }
+            state = next;
+        }
+        return true;
+    }
+
+    private int extend(int last, char c) {
+        int current = addState(lengths.get(last) + 1, -1);
+        int state = last;
+        while (state != -1 && !transitions.get(state).containsKey(c)) {
+            transitions.get(state).put(c, current);
+            state = links.get(state);
+        }
+
+        if (state == -1) {
+            links.set(current, 0);
+            return current;
+        }
+
+        int next = transitions.get(state).get(c);
+        if (lengths.get(state) + 1 == lengths.get(next)) {
+            links.set(current, next);
+            return current;
+        }
+
+        int clone = addState(lengths.get(state) + 1, links.get(next));
+        transitions.get(clone).putAll(transitions.get(next));
+        while (state != -1 && Integer.valueOf(next).equals(transitions.get(state).get(c))) {
+            transitions.get(state).put(c, clone);
+            state = links.get(state);
+        }
+        links.set(next, clone);
+        links.set(current, clone);
+        return current;
+    }
+
+    private int addState(int length, int link) {
+        transitions.add(new HashMap<>());
+        links.add(link);
+        lengths.add(length);
+        return transitions.size() - 1;
+    }
+}
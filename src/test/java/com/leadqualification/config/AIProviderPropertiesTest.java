@@ -0,0 +1,31 @@
+package com.leadqualification.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AIProviderPropertiesTest {
+
+    @Test
+    void testProviderSettingsBindUnderTheirOwnPrefix() {
+        Binder binder = new Binder(new MapConfigurationPropertySource(Map.of(
+            "gemini.api.key", "secret",
+            "gemini.governor.requests-per-minute", "60",
+            "gemini.circuit-breaker.open-duration-ms", "1000",
+            "openai.governor.initial-concurrency", "3")));
+
+        AIProviderProperties gemini = binder.bindOrCreate("gemini", AIProviderProperties.class);
+        AIProviderProperties openai = binder.bindOrCreate("openai", AIProviderProperties.class);
+
+        assertEquals(60, gemini.getGovernor().getRequestsPerMinute());
+        assertEquals(1000, gemini.getCircuitBreaker().getOpenDurationMs());
+        assertEquals(10, gemini.getGovernor().getInitialConcurrency());
+        assertEquals(3, openai.getGovernor().getInitialConcurrency());
+        assertEquals(300, openai.getGovernor().getRequestsPerMinute());
+        assertEquals(20, openai.getCircuitBreaker().getWindowSize());
+    }
+}
@@ -0,0 +1,116 @@
+package com.leadqualification.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AICallGovernorTest {
+
+    @Test
+    void testTokenBucketPacesCallsBeyondBurst() {
+        // 600 per minute is one call every 100ms once the burst of 2 is spent
+        AICallGovernor governor = governor(600, 2, 1, 10, 10);
+
+        long start = System.nanoTime();
+        Flux.range(0, 6)
+            .flatMap(i -> governor.execute(() -> Mono.just(i)))
+            .blockLast();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMs >= 350, "6 calls took only " + elapsedMs + "ms");
+        assertTrue(elapsedMs < 2000, "6 calls took " + elapsedMs + "ms");
+    }
+
+    @Test
+    void testConcurrencyLimitHalvesOnErrorsAndGrowsOnSuccess() {
+        AICallGovernor governor = governor(60000, 1000, 1, 2, 16);
+        assertEquals(16, governor.getConcurrencyLimit());
+
+        assertThrows(WebClientResponseException.class,
+                     () -> governor.execute(() -> Mono.error(error(503, null))).block());
+        assertEquals(8, governor.getConcurrencyLimit());
+
+        for (int i = 0; i < 40; i++) {
+            governor.execute(() -> Mono.just("ok")).block();
+        }
+        assertTrue(governor.getConcurrencyLimit() > 8, "limit " + governor.getConcurrencyLimit());
+        assertEquals(0, governor.getInFlight());
+    }
+
+    @Test
+    void testConcurrencyLimitCapsCallsInFlight() {
+        AICallGovernor governor = governor(60000, 1000, 1, 2, 2);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        Flux.range(0, 10)
+            .flatMap(i -> governor.execute(() -> Mono.fromCallable(() -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    return i;
+                })
+                .delayElement(Duration.ofMillis(50))
+                .doFinally(signal -> running.decrementAndGet())))
+            .blockLast();
+
+        // the limit starts at 2 and grows by about one per window of successes, so it reaches 4 by the last calls
+        assertTrue(maxRunning.get() <= 4, "max " + maxRunning.get() + " calls in flight");
+        assertEquals(0, governor.getInFlight());
+    }
+
+    @Test
+    void testRetriesUntilSuccess() {
+        AICallGovernor governor = governor(60000, 1000, 4, 1, 10);
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = governor.execute(() -> attempts.incrementAndGet() < 3
+            ? Mono.error(error(500, null))
+            : Mono.just("ok")).block();
+
+        assertEquals("ok", result);
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void testRetryDelayHonoursRetryAfter() {
+        AICallGovernor governor = governor(60000, 1000, 4, 1, 10);
+
+        assertEquals(Duration.ofSeconds(2), AICallGovernor.retryAfter(error(429, "2")));
+        String date = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now().plusSeconds(5));
+        Duration untilDate = AICallGovernor.retryAfter(error(503, date));
+        assertTrue(untilDate.toSeconds() >= 3 && untilDate.toSeconds() <= 5, untilDate.toString());
+
+        assertTrue(governor.retryDelay(error(429, "2"), 1).toMillis() >= 2000);
+        // longer than the longest backoff: give up and let the lead be retried later
+        assertNull(governor.retryDelay(error(429, "120"), 1));
+        assertNull(governor.retryDelay(error(400, null), 1));
+        assertNull(governor.retryDelay(error(500, null), 4));
+        assertTrue(governor.retryDelay(error(500, null), 1).toMillis() <= 10);
+    }
+
+    private static AICallGovernor governor(int requestsPerMinute, int burst, int maxAttempts, int minConcurrency,
+                                           int initialConcurrency) {
+        return new AICallGovernor("test", requestsPerMinute, burst, maxAttempts, 10, 5000, minConcurrency, 100,
+                                  initialConcurrency, new SimpleMeterRegistry());
+    }
+
+    private static WebClientResponseException error(int status, String retryAfter) {
+        HttpHeaders headers = new HttpHeaders();
+        if (retryAfter != null) {
+            headers.set(HttpHeaders.RETRY_AFTER, retryAfter);
+        }
+        return WebClientResponseException.create(status, HttpStatus.valueOf(status).getReasonPhrase(), headers,
+                                                 new byte[0], StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,99 @@
+package com.leadqualification.service;
+
+import com.leadqualification.exception.AIUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AICircuitBreakerTest {
+
+    @Test
+    void testOpensOnceFailureRateReachesThreshold() {
+        AICircuitBreaker breaker = breaker(10, 4, 50, 60000, 1);
+
+        // too few calls to judge
+        call(breaker, true);
+        call(breaker, false);
+        call(breaker, false);
+        assertEquals(AICircuitBreaker.State.CLOSED, breaker.getState());
+
+        // 1 of 4, then 2 of 5 calls failed
+        call(breaker, false);
+        call(breaker, true);
+        assertEquals(AICircuitBreaker.State.CLOSED, breaker.getState());
+        // 3 of 6 calls failed
+        call(breaker, true);
+        assertEquals(AICircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.isCallPermitted());
+
+        AtomicInteger calls = new AtomicInteger();
+        assertThrows(AIUnavailableException.class,
+                     () -> breaker.execute(() -> Mono.fromCallable(calls::incrementAndGet)).block());
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    void testClientErrorsDoNotCountAsFailures() {
+        AICircuitBreaker breaker = breaker(4, 2, 50, 60000, 1);
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(WebClientResponseException.class,
+                         () -> breaker.execute(() -> Mono.error(error(400))).block());
+        }
+        assertEquals(AICircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void testHalfOpenTrialCallsCloseOrReopen() throws InterruptedException {
+        AICircuitBreaker breaker = breaker(2, 2, 100, 50, 2);
+        List<AICircuitBreaker.State> changes = new ArrayList<>();
+        breaker.onStateChange(changes::add);
+
+        call(breaker, true);
+        call(breaker, true);
+        assertEquals(AICircuitBreaker.State.OPEN, breaker.getState());
+
+        Thread.sleep(80);
+        assertTrue(breaker.isCallPermitted());
+        call(breaker, true);
+        assertEquals(AICircuitBreaker.State.OPEN, breaker.getState());
+
+        Thread.sleep(80);
+        call(breaker, false);
+        assertEquals(AICircuitBreaker.State.HALF_OPEN, breaker.getState());
+        call(breaker, false);
+        assertEquals(AICircuitBreaker.State.CLOSED, breaker.getState());
+
+        assertEquals(List.of(AICircuitBreaker.State.OPEN, AICircuitBreaker.State.HALF_OPEN,
+                             AICircuitBreaker.State.OPEN, AICircuitBreaker.State.HALF_OPEN,
+                             AICircuitBreaker.State.CLOSED), changes);
+    }
+
+    private static void call(AICircuitBreaker breaker, boolean fail) {
+        Mono<String> result = breaker.execute(() -> fail ? Mono.error(error(503)) : Mono.just("ok"));
+        if (fail) {
+            assertThrows(WebClientResponseException.class, result::block);
+        } else {
+            assertEquals("ok", result.block());
+        }
+    }
+
+    private static AICircuitBreaker breaker(int windowSize, int minimumCalls, int failureRateThreshold,
+                                            long openDurationMs, int halfOpenCalls) {
+        return new AICircuitBreaker("test", windowSize, minimumCalls, failureRateThreshold, openDurationMs,
+                                    halfOpenCalls, new SimpleMeterRegistry());
+    }
+
+    private static WebClientResponseException error(int status) {
+        return WebClientResponseException.create(status, "", new HttpHeaders(), new byte[0], StandardCharsets.UTF_8);
+    }
+}
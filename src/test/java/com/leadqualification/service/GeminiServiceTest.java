@@ -0,0 +1,427 @@
+package com.leadqualification.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.leadqualification.config.AppConfig;
+import com.leadqualification.entity.IntentLevel;
+import com.leadqualification.entity.Lead;
+import com.leadqualification.exception.AIScoringException;
+import com.leadqualification.exception.AIUnavailableException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeminiServiceTest {
+
+    private static final String HIGH_INTENT_RESPONSE = "{\"candidates\":[{\"content\":{\"parts\":[{\"text\":" +
+        "\"Intent: High\\nReasoning: Decision maker in a SaaS company.\"}]}}]}";
+
+    private HttpServer server;
+    private GeminiService geminiService;
+    private AIResultCache aiResultCache;
+    private OfferSnapshot testOffer;
+    private Lead testLead;
+
+    private volatile int responseStatus = 200;
+    private volatile String responseBody = HIGH_INTENT_RESPONSE;
+    private volatile long responseDelayMs = 0;
+    private volatile String batchAnswer = answerFor(1, 10);
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private final AtomicInteger failuresLeft = new AtomicInteger();
+    private volatile int failureStatus = 503;
+    private volatile String retryAfter;
+    private final AtomicInteger batchRequestCount = new AtomicInteger();
+    private volatile String lastRequest;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/gemini", this::handle);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+
+        aiResultCache = new AIResultCache(true, 1000, 60, false, new SimpleMeterRegistry(), null);
+        geminiService = createService(3);
+
+        testOffer = new OfferSnapshot(
+            null,
+            "AI Outreach Automation",
+            Arrays.asList("24/7 outreach", "6x more meetings"),
+            Arrays.asList("B2B SaaS mid-market")
+        );
+        testLead = new Lead("John Doe", "CEO", "TechCorp", "Software", "San Francisco", "Experienced CEO");
+    }
+
+    private GeminiService createService(int maxAttempts) {
+        return createService(maxAttempts, new AICircuitBreaker("gemini", 20, 10, 50, 60000, 1, new SimpleMeterRegistry()));
+    }
+
+    private GeminiService createService(int maxAttempts, AICircuitBreaker circuitBreaker) {
+        AICallGovernor governor = new AICallGovernor("gemini", 60000, 1000, maxAttempts, 10, 2000, 1, 1000, 1000,
+                                                     new SimpleMeterRegistry());
+        GeminiService geminiService = new GeminiService(new AppConfig().geminiWebClient(500, 10000, 1000, 2000),
+                                                        aiResultCache, governor, circuitBreaker);
+        ReflectionTestUtils.setField(geminiService, "apiKey", "test-key");
+        ReflectionTestUtils.setField(geminiService, "baseUrl",
+                                     "http://127.0.0.1:" + server.getAddress().getPort() + "/gemini");
+        ReflectionTestUtils.setField(geminiService, "maxTokens", 150);
+        ReflectionTestUtils.setField(geminiService, "temperature", 0.3);
+        ReflectionTestUtils.setField(geminiService, "requestTimeoutMs", 1000L);
+        return geminiService;
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void testScoreLeadIntent_ParsesResponse() {
+        AIScoreResult result = geminiService.scoreLeadIntent(testLead, testOffer);
+
+        assertEquals(IntentLevel.HIGH, result.getIntent());
+        assertEquals("Decision maker in a SaaS company.", result.getReasoning());
+        assertEquals(1, requestCount.get());
+    }
+
+    @Test
+    void testScoreLeadIntent_ServerErrorsAreRetriedThenFail() {
+        responseStatus = 503;
+        responseBody = "{\"error\":\"unavailable\"}";
+
+        AIScoringException error = assertThrows(AIScoringException.class,
+                                                () -> geminiService.scoreLeadIntent(testLead, testOffer));
+
+        assertEquals("AI scoring failed: AI provider returned 503 Service Unavailable", error.getMessage());
+        assertEquals(3, requestCount.get());
+    }
+
+    @Test
+    void testScoreLeadIntent_ClientErrorsAreNotRetried() {
+        responseStatus = 400;
+        responseBody = "{\"error\":\"bad request\"}";
+
+        assertThrows(AIScoringException.class, () -> geminiService.scoreLeadIntent(testLead, testOffer));
+        assertEquals(1, requestCount.get());
+    }
+
+    @Test
+    void testScoreLeadIntent_ThrottledCallRetriedAfterRetryAfter() {
+        failuresLeft.set(1);
+        failureStatus = 429;
+        retryAfter = "1";
+
+        long start = System.nanoTime();
+        AIScoreResult result = geminiService.scoreLeadIntent(testLead, testOffer);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(IntentLevel.HIGH, result.getIntent());
+        assertEquals(2, requestCount.get());
+        assertTrue(elapsedMs >= 1000, "retried after " + elapsedMs + "ms despite Retry-After: 1");
+    }
+
+    @Test
+    void testScoreLeadIntent_OpenCircuitFailsFastWithoutCalling() {
+        geminiService = createService(1, new AICircuitBreaker("gemini", 4, 2, 50, 60000, 1, new SimpleMeterRegistry()));
+        responseStatus = 503;
+        responseBody = "{\"error\":\"unavailable\"}";
+
+        for (int i = 0; i < 2; i++) {
+            Lead lead = new Lead("Lead " + i, "CEO", "TechCorp", "Software", "San Francisco", "Bio " + i);
+            assertThrows(AIScoringException.class, () -> geminiService.scoreLeadIntent(lead, testOffer));
+        }
+        assertFalse(geminiService.isAvailable());
+
+        assertThrows(AIUnavailableException.class, () -> geminiService.scoreLeadIntent(testLead, testOffer));
+        assertEquals(2, requestCount.get());
+    }
+
+    @Test
+    void testScoreLeadIntent_TimesOut() {
+        geminiService = createService(1);
+        responseDelayMs = 3000;
+
+        long start = System.nanoTime();
+        AIScoringException error = assertThrows(AIScoringException.class,
+                                                () -> geminiService.scoreLeadIntent(testLead, testOffer));
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals("AI scoring failed: AI provider did not answer within 1000 ms", error.getMessage());
+        assertTrue(elapsedMs < 2500, "request should time out after ~1s but took " + elapsedMs + "ms");
+    }
+
+    @Test
+    void testScoreLeadIntentAsync_ManyConcurrentCallsWithoutBlockingThreads() {
+        responseDelayMs = 200;
+        int calls = 300;
+
+        long start = System.nanoTime();
+        List<AIScoreResult> results = Flux.range(0, calls)
+            .map(i -> new Lead("Lead " + i, "CEO", "TechCorp", "Software", "San Francisco", "Experienced CEO"))
+            .flatMap(lead -> geminiService.scoreLeadIntentAsync(lead, testOffer), calls)
+            .collectList()
+            .block();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(calls, results.size());
+        assertTrue(results.stream().allMatch(result -> result.getIntent() == IntentLevel.HIGH));
+        assertTrue(elapsedMs < 5000, calls + " concurrent calls took " + elapsedMs + "ms");
+        assertEquals(calls, requestCount.get());
+    }
+
+    @Test
+    void testScoreLeadIntent_UnchangedInputsServedFromCache() {
+        geminiService.scoreLeadIntent(testLead, testOffer);
+        AIScoreResult cached = geminiService.scoreLeadIntent(testLead, testOffer);
+
+        assertEquals(IntentLevel.HIGH, cached.getIntent());
+        assertEquals(1, requestCount.get());
+
+        testLead.setRole("CTO");
+        geminiService.scoreLeadIntent(testLead, testOffer);
+        assertEquals(2, requestCount.get());
+    }
+
+    @Test
+    void testScoreLeadIntent_EditedOfferIsSentAgain() {
+        geminiService.scoreLeadIntent(testLead, testOffer);
+        assertTrue(lastRequest.contains("Value Propositions: 24/7 outreach, 6x more meetings"));
+
+        testOffer = new OfferSnapshot(null, testOffer.getName(), List.of("24/7 outreach", "Fewer no-shows"),
+                                      testOffer.getIdealUseCases());
+        geminiService.scoreLeadIntent(testLead, testOffer);
+
+        assertEquals(2, requestCount.get());
+        assertTrue(lastRequest.contains("Value Propositions: 24/7 outreach, Fewer no-shows"));
+    }
+
+    @Test
+    void testScoreLeadIntents_PacksLeadsIntoBatches() {
+        enableBatching(10, 8000);
+        List<Lead> leads = leads(25);
+
+        List<AIScoreResult> results = scoreAll(leads);
+
+        assertEquals(25, results.size());
+        for (int i = 0; i < 25; i++) {
+            assertEquals("Prospect " + (i % 10 + 1), results.get(i).getReasoning());
+            assertEquals(i % 10 % 2 == 0 ? IntentLevel.HIGH : IntentLevel.MEDIUM, results.get(i).getIntent());
+        }
+        assertEquals(3, requestCount.get());
+        assertEquals(3, batchRequestCount.get());
+    }
+
+    @Test
+    void testScoreLeadIntents_BatchesStayWithinPromptBudget() {
+        // room for the offer, the instructions and two prospects
+        enableBatching(10, 290);
+
+        List<AIScoreResult> results = scoreAll(leads(6));
+
+        assertEquals(6, results.size());
+        assertEquals(3, batchRequestCount.get());
+        assertEquals(3, requestCount.get());
+    }
+
+    @Test
+    void testScoreLeadIntents_LeftOutLeadsAreScoredIndividually() {
+        enableBatching(10, 8000);
+        batchAnswer = "Here are the classifications for [1] to [4]:\n```json\n[" +
+            "{\"id\": 1, \"intent\": \"Low\", \"reasoning\": \"Not a buyer.\"}," +
+            "{\"id\": \"3\", \"intent\": \"Unsure\", \"reasoning\": \"Hard to say.\"}," +
+            "{\"id\": 4, \"intent\": \"medium\"}," +
+            "{\"id\": 4, \"intent\": \"High\", \"reasoning\": \"Duplicate.\"}" +
+            "]\n```";
+
+        List<AIScoreResult> results = scoreAll(leads(4));
+
+        assertEquals(IntentLevel.LOW, results.get(0).getIntent());
+        assertEquals("Not a buyer.", results.get(0).getReasoning());
+        assertEquals(IntentLevel.HIGH, results.get(1).getIntent());
+        assertEquals("Decision maker in a SaaS company.", results.get(1).getReasoning());
+        assertEquals(IntentLevel.HIGH, results.get(2).getIntent());
+        assertEquals(IntentLevel.MEDIUM, results.get(3).getIntent());
+        assertEquals(1, batchRequestCount.get());
+        assertEquals(3, requestCount.get());
+    }
+
+    @Test
+    void testScoreLeadIntents_CachedLeadsAreNotSent() {
+        enableBatching(10, 8000);
+        List<Lead> leads = leads(5);
+        geminiService.scoreLeadIntent(leads.get(2), testOffer);
+
+        List<AIScoreResult> results = scoreAll(leads);
+
+        assertEquals("Decision maker in a SaaS company.", results.get(2).getReasoning());
+        assertEquals("Prospect 3", results.get(3).getReasoning());
+        assertEquals(2, requestCount.get());
+
+        scoreAll(leads);
+        assertEquals(2, requestCount.get());
+    }
+
+    @Test
+    void testScoreLeadIntents_FailedBatchFailsEachLead() {
+        enableBatching(10, 8000);
+        responseStatus = 400;
+
+        List<Mono<AIScoreResult>> results = geminiService.scoreLeadIntentsAsync(leads(3), testOffer);
+
+        for (Mono<AIScoreResult> result : results) {
+            AIScoringException error = assertThrows(AIScoringException.class, result::block);
+            assertEquals("AI scoring failed: AI provider returned 400 Bad Request", error.getMessage());
+        }
+        assertEquals(1, requestCount.get());
+    }
+
+    @Test
+    void testScoreLeadIntent_StructuredOutputReadsJsonAnswer() throws IOException {
+        ReflectionTestUtils.setField(geminiService, "structuredOutput", true);
+        responseBody = envelope("{\"intent\": \" medium\", \"reasoning\": \"Fits the \\\"mid-market\\\" profile.\"}");
+
+        AIScoreResult result = geminiService.scoreLeadIntent(testLead, testOffer);
+
+        assertEquals(IntentLevel.MEDIUM, result.getIntent());
+        assertEquals("Fits the \"mid-market\" profile.", result.getReasoning());
+        assertTrue(lastRequest.contains("\"responseMimeType\":\"application/json\""));
+        assertTrue(lastRequest.contains("\"responseSchema\":{\"type\":\"OBJECT\""));
+    }
+
+    @Test
+    void testScoreLeadIntent_StructuredAnswerWithoutValidIntentFails() throws IOException {
+        ReflectionTestUtils.setField(geminiService, "structuredOutput", true);
+        responseBody = envelope("{\"intent\": \"Unsure\", \"reasoning\": \"Hard to say.\"}");
+
+        AIScoringException error = assertThrows(AIScoringException.class,
+                                                 () -> geminiService.scoreLeadIntent(testLead, testOffer));
+        assertTrue(error.getMessage().startsWith("AI response has no valid intent"));
+
+        responseBody = envelope("Intent: High");
+        assertThrows(AIScoringException.class, () -> geminiService.scoreLeadIntent(testLead, testOffer));
+    }
+
+    @Test
+    void testScoreLeadIntents_StructuredOutputBatches() {
+        ReflectionTestUtils.setField(geminiService, "structuredOutput", true);
+        enableBatching(10, 8000);
+
+        List<AIScoreResult> results = scoreAll(leads(4));
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals("Prospect " + (i + 1), results.get(i).getReasoning());
+        }
+        assertEquals(1, requestCount.get());
+        assertTrue(lastRequest.contains("\"type\":\"ARRAY\""));
+    }
+
+    @Test
+    void testScoreLeadIntent_FailuresAreNotCached() {
+        responseStatus = 400;
+        assertThrows(AIScoringException.class, () -> geminiService.scoreLeadIntent(testLead, testOffer));
+
+        responseStatus = 200;
+        AIScoreResult result = geminiService.scoreLeadIntent(testLead, testOffer);
+
+        assertEquals(IntentLevel.HIGH, result.getIntent());
+        assertEquals(2, requestCount.get());
+    }
+
+    @Test
+    void testScoreLeadIntent_UnreadableTextAnswerFailsAndIsNotCached() throws IOException {
+        responseBody = envelope("I would need more information about this prospect before classifying them.");
+
+        AIScoringException error = assertThrows(AIScoringException.class,
+                                                 () -> geminiService.scoreLeadIntent(testLead, testOffer));
+        assertTrue(error.getMessage().startsWith("AI response has no valid intent"));
+
+        responseBody = envelope("Intent: Unsure\nReasoning: Hard to say.");
+        assertThrows(AIScoringException.class, () -> geminiService.scoreLeadIntent(testLead, testOffer));
+
+        responseBody = envelope("Intent: [Medium]\nReasoning: Some fit.");
+        assertEquals(IntentLevel.MEDIUM, geminiService.scoreLeadIntent(testLead, testOffer).getIntent());
+        assertEquals(3, requestCount.get());
+    }
+
+    private List<AIScoreResult> scoreAll(List<Lead> leads) {
+        return Flux.concat(geminiService.scoreLeadIntentsAsync(leads, testOffer)).collectList().block();
+    }
+
+    private void enableBatching(int batchSize, int maxPromptTokens) {
+        ReflectionTestUtils.setField(geminiService, "batchSize", batchSize);
+        ReflectionTestUtils.setField(geminiService, "maxBatchPromptTokens", maxPromptTokens);
+        ReflectionTestUtils.setField(geminiService, "maxBatchOutputTokens", 4096);
+    }
+
+    private static List<Lead> leads(int count) {
+        List<Lead> leads = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            leads.add(new Lead("Lead " + i, "CEO", "TechCorp " + i, "Software", "San Francisco", "Experienced CEO"));
+        }
+        return leads;
+    }
+
+    private static String answerFor(int firstId, int lastId) {
+        StringBuilder answer = new StringBuilder("[");
+        for (int id = firstId; id <= lastId; id++) {
+            answer.append(id > firstId ? "," : "")
+                .append("{\"id\":").append(id)
+                .append(",\"intent\":\"").append(id % 2 == 1 ? "High" : "Medium")
+                .append("\",\"reasoning\":\"Prospect ").append(id).append("\"}");
+        }
+        return answer.append("]").toString();
+    }
+
+    private static String envelope(String answer) throws IOException {
+        return "{\"candidates\":[{\"content\":{\"parts\":[{\"text\":" +
+            new ObjectMapper().writeValueAsString(answer) + "}]}}]}";
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        String request = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        lastRequest = request;
+        String responseBody = this.responseBody;
+        int responseStatus = this.responseStatus;
+        if (failuresLeft.getAndUpdate(left -> Math.max(0, left - 1)) > 0) {
+            responseStatus = failureStatus;
+            if (retryAfter != null) {
+                exchange.getResponseHeaders().add("Retry-After", retryAfter);
+            }
+        } else if (request.contains("PROSPECTS:")) {
+            batchRequestCount.incrementAndGet();
+            responseBody = envelope(batchAnswer);
+        }
+        if (responseDelayMs > 0) {
+            try {
+                Thread.sleep(responseDelayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        byte[] body = responseBody.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(responseStatus, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
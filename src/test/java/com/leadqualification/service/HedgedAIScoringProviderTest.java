@@ -0,0 +1,135 @@
+package com.leadqualification.service;
+
+import com.leadqualification.entity.IntentLevel;
+import com.leadqualification.entity.Lead;
+import com.leadqualification.exception.AIScoringException;
+import com.leadqualification.exception.AIUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HedgedAIScoringProviderTest {
+
+    private final Lead lead = new Lead("John Doe", "CEO", "TechCorp", "Software", "San Francisco", "Experienced CEO");
+    private final OfferSnapshot offer = new OfferSnapshot(null, "Outreach", List.of("automation"), List.of("B2B SaaS"));
+
+    @Test
+    void testFastPrimaryIsNotHedged() {
+        StubProvider primary = new StubProvider("primary", () -> Mono.just(result(IntentLevel.HIGH)));
+        StubProvider secondary = new StubProvider("secondary", () -> Mono.just(result(IntentLevel.LOW)));
+        HedgedAIScoringProvider provider = hedged(primary, secondary, 500);
+
+        assertEquals(IntentLevel.HIGH, provider.scoreLeadIntentAsync(lead, offer).block().getIntent());
+        assertEquals(0, secondary.calls.get());
+    }
+
+    @Test
+    void testSlowPrimaryIsHedgedAfterDelay() {
+        StubProvider primary = new StubProvider("primary",
+            () -> Mono.just(result(IntentLevel.HIGH)).delayElement(Duration.ofSeconds(5)));
+        StubProvider secondary = new StubProvider("secondary", () -> Mono.just(result(IntentLevel.LOW)));
+        HedgedAIScoringProvider provider = hedged(primary, secondary, 100);
+
+        long start = System.nanoTime();
+        AIScoreResult result = provider.scoreLeadIntentAsync(lead, offer).block();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(IntentLevel.LOW, result.getIntent());
+        assertTrue(elapsedMs >= 100 && elapsedMs < 2000, "answered after " + elapsedMs + "ms");
+    }
+
+    @Test
+    void testFailedPrimaryFallsOverWithoutWaiting() {
+        StubProvider primary = new StubProvider("primary",
+            () -> Mono.error(new AIUnavailableException("circuit open")));
+        StubProvider secondary = new StubProvider("secondary", () -> Mono.just(result(IntentLevel.MEDIUM)));
+        HedgedAIScoringProvider provider = hedged(primary, secondary, 5000);
+
+        long start = System.nanoTime();
+        AIScoreResult result = provider.scoreLeadIntentAsync(lead, offer).block();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(IntentLevel.MEDIUM, result.getIntent());
+        assertTrue(elapsedMs < 1000, "answered after " + elapsedMs + "ms");
+    }
+
+    @Test
+    void testBothFailingReportsTheRealFailure() {
+        StubProvider primary = new StubProvider("primary",
+            () -> Mono.error(new AIUnavailableException("circuit open")));
+        StubProvider failing = new StubProvider("secondary", () -> Mono.error(new AIScoringException("bad request")));
+        AIScoringException error = assertThrows(AIScoringException.class,
+            () -> hedged(primary, failing, 100).scoreLeadIntentAsync(lead, offer).block());
+        assertEquals("bad request", error.getMessage());
+
+        StubProvider unavailable = new StubProvider("secondary",
+            () -> Mono.error(new AIUnavailableException("circuit open")));
+        assertThrows(AIUnavailableException.class,
+            () -> hedged(primary, unavailable, 100).scoreLeadIntentAsync(lead, offer).block());
+    }
+
+    @Test
+    void testCachedResultsDoNotLowerTheHedgeDelay() {
+        StubProvider secondary = new StubProvider("secondary", () -> Mono.just(result(IntentLevel.LOW)));
+        SimpleMeterRegistry cachedRegistry = new SimpleMeterRegistry();
+        HedgedAIScoringProvider warmCache = hedged(
+            new StubProvider("primary", () -> Mono.just(result(IntentLevel.HIGH).asCached())), secondary, 500,
+            cachedRegistry);
+        SimpleMeterRegistry calledRegistry = new SimpleMeterRegistry();
+        HedgedAIScoringProvider fastCalls = hedged(
+            new StubProvider("primary", () -> Mono.just(result(IntentLevel.HIGH))), secondary, 500, calledRegistry);
+
+        for (int i = 0; i < 50; i++) {
+            warmCache.scoreLeadIntentAsync(lead, offer).block();
+            fastCalls.scoreLeadIntentAsync(lead, offer).block();
+        }
+
+        assertEquals(500, cachedRegistry.get("scoring.ai.hedge.delay").gauge().value());
+        assertEquals(10, calledRegistry.get("scoring.ai.hedge.delay").gauge().value());
+    }
+
+    private static HedgedAIScoringProvider hedged(AIScoringProvider primary, AIScoringProvider secondary,
+                                                  long initialDelayMs) {
+        return hedged(primary, secondary, initialDelayMs, new SimpleMeterRegistry());
+    }
+
+    private static HedgedAIScoringProvider hedged(AIScoringProvider primary, AIScoringProvider secondary,
+                                                  long initialDelayMs, SimpleMeterRegistry meterRegistry) {
+        return new HedgedAIScoringProvider(primary, secondary, 95, 10, initialDelayMs, 100, meterRegistry);
+    }
+
+    private static AIScoreResult result(IntentLevel intent) {
+        return new AIScoreResult(intent, intent.name());
+    }
+
+    private static class StubProvider implements AIScoringProvider {
+        private final String name;
+        private final Supplier<Mono<AIScoreResult>> answer;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        StubProvider(String name, Supplier<Mono<AIScoreResult>> answer) {
+            this.name = name;
+            this.answer = answer;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public Mono<AIScoreResult> scoreLeadIntentAsync(Lead lead, OfferSnapshot offer) {
+            return Mono.defer(() -> {
+                calls.incrementAndGet();
+                return answer.get();
+            });
+        }
+    }
+}
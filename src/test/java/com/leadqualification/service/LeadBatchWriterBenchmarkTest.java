@@ -0,0 +1,95 @@
+package com.leadqualification.service;
+
+import com.leadqualification.entity.Lead;
+import com.leadqualification.repository.LeadRepository;
+import com.leadqualification.util.CsvProcessor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class LeadBatchWriterBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 100_000);
+    private static final int CHUNK_SIZE = 500;
+
+    @Autowired
+    private LeadBatchWriter leadBatchWriter;
+
+    @Autowired
+    private LeadRepository leadRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        leadRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void compareRowByRowSaveWithBatchWriter() {
+        long rowByRowNanos = timeRowByRowSave();
+        assertEquals(ROWS, leadRepository.count());
+        leadRepository.deleteAllInBatch();
+
+        long batchNanos = timeBatchWriter();
+        assertEquals(ROWS, leadRepository.count());
+
+        System.out.printf("Lead insert benchmark (%d rows): row-by-row %.0f rows/s, batched %.0f rows/s%n",
+                          ROWS, rowsPerSecond(rowByRowNanos), rowsPerSecond(batchNanos));
+    }
+
+    // Mirrors the previous upload path: one INSERT round trip per row in a transaction per chunk. Clearing after each
+    // flush keeps the cost per row constant, as IDENTITY inserts had no saved entities to dirty-check on a flush
+    private long timeRowByRowSave() {
+        long start = System.nanoTime();
+        for (int offset = 0; offset < ROWS; offset += CHUNK_SIZE) {
+            List<CsvProcessor.LeadRecord> chunk = chunk(offset);
+            transactionTemplate.executeWithoutResult(status -> chunk.forEach(record -> {
+                leadRepository.save(record.getLead());
+                entityManager.flush();
+                entityManager.clear();
+            }));
+        }
+        return System.nanoTime() - start;
+    }
+
+    private long timeBatchWriter() {
+        long start = System.nanoTime();
+        for (int offset = 0; offset < ROWS; offset += CHUNK_SIZE) {
+            leadBatchWriter.write(chunk(offset));
+        }
+        return System.nanoTime() - start;
+    }
+
+    private List<CsvProcessor.LeadRecord> chunk(int offset) {
+        int size = Math.min(CHUNK_SIZE, ROWS - offset);
+        List<CsvProcessor.LeadRecord> records = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int n = offset + i;
+            Lead lead = new Lead("Lead " + n, "Head of Growth", "Company " + n, "SaaS",
+                                 "San Francisco", "Growth leader number " + n);
+            records.add(new CsvProcessor.LeadRecord(n + 2, lead));
+        }
+        return records;
+    }
+
+    private double rowsPerSecond(long nanos) {
+        return ROWS / (nanos / 1_000_000_000.0);
+    }
+}
@@ -0,0 +1,156 @@
+package com.leadqualification.service;
+
+import com.leadqualification.dto.LeadUploadResponse;
+import com.leadqualification.entity.IntentLevel;
+import com.leadqualification.entity.Lead;
+import com.leadqualification.entity.ScoringStatus;
+import com.leadqualification.repository.LeadRepository;
+import com.leadqualification.util.CsvProcessor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class LeadDeduplicatorTest {
+
+    private static final String HEADER = "name,role,company,industry,location,linkedin_bio\n";
+
+    @Autowired
+    private LeadService leadService;
+
+    @Autowired
+    private LeadRepository leadRepository;
+
+    @Autowired
+    private LeadBatchWriter leadBatchWriter;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        leadService.clearAllLeads();
+    }
+
+    @Test
+    void testReUploadSkipsStoredAndRepeatedRows() {
+        upload("Ava Patel,Head of Growth,FlowMetrics,SaaS,San Francisco,Growth leader\n" +
+               "John Smith,CEO,TechCorp,Software,New York,Entrepreneur\n");
+
+        LeadUploadResponse response = upload("  ava   PATEL ,CMO,flowmetrics,SaaS,,\n" +
+                                             "Mia Chen,CTO,DataWorks,SaaS,Berlin,Engineer\n" +
+                                             "mia chen,CTO,DataWorks,SaaS,Berlin,Engineer\n");
+
+        assertEquals(3, response.getTotalLeads());
+        assertEquals(1, response.getSuccessfulUploads());
+        assertEquals(0, response.getFailedUploads());
+        assertEquals(2, response.getDuplicateLeads());
+        assertEquals(2, response.getSkippedDuplicates());
+        assertEquals(3, leadRepository.count());
+        Lead ava = leadRepository.findAll().stream().filter(lead -> lead.getName().equals("Ava Patel")).findFirst()
+            .orElseThrow();
+        assertEquals("Head of Growth", ava.getRole());
+    }
+
+    @Test
+    void testMergeFillsOnlyBlankFields() {
+        Lead stored = store(new Lead("Ava Patel", "Head of Growth", "FlowMetrics", null, null, null));
+        LeadDeduplicator merging = deduplicator("merge");
+
+        LeadDeduplicator.Result result = merging.deduplicate(records(
+            new Lead("Ava Patel", "CMO", "FlowMetrics", "SaaS", "Austin", null)));
+
+        assertEquals(1, result.getMerged());
+        assertEquals(0, result.getNewRecords().size());
+        Lead merged = leadRepository.findById(stored.getId()).orElseThrow();
+        assertEquals("Head of Growth", merged.getRole());
+        assertEquals("SaaS", merged.getIndustry());
+        assertEquals("Austin", merged.getLocation());
+    }
+
+    @Test
+    void testUpdateOverwritesFieldsAndResetsScores() {
+        Lead lead = new Lead("Ava Patel", "Head of Growth", "FlowMetrics", "SaaS", null, null);
+        lead.setIsScored(true);
+        lead.setTotalScore(70);
+        lead.setIntent(IntentLevel.HIGH);
+        lead.setScoringStatus(ScoringStatus.SCORED);
+        Lead stored = store(lead);
+        LeadDeduplicator updating = deduplicator("update");
+
+        LeadDeduplicator.Result unchanged = updating.deduplicate(records(
+            new Lead("Ava Patel", "Head of Growth", "FlowMetrics", null, null, null)));
+        LeadDeduplicator.Result changed = updating.deduplicate(records(
+            new Lead("Ava Patel", "CMO", "FlowMetrics", null, null, null)));
+
+        assertEquals(1, unchanged.getSkipped());
+        assertEquals(1, changed.getUpdated());
+        Lead updated = leadRepository.findById(stored.getId()).orElseThrow();
+        assertEquals("CMO", updated.getRole());
+        assertEquals("SaaS", updated.getIndustry());
+        assertFalse(updated.getIsScored());
+        assertNull(updated.getTotalScore());
+        assertEquals(ScoringStatus.PENDING, updated.getScoringStatus());
+    }
+
+    // Two uploads deduplicate their chunks before either inserts, so both take the same lead for new
+    @Test
+    void testLeadStoredByAnInterleavedChunkIsAppliedUnderThePolicy() {
+        LeadDeduplicator merging = deduplicator("merge");
+        LeadDeduplicator.Result first = merging.deduplicate(records(
+            new Lead("Ava Patel", "Head of Growth", "FlowMetrics", null, null, null)));
+        LeadDeduplicator.Result second = merging.deduplicate(records(
+            new Lead("Mia Chen", "CTO", "DataWorks", "SaaS", "Berlin", null),
+            new Lead("ava patel", "CMO", "FlowMetrics", "SaaS", "Austin", null)));
+        assertEquals(2, second.getNewRecords().size());
+
+        leadBatchWriter.write(first.getNewRecords());
+        LeadBatchWriter.BatchResult written = leadBatchWriter.write(second.getNewRecords());
+
+        assertEquals(1, written.getSuccessful());
+        assertTrue(written.getErrors().isEmpty());
+        assertEquals(1, written.getDedupKeyConflicts().size());
+        assertTrue(merging.applyToConcurrentlyStored(written.getDedupKeyConflicts(), second).isEmpty());
+        assertEquals(1, second.getMerged());
+        assertEquals(2, leadRepository.count());
+        Lead ava = leadRepository.findAll().stream().filter(lead -> lead.getName().equals("Ava Patel")).findFirst()
+            .orElseThrow();
+        assertEquals("Head of Growth", ava.getRole());
+        assertEquals("SaaS", ava.getIndustry());
+        assertEquals("Austin", ava.getLocation());
+    }
+
+    private LeadUploadResponse upload(String rows) {
+        return leadService.uploadLeads(new MockMultipartFile("file", "leads.csv", "text/csv",
+                                                             (HEADER + rows).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private LeadDeduplicator deduplicator(String policy) {
+        return new LeadDeduplicator(leadRepository, transactionTemplate, true, policy, List.of("name", "company"),
+                                    1000, 0.01);
+    }
+
+    private Lead store(Lead lead) {
+        lead.setDedupKey(deduplicator("skip").keyOf(lead));
+        return leadRepository.save(lead);
+    }
+
+    private static List<CsvProcessor.LeadRecord> records(Lead... leads) {
+        CsvProcessor.LeadRecord[] records = new CsvProcessor.LeadRecord[leads.length];
+        for (int i = 0; i < leads.length; i++) {
+            records[i] = new CsvProcessor.LeadRecord(i + 2, leads[i]);
+        }
+        return List.of(records);
+    }
+}
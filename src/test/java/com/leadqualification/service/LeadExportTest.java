@@ -0,0 +1,80 @@
+package com.leadqualification.service;
+
+import com.leadqualification.entity.IntentLevel;
+import com.leadqualification.entity.Lead;
+import com.leadqualification.repository.LeadRepository;
+import com.leadqualification.util.CsvProcessor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class LeadExportTest {
+
+    @Autowired
+    private LeadService leadService;
+
+    @Autowired
+    private LeadRepository leadRepository;
+
+    @Autowired
+    private CsvProcessor csvProcessor;
+
+    private List<Lead> leads;
+
+    @BeforeEach
+    void setUp() {
+        leadRepository.deleteAllInBatch();
+
+        List<Lead> newLeads = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            Lead lead = new Lead("Lead " + i, "VP, Sales", "Company \"" + i + "\"", "SaaS", "Zürich",
+                                 i % 3 == 0 ? null : "Line one\nline two");
+            if (i % 2 == 0) {
+                lead.setTotalScore(i % 10 * 10);
+                lead.setIntent(IntentLevel.MEDIUM);
+                lead.setReasoning("Scored, with commas");
+                lead.setIsScored(true);
+            }
+            newLeads.add(lead);
+        }
+        leads = leadRepository.saveAll(newLeads);
+    }
+
+    @Test
+    void testStreamedCsvMatchesGeneratedContent() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long exported = leadService.streamLeadsAsCsv(false, false, out);
+
+        List<Lead> byId = leads.stream().sorted(Comparator.comparing(Lead::getId)).collect(Collectors.toList());
+        assertEquals(leads.size(), exported);
+        assertEquals(csvProcessor.generateCsvContent(byId), out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testGzipExportDecompressesToPlainExport() throws Exception {
+        ByteArrayOutputStream plain = new ByteArrayOutputStream();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+
+        leadService.streamLeadsAsCsv(true, false, plain);
+        long exported = leadService.streamLeadsAsCsv(true, true, compressed);
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray()))) {
+            assertEquals(plain.toString(StandardCharsets.UTF_8), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertEquals(leads.stream().filter(Lead::getIsScored).count(), exported);
+    }
+}
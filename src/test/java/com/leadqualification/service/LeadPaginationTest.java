@@ -0,0 +1,126 @@
+package com.leadqualification.service;
+
+import com.leadqualification.dto.LeadPage;
+import com.leadqualification.dto.LeadResponse;
+import com.leadqualification.entity.IntentLevel;
+import com.leadqualification.entity.Lead;
+import com.leadqualification.repository.LeadRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class LeadPaginationTest {
+
+    private static final int LEADS = 250;
+
+    @Autowired
+    private LeadService leadService;
+
+    @Autowired
+    private LeadRepository leadRepository;
+
+    private List<Lead> leads;
+
+    @BeforeEach
+    void setUp() {
+        leadRepository.deleteAllInBatch();
+
+        List<Lead> newLeads = new ArrayList<>(LEADS);
+        for (int i = 0; i < LEADS; i++) {
+            Lead lead = new Lead("Lead " + i, "CEO", "Company", "SaaS", "Austin", "Bio");
+            if (i % 5 != 0) {
+                // Few distinct scores so pages have to break ties on id
+                lead.setTotalScore(i % 7 * 10);
+                lead.setIntent(i % 2 == 0 ? IntentLevel.HIGH : IntentLevel.LOW);
+                lead.setIsScored(true);
+            }
+            newLeads.add(lead);
+        }
+        leads = leadRepository.saveAll(newLeads);
+    }
+
+    @Test
+    void testIdPagesVisitEveryLeadOnceInOrder() {
+        List<Long> expected = leads.stream().map(Lead::getId).sorted().collect(Collectors.toList());
+
+        assertEquals(expected, collectIds(cursor -> leadService.getLeadsPage(cursor, 40)));
+    }
+
+    @Test
+    void testScoredPagesFollowScoreOrder() {
+        List<Long> expected = leads.stream()
+            .filter(Lead::getIsScored)
+            .sorted(Comparator.comparing(Lead::getTotalScore).thenComparing(Lead::getId).reversed())
+            .map(Lead::getId)
+            .collect(Collectors.toList());
+
+        assertEquals(expected, collectIds(cursor -> leadService.getScoredLeadsPage(cursor, 33)));
+    }
+
+    @Test
+    void testIntentPagesOnlyReturnMatchingLeads() {
+        long expected = leads.stream().filter(lead -> lead.getIntent() == IntentLevel.HIGH).count();
+
+        List<Long> ids = collectIds(cursor -> leadService.getLeadsByIntentPage("high", cursor, 25));
+
+        assertEquals(expected, ids.size());
+    }
+
+    @Test
+    void testPageSizeIsCappedAndValidated() {
+        LeadPage page = leadService.getLeadsPage(null, 1_000_000);
+
+        assertEquals(LEADS, page.getSize());
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursor());
+        assertThrows(IllegalArgumentException.class, () -> leadService.getLeadsPage(null, 0));
+        assertThrows(IllegalArgumentException.class, () -> leadService.getLeadsPage("not-a-cursor", 10));
+    }
+
+    @Test
+    void testCursorFromAnotherOrderingIsRejected() {
+        String idCursor = leadService.getLeadsPage(null, 10).getNextCursor();
+
+        assertThrows(IllegalArgumentException.class, () -> leadService.getScoredLeadsPage(idCursor, 10));
+    }
+
+    @Test
+    void testNdjsonStreamWritesOneLinePerLead() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long streamed = leadService.streamLeadsAsNdjson(true, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        long scored = leads.stream().filter(Lead::getIsScored).count();
+        assertEquals(scored, streamed);
+        assertEquals(scored, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":"));
+    }
+
+    private List<Long> collectIds(PageFetcher fetcher) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            LeadPage page = fetcher.fetch(cursor);
+            page.getItems().stream().map(LeadResponse::getId).forEach(ids::add);
+            cursor = page.getNextCursor();
+            assertEquals(cursor != null, page.isHasMore());
+        } while (cursor != null);
+        return ids;
+    }
+
+    private interface PageFetcher {
+        LeadPage fetch(String cursor);
+    }
+}
@@ -0,0 +1,198 @@
+package com.leadqualification.service;
+
+import com.leadqualification.dto.LeadPage;
+import com.leadqualification.dto.LeadResponse;
+import com.leadqualification.dto.LeadSummaryResponse;
+import com.leadqualification.util.LeadCursor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Times the lead finders behind each listing endpoint on a large table, first with the index plan declared on
+// Lead and then with those indexes dropped, and prints the H2 query plans for both
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class LeadQueryBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 1_000_000);
+    private static final int INSERT_BATCH = 10_000;
+    private static final int RUNS = 5;
+    // Clear of the ids handed out by lead_seq to other tests sharing this context
+    private static final long FIRST_ID = 1_000_000_000L;
+
+    private static final Map<String, String> INDEXES = new LinkedHashMap<>();
+
+    static {
+        INDEXES.put("idx_leads_scored_score", "is_scored, total_score DESC, id DESC");
+        INDEXES.put("idx_leads_intent_score", "intent, total_score DESC, id DESC");
+    }
+
+    @Autowired
+    private LeadService leadService;
+
+    @Autowired
+    private LeadSummaryService leadSummaryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE TABLE leads");
+        insertLeads();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("TRUNCATE TABLE leads");
+    }
+
+    @Test
+    void compareEndpointQueriesWithAndWithoutIndexes() {
+        String deepCursor = LeadCursor.afterScore(20, Long.MAX_VALUE).encode();
+
+        Map<String, Supplier<Object>> endpoints = new LinkedHashMap<>();
+        endpoints.put("GET /api/results/page", () -> ids(leadService.getScoredLeadsPage(null, 100)));
+        endpoints.put("GET /api/results/page (score 20 onwards)",
+                      () -> ids(leadService.getScoredLeadsPage(deepCursor, 100)));
+        endpoints.put("GET /api/leads/intent/high/page", () -> ids(leadService.getLeadsByIntentPage("high", null, 100)));
+        endpoints.put("GET /api/results/summary", () -> counts(leadSummaryService.getSummary()));
+
+        Map<String, String> plans = new LinkedHashMap<>();
+        plans.put("scored page", "SELECT id FROM leads WHERE is_scored = TRUE AND total_score <= 20 AND " +
+                                 "(total_score < 20 OR id < 9223372036854775807) ORDER BY is_scored, total_score DESC, id DESC " +
+                                 "FETCH FIRST 101 ROWS ONLY");
+        plans.put("intent page", "SELECT id FROM leads WHERE intent = 'HIGH' AND total_score <= 2147483647 AND " +
+                                 "(total_score < 2147483647 OR id < 9223372036854775807) " +
+                                 "ORDER BY intent, total_score DESC, id DESC FETCH FIRST 101 ROWS ONLY");
+        plans.put("summary", "SELECT is_scored, intent, total_score / 10, COUNT(*), SUM(total_score) FROM leads " +
+                             "GROUP BY is_scored, intent, total_score / 10");
+
+        Map<String, Object> indexedResults = new LinkedHashMap<>();
+        Map<String, Double> indexedMillis = time(endpoints, indexedResults);
+        Map<String, String> indexedPlans = explain(plans);
+
+        Map<String, Object> unindexedResults = new LinkedHashMap<>();
+        Map<String, Double> unindexedMillis;
+        Map<String, String> unindexedPlans;
+        INDEXES.keySet().forEach(name -> jdbcTemplate.execute("DROP INDEX " + name));
+        try {
+            unindexedMillis = time(endpoints, unindexedResults);
+            unindexedPlans = explain(plans);
+        } finally {
+            INDEXES.forEach((name, columns) -> jdbcTemplate.execute("CREATE INDEX " + name + " ON leads (" + columns + ")"));
+        }
+
+        assertEquals(unindexedResults, indexedResults);
+        assertTrue(indexedPlans.get("scored page").contains("IDX_LEADS_SCORED_SCORE"), indexedPlans.get("scored page"));
+        assertTrue(indexedPlans.get("intent page").contains("IDX_LEADS_INTENT_SCORE"), indexedPlans.get("intent page"));
+        assertTrue(indexedPlans.get("scored page").contains("index sorted"), indexedPlans.get("scored page"));
+        assertTrue(indexedPlans.get("intent page").contains("index sorted"), indexedPlans.get("intent page"));
+
+        System.out.printf("Lead query benchmark (%d rows, median of %d runs)%n", ROWS, RUNS);
+        endpoints.keySet().forEach(endpoint -> System.out.printf("  %-45s %10.2f ms -> %8.2f ms  (%.0fx)%n",
+            endpoint, unindexedMillis.get(endpoint), indexedMillis.get(endpoint),
+            unindexedMillis.get(endpoint) / indexedMillis.get(endpoint)));
+        plans.keySet().forEach(query -> System.out.printf("  Plan for %s%n    without indexes: %s%n    with indexes:    %s%n",
+            query, unindexedPlans.get(query), indexedPlans.get(query)));
+    }
+
+    private Map<String, Double> time(Map<String, Supplier<Object>> endpoints, Map<String, Object> results) {
+        Map<String, Double> millis = new LinkedHashMap<>();
+        endpoints.forEach((endpoint, query) -> {
+            results.put(endpoint, query.get());
+            double[] runs = new double[RUNS];
+            for (int i = 0; i < RUNS; i++) {
+                touchTable();
+                long start = System.nanoTime();
+                query.get();
+                runs[i] = (System.nanoTime() - start) / 1_000_000.0;
+            }
+            Arrays.sort(runs);
+            millis.put(endpoint, runs[RUNS / 2]);
+        });
+        return millis;
+    }
+
+    // H2 hands back the previous result of an identical query while the table is unchanged
+    private void touchTable() {
+        jdbcTemplate.update("UPDATE leads SET updated_at = CURRENT_TIMESTAMP WHERE id = ?", FIRST_ID);
+    }
+
+    private Map<String, String> explain(Map<String, String> queries) {
+        Map<String, String> plans = new LinkedHashMap<>();
+        queries.forEach((name, sql) -> plans.put(name,
+            jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class).replaceAll("\\s+", " ")));
+        return plans;
+    }
+
+    private static List<Long> ids(LeadPage page) {
+        return page.getItems().stream().map(LeadResponse::getId).collect(Collectors.toList());
+    }
+
+    private static List<Object> counts(LeadSummaryResponse summary) {
+        List<Object> counts = new ArrayList<>(List.of(summary.getTotal(), summary.getScored(), summary.getHighIntent(),
+                                                      summary.getMediumIntent(), summary.getLowIntent(),
+                                                      summary.getAverageScore()));
+        summary.getScoreHistogram().forEach(bucket -> counts.add(bucket.getCount()));
+        return counts;
+    }
+
+    private void insertLeads() {
+        Random random = new Random(42);
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        String sql = "INSERT INTO leads (id, name, role, company, industry, location, linkedin_bio, rule_score, " +
+                     "ai_score, total_score, intent, reasoning, is_scored, created_at, updated_at) " +
+                     "VALUES (?, ?, 'CEO', ?, 'SaaS', 'Austin', 'Bio', ?, ?, ?, ?, ?, ?, ?, ?)";
+
+        for (int offset = 0; offset < ROWS; offset += INSERT_BATCH) {
+            int start = offset;
+            int size = Math.min(INSERT_BATCH, ROWS - offset);
+            jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    int n = start + i;
+                    boolean scored = random.nextInt(10) < 8;
+                    int ruleScore = random.nextInt(51);
+                    int aiScore = new int[] {10, 30, 50}[random.nextInt(3)];
+                    ps.setLong(1, FIRST_ID + n);
+                    ps.setString(2, "Lead " + n);
+                    ps.setString(3, "Company " + n % 5000);
+                    ps.setObject(4, scored ? ruleScore : null);
+                    ps.setObject(5, scored ? aiScore : null);
+                    ps.setObject(6, scored ? ruleScore + aiScore : null);
+                    ps.setString(7, scored ? (aiScore == 50 ? "HIGH" : aiScore == 30 ? "MEDIUM" : "LOW") : null);
+                    ps.setString(8, scored ? "Scored" : null);
+                    ps.setBoolean(9, scored);
+                    ps.setTimestamp(10, now);
+                    ps.setTimestamp(11, now);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return size;
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.leadqualification.service;
+
+import com.leadqualification.dto.LeadSummaryResponse;
+import com.leadqualification.entity.IntentLevel;
+import com.leadqualification.entity.Lead;
+import com.leadqualification.repository.LeadRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class LeadSummaryServiceTest {
+
+    @Autowired
+    private LeadSummaryService leadSummaryService;
+
+    @Autowired
+    private LeadRepository leadRepository;
+
+    @BeforeEach
+    void setUp() {
+        leadRepository.deleteAllInBatch();
+
+        List<Lead> leads = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            Lead lead = new Lead("Lead " + i, "CTO", "Company " + i, "SaaS", "Berlin", null);
+            if (i % 4 != 0) {
+                lead.setTotalScore(i * 5 % 101);
+                lead.setIntent(IntentLevel.values()[i % 3]);
+                lead.setIsScored(true);
+            }
+            leads.add(lead);
+        }
+        leadRepository.saveAll(leads);
+    }
+
+    @Test
+    void testSummaryMatchesLeads() {
+        LeadSummaryResponse summary = leadSummaryService.getSummary();
+
+        List<Lead> scored = leadRepository.findByIsScored(true);
+        assertEquals(40, summary.getTotal());
+        assertEquals(30, summary.getScored());
+        assertEquals(10, summary.getUnscored());
+        assertEquals(leadRepository.countByIntent(IntentLevel.HIGH), summary.getHighIntent());
+        assertEquals(leadRepository.countByIntent(IntentLevel.MEDIUM), summary.getMediumIntent());
+        assertEquals(leadRepository.countByIntent(IntentLevel.LOW), summary.getLowIntent());
+        assertEquals(75.0, summary.getScoringProgress(), 0.001);
+        assertEquals(scored.stream().mapToInt(Lead::getTotalScore).average().getAsDouble(),
+                     summary.getAverageScore(), 0.001);
+        assertEquals(histogram(scored), counts(summary));
+        assertEquals(100, summary.getScoreHistogram().get(9).getTo());
+    }
+
+    @Test
+    void testEmptySummary() {
+        leadRepository.deleteAllInBatch();
+
+        LeadSummaryResponse summary = leadSummaryService.getSummary();
+
+        assertEquals(0, summary.getTotal());
+        assertEquals(0, summary.getScoringProgress(), 0.001);
+        assertNull(summary.getAverageScore());
+        assertEquals(10, summary.getScoreHistogram().size());
+    }
+
+    @Test
+    void testCountersFollowRecordedChanges() {
+        LeadSummaryService counters = new LeadSummaryService(leadRepository, "counters");
+        counters.getSummary();
+
+        Lead unscored = leadRepository.findByIsScored(false).get(0);
+        Lead scored = leadRepository.findByIsScored(true).get(0);
+        counters.recordScored(unscored, 95, IntentLevel.HIGH);
+        counters.recordScored(scored, 12, IntentLevel.LOW);
+        counters.recordInserted(2);
+
+        applyScore(unscored, 95, IntentLevel.HIGH);
+        applyScore(scored, 12, IntentLevel.LOW);
+        leadRepository.save(new Lead("New 1", null, null, null, null, null));
+        leadRepository.save(new Lead("New 2", null, null, null, null, null));
+
+        LeadSummaryResponse expected = leadSummaryService.getSummary();
+        LeadSummaryResponse actual = counters.getSummary();
+        assertEquals(expected.getTotal(), actual.getTotal());
+        assertEquals(expected.getScored(), actual.getScored());
+        assertEquals(expected.getHighIntent(), actual.getHighIntent());
+        assertEquals(expected.getMediumIntent(), actual.getMediumIntent());
+        assertEquals(expected.getLowIntent(), actual.getLowIntent());
+        assertEquals(expected.getAverageScore(), actual.getAverageScore(), 0.001);
+        assertEquals(counts(expected), counts(actual));
+
+        counters.invalidate();
+        leadRepository.deleteAllInBatch();
+        assertEquals(0, counters.getSummary().getTotal());
+    }
+
+    private void applyScore(Lead lead, int totalScore, IntentLevel intent) {
+        Lead stored = leadRepository.findById(lead.getId()).orElseThrow();
+        stored.setTotalScore(totalScore);
+        stored.setIntent(intent);
+        stored.setIsScored(true);
+        leadRepository.save(stored);
+    }
+
+    private static List<Long> histogram(List<Lead> leads) {
+        long[] buckets = new long[10];
+        leads.forEach(lead -> buckets[Math.min(lead.getTotalScore() / 10, 9)]++);
+        List<Long> counts = new ArrayList<>();
+        for (long count : buckets) {
+            counts.add(count);
+        }
+        return counts;
+    }
+
+    private static List<Long> counts(LeadSummaryResponse summary) {
+        return summary.getScoreHistogram().stream()
+            .map(LeadSummaryResponse.ScoreBucket::getCount)
+            .collect(Collectors.toList());
+    }
+}
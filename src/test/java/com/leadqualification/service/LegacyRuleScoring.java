@@ -0,0 +1,131 @@
+package com.leadqualification.service;
+
+import com.leadqualification.entity.Lead;
+import com.leadqualification.entity.Offer;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+// Reference copy of the original String.contains based rule matching, used to check that the
+// compiled matchers score identically and as the benchmark baseline
+class LegacyRuleScoring {
+
+    private static final Set<String> DECISION_MAKER_ROLES = Set.of(
+        "ceo", "cto", "cfo", "coo", "president", "founder", "co-founder",
+        "director", "head of", "vp", "vice president", "chief", "owner",
+        "general manager", "managing director", "executive director"
+    );
+
+    private static final Set<String> INFLUENCER_ROLES = Set.of(
+        "manager", "senior manager", "lead", "team lead", "principal",
+        "senior", "architect", "specialist", "coordinator", "supervisor"
+    );
+
+    private static final Set<String> SAAS_INDUSTRIES = Set.of(
+        "software", "saas", "technology", "tech", "it", "information technology",
+        "software development", "cloud", "fintech", "edtech", "healthtech",
+        "martech", "adtech", "proptech", "insurtech", "regtech"
+    );
+
+    private static final Set<String> ADJACENT_INDUSTRIES = Set.of(
+        "consulting", "marketing", "advertising", "digital marketing",
+        "e-commerce", "retail", "financial services", "healthcare",
+        "education", "media", "telecommunications", "professional services"
+    );
+
+    int calculateRuleScore(Lead lead, Offer offer) {
+        int totalScore = 0;
+        totalScore += calculateRoleScore(lead.getRole());
+        totalScore += calculateIndustryScore(lead.getIndustry(), offer);
+        totalScore += calculateDataCompletenessScore(lead);
+        return Math.min(totalScore, 50);
+    }
+
+    String generateRuleExplanation(Lead lead, Offer offer, int score) {
+        StringBuilder explanation = new StringBuilder();
+        int roleScore = calculateRoleScore(lead.getRole());
+        int industryScore = calculateIndustryScore(lead.getIndustry(), offer);
+        int completenessScore = calculateDataCompletenessScore(lead);
+
+        explanation.append("Rule-based scoring breakdown: ");
+        if (roleScore > 0) {
+            String roleType = roleScore == 20 ? "decision maker" : "influencer";
+            explanation.append(String.format("Role (%s) +%d, ", roleType, roleScore));
+        }
+        if (industryScore > 0) {
+            String matchType = industryScore == 20 ? "exact" : "adjacent";
+            explanation.append(String.format("Industry (%s match) +%d, ", matchType, industryScore));
+        }
+        if (completenessScore > 0) {
+            explanation.append(String.format("Complete data +%d, ", completenessScore));
+        }
+        if (explanation.toString().endsWith(", ")) {
+            explanation.setLength(explanation.length() - 2);
+        }
+        explanation.append(String.format(". Total rule score: %d/50.", score));
+        return explanation.toString();
+    }
+
+    private int calculateRoleScore(String role) {
+        if (StringUtils.isBlank(role)) {
+            return 0;
+        }
+        String normalizedRole = role.toLowerCase().trim();
+        if (DECISION_MAKER_ROLES.stream().anyMatch(normalizedRole::contains)) {
+            return 20;
+        }
+        if (INFLUENCER_ROLES.stream().anyMatch(normalizedRole::contains)) {
+            return 10;
+        }
+        return 0;
+    }
+
+    private int calculateIndustryScore(String industry, Offer offer) {
+        if (StringUtils.isBlank(industry)) {
+            return 0;
+        }
+        String normalizedIndustry = industry.toLowerCase().trim();
+        if (isExactIndustryMatch(normalizedIndustry, offer)) {
+            return 20;
+        }
+        if (ADJACENT_INDUSTRIES.stream().anyMatch(normalizedIndustry::contains)) {
+            return 10;
+        }
+        return 0;
+    }
+
+    private boolean isExactIndustryMatch(String industry, Offer offer) {
+        if (SAAS_INDUSTRIES.stream().anyMatch(industry::contains)) {
+            return true;
+        }
+        if (offer != null && offer.getIdealUseCases() != null) {
+            return offer.getIdealUseCases().stream()
+                .anyMatch(useCase -> {
+                    String normalizedUseCase = useCase.toLowerCase();
+                    return normalizedUseCase.contains(industry) ||
+                           industry.contains(normalizedUseCase) ||
+                           hasKeywordOverlap(industry, normalizedUseCase);
+                });
+        }
+        return false;
+    }
+
+    private boolean hasKeywordOverlap(String industry, String useCase) {
+        List<String> industryWords = Arrays.asList(industry.split("\\s+"));
+        List<String> useCaseWords = Arrays.asList(useCase.split("\\s+"));
+        return industryWords.stream()
+            .anyMatch(word -> word.length() > 3 &&
+                     useCaseWords.stream().anyMatch(ucWord -> ucWord.contains(word)));
+    }
+
+    private int calculateDataCompletenessScore(Lead lead) {
+        if (StringUtils.isNotBlank(lead.getName()) && StringUtils.isNotBlank(lead.getRole()) &&
+            StringUtils.isNotBlank(lead.getCompany()) && StringUtils.isNotBlank(lead.getIndustry()) &&
+            StringUtils.isNotBlank(lead.getLocation()) && StringUtils.isNotBlank(lead.getLinkedinBio())) {
+            return 10;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,41 @@
+package com.leadqualification.service;
+
+import com.leadqualification.entity.IntentLevel;
+import com.leadqualification.entity.Lead;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalAIScoringProviderTest {
+
+    private final LocalAIScoringProvider provider = new LocalAIScoringProvider();
+    private final OfferSnapshot offer = new OfferSnapshot(null, "AI Outreach Automation",
+                                                          List.of("24/7 outreach", "6x more meetings"),
+                                                          List.of("B2B SaaS mid-market"));
+
+    @Test
+    void testClassifiesByAuthorityAndOfferFit() {
+        Lead fit = new Lead("Ava Patel", "Head of Growth", "FlowMetrics", "SaaS",
+                            "San Francisco", "Scaling B2B outreach for mid-market teams.");
+        Lead noAuthority = new Lead("Sam Lee", "Sales Rep", "FlowMetrics", "SaaS", "Austin", null);
+        Lead neither = new Lead("Tom Brown", "Intern", "Bakery", "Food", "Paris", "Loves bread.");
+
+        AIScoreResult result = provider.scoreLeadIntentAsync(fit, offer).block();
+        assertEquals(IntentLevel.HIGH, result.getIntent());
+        assertEquals("Local heuristic: decision-making role (head of), profile mentions saas, outreach, "
+                     + "market.", result.getReasoning());
+        assertEquals(IntentLevel.MEDIUM, provider.scoreLeadIntentAsync(noAuthority, offer).block().getIntent());
+        assertEquals(IntentLevel.LOW, provider.scoreLeadIntentAsync(neither, offer).block().getIntent());
+    }
+
+    @Test
+    void testFollowsOfferChanges() {
+        Lead lead = new Lead("Ava Patel", "Founder", "Bakery", "Food", "Paris", "Artisan bread and pastry.");
+        assertEquals(IntentLevel.MEDIUM, provider.scoreLeadIntentAsync(lead, offer).block().getIntent());
+
+        OfferSnapshot bakeryOffer = new OfferSnapshot(null, "Ovens", List.of("bread ovens"), List.of("artisan bakery"));
+        assertEquals(IntentLevel.HIGH, provider.scoreLeadIntentAsync(lead, bakeryOffer).block().getIntent());
+    }
+}
@@ -0,0 +1,92 @@
+package com.leadqualification.service;
+
+import com.leadqualification.entity.Lead;
+import com.leadqualification.entity.Offer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+public class RuleScoringBenchmarkTest {
+
+    private static final int LEAD_COUNT = 2_000_000;
+
+    private Lead[] leads;
+    private Offer offer;
+    private OfferSnapshot offerSnapshot;
+    private RuleScoringService ruleScoringService;
+    private LegacyRuleScoring legacyRuleScoring;
+
+    @Setup
+    public void setUp() {
+        SyntheticLeads generator = new SyntheticLeads(42);
+        leads = new Lead[LEAD_COUNT];
+        for (int i = 0; i < LEAD_COUNT; i++) {
+            leads[i] = generator.next();
+        }
+        offer = new Offer("AI Outreach Automation", Arrays.asList("24/7 outreach", "6x more meetings"),
+                          Arrays.asList("B2B SaaS mid-market", "Revenue operations teams"));
+        offerSnapshot = OfferSnapshot.of(offer);
+
+        ruleScoringService = new RuleScoringService();
+        ReflectionTestUtils.setField(ruleScoringService, "decisionMakerScore", 20);
+        ReflectionTestUtils.setField(ruleScoringService, "influencerScore", 10);
+        ReflectionTestUtils.setField(ruleScoringService, "exactIndustryMatchScore", 20);
+        ReflectionTestUtils.setField(ruleScoringService, "adjacentIndustryMatchScore", 10);
+        ReflectionTestUtils.setField(ruleScoringService, "dataCompletenessScore", 10);
+        legacyRuleScoring = new LegacyRuleScoring();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LEAD_COUNT)
+    public long compiledMatchers() {
+        long total = 0;
+        for (Lead lead : leads) {
+            total += ruleScoringService.calculateRuleScore(lead, offerSnapshot);
+        }
+        return total;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LEAD_COUNT)
+    public long legacyContainsScan() {
+        long total = 0;
+        for (Lead lead : leads) {
+            total += legacyRuleScoring.calculateRuleScore(lead, offer);
+        }
+        return total;
+    }
+
+    @Test
+    void runBenchmark() throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(RuleScoringBenchmarkTest.class.getSimpleName())
+            .forks(0)
+            .build()).run();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RuleScoringBenchmarkTest.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,97 @@
+package com.leadqualification.service;
+
+import com.leadqualification.entity.Lead;
+import com.leadqualification.entity.Offer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RuleScoringEquivalenceTest {
+
+    private static final String ALPHABET = "aeitsxcloud -\t\nÉé";
+
+    private RuleScoringService ruleScoringService;
+    private LegacyRuleScoring legacyRuleScoring;
+
+    @BeforeEach
+    void setUp() {
+        ruleScoringService = new RuleScoringService();
+        ReflectionTestUtils.setField(ruleScoringService, "decisionMakerScore", 20);
+        ReflectionTestUtils.setField(ruleScoringService, "influencerScore", 10);
+        ReflectionTestUtils.setField(ruleScoringService, "exactIndustryMatchScore", 20);
+        ReflectionTestUtils.setField(ruleScoringService, "adjacentIndustryMatchScore", 10);
+        ReflectionTestUtils.setField(ruleScoringService, "dataCompletenessScore", 10);
+        legacyRuleScoring = new LegacyRuleScoring();
+    }
+
+    @Test
+    void testSyntheticLeadsScoreIdentically() {
+        List<Offer> offers = List.of(
+            offer("B2B SaaS mid-market"),
+            offer("Marketplaces", "Real estate agencies", "  Logistics  PLATFORMS"),
+            offer("Manufacturing\tautomation", "agri"),
+            offer(""),
+            offer()
+        );
+        SyntheticLeads leads = new SyntheticLeads(42);
+
+        for (int i = 0; i < 50_000; i++) {
+            Lead lead = leads.next();
+            for (Offer offer : offers) {
+                assertSameScore(lead, offer);
+            }
+        }
+    }
+
+    @Test
+    void testRandomStringsScoreIdentically() {
+        Random random = new Random(7);
+
+        for (int i = 0; i < 10_000; i++) {
+            List<String> useCases = new ArrayList<>();
+            int useCaseCount = random.nextInt(4);
+            for (int j = 0; j < useCaseCount; j++) {
+                useCases.add(randomString(random, 14));
+            }
+            Offer offer = new Offer("Offer", List.of("value"), useCases);
+
+            for (int j = 0; j < 10; j++) {
+                Lead lead = new Lead("Lead", randomString(random, 16), "Company", randomString(random, 16),
+                                     "Location", "Bio");
+                assertSameScore(lead, offer);
+            }
+        }
+    }
+
+    private void assertSameScore(Lead lead, Offer offer) {
+        int legacyScore = legacyRuleScoring.calculateRuleScore(lead, offer);
+        RuleEvaluation evaluation = ruleScoringService.evaluate(lead, OfferSnapshot.of(offer));
+        Supplier<String> context = () -> "role='" + lead.getRole() + "', industry='" + lead.getIndustry() +
+                                         "', useCases=" + offer.getIdealUseCases();
+
+        assertEquals(legacyScore, evaluation.getTotalScore(), context);
+        assertEquals(legacyRuleScoring.generateRuleExplanation(lead, offer, legacyScore),
+                     evaluation.getExplanation(), context);
+    }
+
+    private static Offer offer(String... useCases) {
+        return new Offer("Offer", List.of("value"), Arrays.asList(useCases));
+    }
+
+    private static String randomString(Random random, int maxLength) {
+        int length = random.nextInt(maxLength + 1);
+        StringBuilder value = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            value.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return value.toString();
+    }
+}
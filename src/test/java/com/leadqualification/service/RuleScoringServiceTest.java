@@ -1,7 +1,6 @@
 package com.leadqualification.service;
 
 import com.leadqualification.entity.Lead;
-import com.leadqualification.entity.Offer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.util.ReflectionTestUtils;
@@ -13,7 +12,7 @@ import static org.junit.jupiter.api.Assertions.*;
 class RuleScoringServiceTest {
 
     private RuleScoringService ruleScoringService;
-    private Offer testOffer;
+    private OfferSnapshot testOffer;
 
     @BeforeEach
     void setUp() {
@@ -25,7 +24,8 @@ class RuleScoringServiceTest {
         ReflectionTestUtils.setField(ruleScoringService, "adjacentIndustryMatchScore", 10);
         ReflectionTestUtils.setField(ruleScoringService, "dataCompletenessScore", 10);
 
-        testOffer = new Offer(
+        testOffer = new OfferSnapshot(
+            null,
             "AI Outreach Automation",
             Arrays.asList("24/7 outreach", "6x more meetings"),
             Arrays.asList("B2B SaaS mid-market")
@@ -112,5 +112,30 @@ class RuleScoringServiceTest {
         assertTrue(explanation.contains("Complete data"));
         assertTrue(explanation.contains("50"));
     }
-}
 
+    @Test
+    void testEvaluateReportsBreakdown() {
+        Lead lead = new Lead(
+            "Jane Doe",
+            "Senior Marketing Manager",
+            "AdCo",
+            "Advertising",
+            null,
+            null
+        );
+
+        RuleEvaluation evaluation = ruleScoringService.evaluate(lead, testOffer);
+
+        assertEquals(RuleEvaluation.RoleMatch.INFLUENCER, evaluation.getRoleMatch());
+        assertEquals("senior", evaluation.getRoleKeyword());
+        assertEquals(10, evaluation.getRolePoints());
+        assertEquals(RuleEvaluation.IndustryMatch.ADJACENT, evaluation.getIndustryMatch());
+        assertEquals("advertising", evaluation.getIndustryKeyword());
+        assertEquals(10, evaluation.getIndustryPoints());
+        assertEquals(4, evaluation.getFilledFields());
+        assertEquals(0, evaluation.getCompletenessPoints());
+        assertEquals(20, evaluation.getTotalScore());
+        assertEquals("Rule-based scoring breakdown: Role (influencer) +10, Industry (adjacent match) +10. " +
+                     "Total rule score: 20/50.", evaluation.getExplanation());
+    }
+}
@@ -0,0 +1,109 @@
+package com.leadqualification.service;
+
+import com.leadqualification.entity.IntentLevel;
+import com.leadqualification.entity.Lead;
+import com.leadqualification.repository.LeadRepository;
+import com.leadqualification.util.CsvProcessor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class ScoreWriterBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 50_000);
+    private static final int CHUNK_SIZE = 500;
+    private static final String REASONING = "Rule-based scoring breakdown: Role (decision maker) +20, " +
+        "Industry (exact match) +20, Complete data +10. Total rule score: 50/50. Strong fit for the offer.";
+
+    @Autowired
+    private ScoreWriter scoreWriter;
+
+    @Autowired
+    private LeadBatchWriter leadBatchWriter;
+
+    @Autowired
+    private LeadRepository leadRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private List<Long> leadIds;
+
+    @BeforeEach
+    void setUp() {
+        leadRepository.deleteAllInBatch();
+        leadIds = new ArrayList<>(ROWS);
+        for (int offset = 0; offset < ROWS; offset += CHUNK_SIZE) {
+            List<CsvProcessor.LeadRecord> chunk = new ArrayList<>(CHUNK_SIZE);
+            for (int n = offset; n < Math.min(offset + CHUNK_SIZE, ROWS); n++) {
+                chunk.add(new CsvProcessor.LeadRecord(n + 2, new Lead("Lead " + n, "CEO", "Company " + n,
+                                                                      "SaaS", "Austin", "Bio " + n)));
+            }
+            leadBatchWriter.write(chunk);
+            chunk.forEach(record -> leadIds.add(record.getLead().getId()));
+        }
+    }
+
+    @Test
+    void compareRowByRowUpdateWithScoreWriter() {
+        long rowByRowNanos = timeRowByRowUpdate();
+        assertEquals(ROWS, leadRepository.countScoredLeads());
+        resetScores();
+
+        long writerNanos = timeScoreWriter();
+        assertEquals(ROWS, leadRepository.countScoredLeads());
+
+        System.out.printf("Score write-back benchmark (%d rows): row-by-row %.0f rows/s, score writer %.0f rows/s%n",
+                          ROWS, rowsPerSecond(rowByRowNanos), rowsPerSecond(writerNanos));
+    }
+
+    // Mirrors the previous write-back: a findById and a save in a fresh transaction for every lead
+    private long timeRowByRowUpdate() {
+        long start = System.nanoTime();
+        for (Long id : leadIds) {
+            transactionTemplate.executeWithoutResult(status -> {
+                Lead lead = leadRepository.findById(id).orElseThrow();
+                lead.setRuleScore(50);
+                lead.setAiScore(50);
+                lead.setTotalScore(100);
+                lead.setIntent(IntentLevel.HIGH);
+                lead.setReasoning(REASONING);
+                lead.setIsScored(true);
+                leadRepository.save(lead);
+            });
+        }
+        return System.nanoTime() - start;
+    }
+
+    private long timeScoreWriter() {
+        long start = System.nanoTime();
+        List<CompletableFuture<Void>> writes = new ArrayList<>(ROWS);
+        for (Long id : leadIds) {
+            writes.add(scoreWriter.submit(new ScoreWriter.ScoreUpdate(id, 50, 50, IntentLevel.HIGH, REASONING)));
+        }
+        CompletableFuture.allOf(writes.toArray(new CompletableFuture[0])).join();
+        return System.nanoTime() - start;
+    }
+
+    private void resetScores() {
+        transactionTemplate.executeWithoutResult(status -> leadRepository.findAll().forEach(lead -> {
+            lead.setIsScored(false);
+            lead.setTotalScore(null);
+        }));
+    }
+
+    private double rowsPerSecond(long nanos) {
+        return ROWS / (nanos / 1_000_000_000.0);
+    }
+}
@@ -0,0 +1,63 @@
+package com.leadqualification.service;
+
+import com.leadqualification.dto.OfferRequest;
+import com.leadqualification.dto.ScoringResponse;
+import com.leadqualification.entity.Lead;
+import com.leadqualification.repository.LeadRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// The local provider answers at once, as a batching provider does for leads already in its result cache, so each
+// admitted batch puts a task per lead on the pool straight away. The context has a database of its own, as
+// recreating the shared one would reset the lead sequence under the other test contexts.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+                properties = {"spring.datasource.url=jdbc:h2:mem:scoring-executor-test",
+                              "scoring.ai.provider=local", "scoring.ai.local.batch-size=20",
+                              "scoring.executor.mode=platform", "scoring.executor.pool-size=1",
+                              "scoring.executor.max-in-flight=2", "scoring.chunk-size=100"})
+class ScoringExecutorTest {
+
+    @Autowired
+    private ScoringService scoringService;
+
+    @Autowired
+    private OfferService offerService;
+
+    @Autowired
+    private LeadRepository leadRepository;
+
+    @BeforeEach
+    void setUp() {
+        leadRepository.deleteAllInBatch();
+        offerService.createOffer(new OfferRequest("AI Outreach Automation", List.of("24/7 outreach"),
+                                                  List.of("B2B SaaS mid-market")));
+
+        List<Lead> leads = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            leads.add(new Lead("Lead " + i, "CTO", "Company " + i, "SaaS", "Berlin", "Scaling B2B outreach."));
+        }
+        leadRepository.saveAll(leads);
+    }
+
+    @Test
+    void testRescoreOfImmediateBatchResultsIsNotRejected() throws Exception {
+        scoringService.scoreAllLeads(new ScoringJob());
+
+        ScoringResponse response = CompletableFuture.supplyAsync(scoringService::rescoreAllLeads)
+            .get(30, TimeUnit.SECONDS);
+
+        assertEquals(100, response.getTotalLeads());
+        assertEquals(100, response.getSuccessfulScores());
+        assertEquals(0, response.getFailedScores());
+        assertEquals(0, leadRepository.countByIsScoredAndIdGreaterThan(false, 0L));
+    }
+}
@@ -0,0 +1,42 @@
+package com.leadqualification.service;
+
+import com.leadqualification.dto.ScoringResponse;
+import com.leadqualification.exception.ScoringJobConflictException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+                properties = {"scoring.ai.provider=local", "scoring.chunk-size=7"})
+class ScoringJobServiceTest {
+
+    @Autowired
+    private ScoringJobService scoringJobService;
+
+    @Test
+    void testSynchronousRunExcludesOtherRuns() {
+        ScoringResponse response = scoringJobService.runNow(ScoringJob.Type.RESCORE, job -> {
+            assertThrows(ScoringJobConflictException.class, () -> scoringJobService.submitScoreAllLeads());
+            assertThrows(ScoringJobConflictException.class, () -> scoringJobService.runNow(
+                ScoringJob.Type.SCORE_ALL, other -> new ScoringResponse("overlapping", 0, 0, 0)));
+            return new ScoringResponse("done", 0, 0, 0);
+        });
+
+        assertEquals("done", response.getMessage());
+    }
+
+    @Test
+    void testFailedRescoreIsNotResumable() {
+        String[] jobId = new String[1];
+        assertThrows(IllegalStateException.class, () -> scoringJobService.runNow(ScoringJob.Type.RESCORE, job -> {
+            jobId[0] = job.getId();
+            throw new IllegalStateException("reset failed");
+        }));
+
+        assertEquals(ScoringJob.Status.FAILED, scoringJobService.getJob(jobId[0]).getStatus());
+        assertThrows(ScoringJobConflictException.class, () -> scoringJobService.resumeJob(jobId[0]));
+    }
+}
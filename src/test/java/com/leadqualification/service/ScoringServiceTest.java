@@ -0,0 +1,148 @@
+package com.leadqualification.service;
+
+import com.leadqualification.dto.OfferRequest;
+import com.leadqualification.dto.OfferResponse;
+import com.leadqualification.dto.ScoringResponse;
+import com.leadqualification.entity.IntentLevel;
+import com.leadqualification.entity.Lead;
+import com.leadqualification.repository.LeadRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+                properties = {"scoring.ai.provider=local", "scoring.chunk-size=7"})
+class ScoringServiceTest {
+
+    @Autowired
+    private ScoringService scoringService;
+
+    @Autowired
+    private OfferService offerService;
+
+    @Autowired
+    private LeadRepository leadRepository;
+
+    @Autowired
+    private RuleScoringService ruleScoringService;
+
+    private OfferResponse offer;
+
+    private List<Lead> leads;
+
+    @BeforeEach
+    void setUp() {
+        leadRepository.deleteAllInBatch();
+        offer = offerService.createOffer(new OfferRequest("AI Outreach Automation", List.of("24/7 outreach"),
+                                                  List.of("B2B SaaS mid-market")));
+
+        leads = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            leads.add(new Lead("Lead " + i, "CTO", "Company " + i, "SaaS", "Berlin", "Scaling B2B outreach."));
+        }
+        leads = leadRepository.saveAll(leads);
+    }
+
+    @Test
+    void testScoresAllLeadsChunkByChunk() {
+        ScoringJob job = new ScoringJob();
+
+        ScoringResponse response = scoringService.scoreAllLeads(job);
+
+        assertEquals(30, response.getTotalLeads());
+        assertEquals(30, response.getSuccessfulScores());
+        assertEquals(0, leadRepository.countByIsScoredAndIdGreaterThan(false, 0L));
+        assertEquals(leads.get(29).getId(), job.getCheckpointLeadId());
+    }
+
+    @Test
+    void testResumedJobStartsAfterCheckpoint() {
+        ScoringJob cancelled = new ScoringJob();
+        cancelled.checkpoint(leads.get(13).getId());
+
+        ScoringResponse response = scoringService.scoreAllLeads(ScoringJob.resume(cancelled));
+
+        assertEquals(16, response.getSuccessfulScores());
+        for (int i = 0; i < 30; i++) {
+            boolean scored = leadRepository.findById(leads.get(i).getId()).orElseThrow().getIsScored();
+            if (i <= 13) {
+                assertFalse(scored, "lead " + i);
+            } else {
+                assertTrue(scored, "lead " + i);
+            }
+        }
+    }
+
+    @Test
+    void testRescoreByIntentResetsAndScoresOnlyThatIntent() {
+        scoringService.scoreAllLeads(new ScoringJob());
+        Lead other = leadRepository.findById(leads.get(0).getId()).orElseThrow();
+        IntentLevel intent = other.getIntent();
+        other.setIntent(intent == IntentLevel.HIGH ? IntentLevel.LOW : IntentLevel.HIGH);
+        other.setReasoning("kept");
+        leadRepository.save(other);
+
+        ScoringResponse response = scoringService.rescoreLeadsByIntent(new ScoringJob(), intent);
+
+        assertEquals(29, response.getTotalLeads());
+        assertEquals(29, response.getSuccessfulScores());
+        assertEquals(0, leadRepository.countByIsScoredAndIdGreaterThan(false, 0L));
+        assertEquals("kept", leadRepository.findById(other.getId()).orElseThrow().getReasoning());
+    }
+
+    @Test
+    void testIncrementalRescoreOnlyRescoresChangedLeads() {
+        scoringService.scoreAllLeads(new ScoringJob());
+
+        ScoringResponse unchanged = scoringService.rescoreChangedLeads();
+        assertEquals(30, unchanged.getSkippedLeads());
+        assertEquals(0, unchanged.getSuccessfulScores());
+
+        Lead edited = leadRepository.findById(leads.get(3).getId()).orElseThrow();
+        edited.setLinkedinBio("Now running a B2B SaaS marketplace.");
+        leadRepository.save(edited);
+
+        ScoringResponse oneLead = scoringService.rescoreChangedLeads();
+        assertEquals(29, oneLead.getSkippedLeads());
+        assertEquals(1, oneLead.getSuccessfulScores());
+
+        offerService.updateOffer(offer.getId(), new OfferRequest("AI Outreach Automation",
+                                                                 new ArrayList<>(List.of("24/7 outreach")),
+                                                                 new ArrayList<>(List.of("B2B SaaS enterprise"))));
+
+        ScoringResponse offerEdited = scoringService.rescoreChangedLeads();
+        assertEquals(0, offerEdited.getSkippedLeads());
+        assertEquals(30, offerEdited.getSuccessfulScores());
+    }
+
+    @Test
+    void testIncrementalRescoreReRunsOnlyRulesWhenRulesChanged() {
+        scoringService.scoreAllLeads(new ScoringJob());
+        Lead before = leadRepository.findById(leads.get(0).getId()).orElseThrow();
+
+        ReflectionTestUtils.setField(ruleScoringService, "decisionMakerScore", 15);
+        ruleScoringService.init();
+        try {
+            ScoringResponse response = scoringService.rescoreChangedLeads();
+
+            assertEquals(30, response.getSuccessfulScores());
+            Lead after = leadRepository.findById(before.getId()).orElseThrow();
+            assertEquals(before.getRuleScore() - 5, after.getRuleScore());
+            assertEquals(before.getAiScore(), after.getAiScore());
+            assertEquals(before.getAiReasoning(), after.getAiReasoning());
+            assertTrue(after.getReasoning().endsWith(before.getAiReasoning()));
+        } finally {
+            ReflectionTestUtils.setField(ruleScoringService, "decisionMakerScore", 20);
+            ruleScoringService.init();
+        }
+    }
+}
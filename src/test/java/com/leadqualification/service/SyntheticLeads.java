@@ -0,0 +1,42 @@
+package com.leadqualification.service;
+
+import com.leadqualification.entity.Lead;
+
+import java.util.Random;
+
+// Generates leads from a fixed vocabulary so millions of them share a small set of strings
+class SyntheticLeads {
+
+    private static final String[] ROLES = {
+        "CEO", "Chief Revenue Officer", "VP of Sales", "Head of Growth", "Co-Founder & CTO",
+        "Senior Manager, Operations", "Team Lead", "Principal Engineer", "Solutions Architect",
+        "Marketing Coordinator", "Software Engineer", "Intern", "Account Executive", "  Director  ",
+        "Général Manager", "Data Scientist", "", null
+    };
+
+    private static final String[] INDUSTRIES = {
+        "SaaS", "Software Development", "B2B SaaS", "Information Technology", "Cloud Computing",
+        "Fintech", "Consulting", "Digital Marketing", "Retail", "Healthcare", "Manufacturing",
+        "Logistics", "Mid-market B2B", "Marketplaces", "Agriculture", "Media & Entertainment",
+        "Construction", "Real Estate", "Éducation", "mid market", "", null
+    };
+
+    private static final String[] TEXT = {
+        "Acme", "San Francisco", "Growth leader in B2B SaaS", "Builds teams", "Berlin", "", null
+    };
+
+    private final Random random;
+
+    SyntheticLeads(long seed) {
+        this.random = new Random(seed);
+    }
+
+    Lead next() {
+        return new Lead("Lead", pick(ROLES), pick(TEXT), pick(INDUSTRIES),
+                        pick(TEXT), pick(TEXT));
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,95 @@
+package com.leadqualification.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Tag("benchmark")
+class CsvParsingBenchmarkTest {
+
+    private static final long FILE_BYTES = Long.getLong("benchmark.csv-bytes", 1L << 30);
+    private static final int CHUNK_SIZE = 500;
+
+    private final CsvProcessor csvProcessor = new CsvProcessor(true, 0, 4 << 20, 0);
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void tearDown() {
+        csvProcessor.shutdown();
+    }
+
+    @Test
+    void compareSequentialWithParallelParse() throws Exception {
+        Path csv = generateCsv(tempDir.resolve("leads.csv"));
+        long bytes = Files.size(csv);
+
+        Counter sequential = new Counter();
+        long start = System.nanoTime();
+        try (InputStream in = Files.newInputStream(csv)) {
+            csvProcessor.streamLeadsCsv(in, CHUNK_SIZE, sequential);
+        }
+        long sequentialNanos = System.nanoTime() - start;
+
+        Counter parallel = new Counter();
+        start = System.nanoTime();
+        try (InputStream in = Files.newInputStream(csv)) {
+            csvProcessor.streamLeadsCsvInParallel(in, CHUNK_SIZE, parallel);
+        }
+        long parallelNanos = System.nanoTime() - start;
+
+        assertEquals(sequential.leads, parallel.leads);
+        assertEquals(sequential.invalid, parallel.invalid);
+        System.out.printf("CSV parse benchmark (%d MB, %d leads, %d threads): sequential %.0f MB/s, " +
+                          "parallel %.0f MB/s%n", bytes >> 20, sequential.leads,
+                          Runtime.getRuntime().availableProcessors(),
+                          megabytesPerSecond(bytes, sequentialNanos), megabytesPerSecond(bytes, parallelNanos));
+    }
+
+    // One lead in eight has a quoted bio spanning lines, one in a thousand has no name
+    private static Path generateCsv(Path path) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write("name,role,company,industry,location,linkedin_bio\n");
+            long written = 0;
+            for (int n = 0; written < FILE_BYTES; n++) {
+                String row = (n % 1000 == 0 ? "" : "Lead " + n) + ",Head of Growth,Company " + n + ",SaaS," +
+                             "San Francisco," + (n % 8 == 0 ? "\"Growth leader, \"\"B2B\"\" SaaS\nand outbound\"" :
+                                                              "Growth leader number " + n) + "\n";
+                writer.write(row);
+                written += row.length();
+            }
+        }
+        return path;
+    }
+
+    private static double megabytesPerSecond(long bytes, long nanos) {
+        return bytes / 1_048_576.0 / (nanos / 1_000_000_000.0);
+    }
+
+    private static class Counter implements CsvProcessor.LeadChunkHandler {
+        private long leads;
+        private long invalid;
+
+        @Override
+        public void onChunk(List<CsvProcessor.LeadRecord> chunk) {
+            leads += chunk.size();
+        }
+
+        @Override
+        public void onInvalidRecord(int lineNumber, String reason) {
+            invalid++;
+        }
+    }
+}
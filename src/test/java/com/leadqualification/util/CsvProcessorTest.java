@@ -0,0 +1,135 @@
+package com.leadqualification.util;
+
+import com.leadqualification.entity.Lead;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CsvProcessorTest {
+
+    private static final String HEADER = "name,role,company,industry,location,linkedin_bio\n";
+
+    // Ranges far smaller than most records, so nearly every record boundary is also a range boundary and long
+    // records make the splitter grow its buffer
+    private final CsvProcessor csvProcessor = new CsvProcessor(true, 0, 64, 4);
+
+    @AfterEach
+    void tearDown() {
+        csvProcessor.shutdown();
+    }
+
+    @Test
+    void testParallelParseMatchesSequentialParse() throws Exception {
+        byte[] csv = generateCsv(new Random(42), 2_000);
+
+        Events sequential = new Events();
+        int sequentialCount = csvProcessor.streamLeadsCsv(new ByteArrayInputStream(csv), 50, sequential);
+        Events parallel = new Events();
+        int parallelCount = csvProcessor.streamLeadsCsvInParallel(new ByteArrayInputStream(csv), 50, parallel);
+
+        assertEquals(sequentialCount, parallelCount);
+        assertEquals(sequential.events, parallel.events);
+        assertTrue(sequential.events.stream().anyMatch(event -> event.startsWith("invalid")));
+        assertTrue(sequential.events.stream().anyMatch(event -> event.contains("\n")));
+    }
+
+    @Test
+    void testInvalidRowsKeepTheirLineNumbers() throws Exception {
+        String csv = HEADER +
+                     "Ava Patel,CMO,FlowMetrics,SaaS,Austin,\"Growth leader,\nnow scaling outbound\"\n" +
+                     "\n" +
+                     ",CTO,DataWorks,SaaS,Berlin,No name\n" +
+                     "Mia Chen,CTO\n";
+
+        Events events = new Events();
+        int count = csvProcessor.streamLeadsCsvInParallel(
+            new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), 10, events);
+
+        assertEquals(3, count);
+        assertEquals(List.of("invalid 4: Name is required but missing",
+                             "invalid 5: Insufficient columns in record",
+                             "lead 2: Ava Patel|CMO|FlowMetrics|SaaS|Austin|Growth leader,\nnow scaling outbound",
+                             "chunk 1"),
+                     events.events);
+    }
+
+    @Test
+    void testParsePoolStartsWithTheFirstParallelParse() throws Exception {
+        byte[] csv = generateCsv(new Random(7), 100);
+
+        csvProcessor.streamLeadsCsv(new ByteArrayInputStream(csv), 50, new Events());
+        assertFalse(csvProcessor.isParsePoolStarted());
+
+        csvProcessor.streamLeadsCsvInParallel(new ByteArrayInputStream(csv), 50, new Events());
+        assertTrue(csvProcessor.isParsePoolStarted());
+    }
+
+    @Test
+    void testRangesEndOutsideQuotedFields() {
+        byte[] bytes = "a,\"b\nc\",d\ne,\"f\"\"\n\",g\nh,\"i\\\"\nj\"".getBytes(StandardCharsets.UTF_8);
+
+        int end = CsvRangeSplitter.lastRecordEnd(bytes, bytes.length);
+
+        assertEquals("a,\"b\nc\",d\ne,\"f\"\"\n\",g\n", new String(bytes, 0, end, StandardCharsets.UTF_8));
+    }
+
+    // Rows mixing the cases a range boundary could get wrong: quoted line breaks, doubled and backslash-escaped
+    // quotes, CRLF line ends, blank lines, multi-byte characters and invalid rows
+    private static byte[] generateCsv(Random random, int rows) {
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int i = 0; i < rows; i++) {
+            String name = random.nextInt(20) == 0 ? "" : "Lead " + i;
+            switch (random.nextInt(8)) {
+                case 0:
+                    csv.append(name).append(",CTO,\"Acme, Inc.\",SaaS,Berlin,\"Builds\nteams\nand \"\"pipelines\"\"\"");
+                    break;
+                case 1:
+                    csv.append(name).append(",CEO,Acme,SaaS,\"São Paulo\",\"Said \\\"hi\\\",\r\nthen left\"");
+                    break;
+                case 2:
+                    csv.append('\n').append(name).append(",Head of Growth,Acme,Fintech,Austin,");
+                    break;
+                case 3:
+                    csv.append(name).append(",VP Sales");
+                    break;
+                case 4:
+                    csv.append(name).append(",Engineer,Acme,SaaS,Paris,").append("bio ".repeat(random.nextInt(40)));
+                    break;
+                default:
+                    csv.append(name).append(",Manager,Company ").append(i).append(",Retail,Berlin,Bio ").append(i);
+            }
+            csv.append(random.nextBoolean() ? "\n" : "\r\n");
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static class Events implements CsvProcessor.LeadChunkHandler {
+        private final List<String> events = new ArrayList<>();
+
+        @Override
+        public void onChunk(List<CsvProcessor.LeadRecord> chunk) {
+            for (CsvProcessor.LeadRecord record : chunk) {
+                Lead lead = record.getLead();
+                events.add("lead " + record.getLineNumber() + ": " +
+                           String.join("|", lead.getName(), String.valueOf(lead.getRole()),
+                                       String.valueOf(lead.getCompany()), String.valueOf(lead.getIndustry()),
+                                       String.valueOf(lead.getLocation()), String.valueOf(lead.getLinkedinBio())));
+            }
+            events.add("chunk " + chunk.size());
+        }
+
+        @Override
+        public void onInvalidRecord(int lineNumber, String reason) {
+            events.add("invalid " + lineNumber + ": " + reason);
+        }
+    }
+}